@@ -0,0 +1,22 @@
+package org.reactome;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so allocation rates are reported with throughput.  Accepts the
+ * standard JMH command line options (e.g. a benchmark name filter or -p parameter overrides).
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(
+            new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,37 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving and parsing instance created dates through Utils.getCreatedDate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CreatedDateBenchmark {
+    // Fixed rather than a @Param, as the score is reported per instance through @OperationsPerInvocation
+    private static final int INSTANCE_COUNT = 10000;
+
+    private List<GKInstance> instances;
+
+    @Setup
+    public void setUp() {
+        this.instances = new SyntheticReleaseGraph(INSTANCE_COUNT, 1000, 1, 4, 42).getReactionLikeEvents();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCE_COUNT)
+    public void getCreatedDate(Blackhole blackhole) throws Exception {
+        for (GKInstance instance : this.instances) {
+            blackhole.consume(Utils.getCreatedDate(instance));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the EWAS to RLE index from a release's ReactionlikeEvents with the default rleToEWAS traversal rule, as
+ * done by TraversalIndexer (single worker), and resolving the earliest release date of every EWAS in the index from
+ * the ReactionlikeEvent release dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EWASIndexBenchmark {
+    @Param({"10000", "20000"})
+    private int reactionCount;
+
+    @Param({"20000"})
+    private int ewasCount;
+
+    @Param({"2", "4"})
+    private int nestingDepth;
+
+    @Param({"2", "4"})
+    private int setFanOut;
+
+    private List<GKInstance> reactionLikeEvents;
+    private TraversalRule traversalRule;
+    private EWASReactionIndex index;
+    private ReleaseDates releaseDates;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.reactionLikeEvents = new SyntheticReleaseGraph(
+            this.reactionCount, this.ewasCount, this.nestingDepth, this.setFanOut, 42
+        ).getReactionLikeEvents();
+        this.traversalRule = TraversalRule.loadDefaults().get(TraversalRule.RLE_TO_EWAS);
+        this.index = buildIndex();
+
+        this.releaseDates = new ReleaseDates();
+        for (GKInstance reactionLikeEvent : this.reactionLikeEvents) {
+            String releaseDate = (String) reactionLikeEvent.getAttributeValue(ReactomeJavaConstants.releaseDate);
+            this.releaseDates.put(
+                reactionLikeEvent.getDBID(), ReleaseDates.toEpochDay(Utils.parseReleaseDate(releaseDate))
+            );
+        }
+    }
+
+    @Benchmark
+    public EWASReactionIndex buildIndex() throws Exception {
+        TraversalCache traversalCache = new TraversalCache(TraversalPlan.compile(this.traversalRule));
+
+        EWASReactionIndex.Builder indexBuilder = EWASReactionIndex.builder();
+        for (GKInstance reactionLikeEvent : this.reactionLikeEvents) {
+            for (long ewasDbId : traversalCache.getTargetDbIds(reactionLikeEvent)) {
+                indexBuilder.add(ewasDbId, reactionLikeEvent.getDBID());
+            }
+        }
+        return indexBuilder.build();
+    }
+
+    @Benchmark
+    public EWASReactionIndex resolveEarliestReleaseDates() {
+        return this.index.withEarliestReleaseDates(this.releaseDates);
+    }
+}
@@ -0,0 +1,57 @@
+package org.reactome;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffing the DB_ID sets of two releases, as done by Main.getNewInstances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InstanceDiffBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int instanceCount;
+
+    @Param({"0.05"})
+    private double churn;
+
+    private DbIdSet previousDbIds;
+    private DbIdSet currentDbIds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Long> previous = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        for (long dbId = 1; dbId <= this.instanceCount; dbId++) {
+            boolean removed = random.nextDouble() < this.churn;
+            if (!removed) {
+                current.add(dbId);
+            }
+            previous.add(dbId);
+        }
+        for (long dbId = this.instanceCount + 1; current.size() < this.instanceCount; dbId++) {
+            current.add(dbId);
+        }
+
+        this.previousDbIds = toDbIdSet(previous);
+        this.currentDbIds = toDbIdSet(current);
+    }
+
+    @Benchmark
+    public InstanceDiff diff() {
+        return InstanceDiff.between(this.previousDbIds, this.currentDbIds);
+    }
+
+    private static DbIdSet toDbIdSet(List<Long> dbIds) {
+        String[] classNames = new String[dbIds.size()];
+        Arrays.fill(classNames, "EntityWithAccessionedSequence");
+        return new DbIdSet(dbIds.stream().mapToLong(Long::longValue).toArray(), classNames);
+    }
+}
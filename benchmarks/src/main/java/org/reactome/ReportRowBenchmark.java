@@ -0,0 +1,93 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.openjdk.jmh.annotations.*;
+import org.reactome.reporters.OutputFormat;
+import org.reactome.reporters.ReportWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producing the rows of a new RLE or EWAS report: record formatting and writing through ReportWriter in each
+ * output format, from InstanceRecords and from the compact InstanceStore the streaming reporters read.
+ *
+ * Record extraction itself needs a MySQLAdaptor for the release version and, for EWASs, the database-backed EWAS
+ * index, so records are extracted from the synthetic graph once during setup with the release date read directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportRowBenchmark {
+    @Param({"10000", "100000"})
+    private int rowCount;
+
+    @Param({"TSV", "TSV_GZIP", "COLUMNAR"})
+    private OutputFormat outputFormat;
+
+    private List<InstanceRecord> records;
+    private InstanceStore instanceStore;
+    private Path outputDirectory;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.records = new ArrayList<>();
+        for (GKInstance reactionLikeEvent : new SyntheticReleaseGraph(this.rowCount, 1000, 1, 4, 42)
+            .getReactionLikeEvents()) {
+            this.records.add(new InstanceRecord(
+                reactionLikeEvent.getDBID(),
+                reactionLikeEvent.getDisplayName(),
+                Utils.getCreatedDate(reactionLikeEvent),
+                Utils.getCreatedAuthor(reactionLikeEvent),
+                Utils.getReleaseDateForRLE(reactionLikeEvent),
+                92
+            ));
+        }
+        this.instanceStore = new InstanceStore();
+        for (InstanceRecord record : this.records) {
+            this.instanceStore.add(ReactomeJavaConstants.Reaction, record);
+        }
+        this.outputDirectory = Files.createTempDirectory("report-row-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(getReportPath());
+        Files.deleteIfExists(this.outputDirectory);
+    }
+
+    @Benchmark
+    public void writeReport() throws Exception {
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getReportPath(), this.outputFormat, Utils.INSTANCE_REPORT_COLUMNS)) {
+
+            for (InstanceRecord record : this.records) {
+                reportWriter.writeValues(record.toReportValues());
+            }
+            reportWriter.commit();
+        }
+    }
+
+    @Benchmark
+    public void writeReportFromStore() throws Exception {
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getReportPath(), this.outputFormat, Utils.INSTANCE_REPORT_COLUMNS)) {
+
+            for (int index = 0; index < this.instanceStore.size(); index++) {
+                reportWriter.writeValues(this.instanceStore.toReportValues(index));
+            }
+            reportWriter.commit();
+        }
+    }
+
+    private Path getReportPath() {
+        return this.outputFormat.getOutputFilePath(this.outputDirectory.resolve("NewRLEs.txt"));
+    }
+}
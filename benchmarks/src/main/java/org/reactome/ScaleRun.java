@@ -0,0 +1,354 @@
+package org.reactome;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.reporters.OutputFormat;
+import org.reactome.reporters.ReportColumn;
+import org.reactome.reporters.ReportWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end scale test: for each scale factor, generates a pair of synthetic release databases that many times the
+ * base size (see {@link SyntheticReleaseDatabases}), runs the full pipeline on them in a JVM of its own and records
+ * the wall time, the peak heap from the run's metrics and whether the reports are correct: the new and modified
+ * instance reports must have the expected sizes, the rleToEWAS rule statistics must give each ReactionlikeEvent the
+ * EWASs it reaches in the generated graph, and the modified curator counts must credit the authors of the generated
+ * edits.
+ *
+ * The databases are written to a MySQL server reachable with the given credentials, e.g. a local mysqld or mariadbd
+ * started straight from its binary distribution, with a Reactome release database on it as the template.  Each
+ * scale's reports and run metrics are kept under the output directory, and a summary row per scale is written to
+ * ScaleRunSummary.txt there.  The time per thousand instances of each scale is compared with the smallest scale's
+ * and a scale taking more than the allowed factor longer per instance is flagged as superlinear.  The process exits
+ * with status 1 if any scale is incorrect or superlinear.
+ */
+public class ScaleRun {
+    private static final Logger logger = LogManager.getLogger();
+
+    // Mismatching rows logged per report before the rest are only counted
+    private static final int LOGGED_MISMATCH_COUNT = 10;
+
+    private static final Pattern PEAK_HEAP_PATTERN = Pattern.compile("\"peakHeapBytes\": (\\d+)");
+    private static final List<ReportColumn> SUMMARY_COLUMNS = Arrays.asList(
+        new ReportColumn("Scale", ReportColumn.Type.INT),
+        new ReportColumn("Instances", ReportColumn.Type.LONG),
+        new ReportColumn("Run millis", ReportColumn.Type.LONG),
+        new ReportColumn("Millis per 1000 instances", ReportColumn.Type.STRING),
+        new ReportColumn("Peak heap MB", ReportColumn.Type.LONG),
+        new ReportColumn("Correct", ReportColumn.Type.STRING),
+        new ReportColumn("Superlinear", ReportColumn.Type.STRING)
+    );
+
+    @Parameter(names ={"--user", "--u"}, required = true)
+    private String userName;
+
+    @Parameter(names ={"--password", "--p"}, required = true)
+    private String password;
+
+    @Parameter(names ={"--host", "--h"})
+    private String host = "localhost";
+
+    @Parameter(names ={"--port", "--P"})
+    private int port = 3306;
+
+    // Release database whose tables and data model the synthetic databases are cloned from
+    @Parameter(names ={"--templateDbName", "--td"}, required = true)
+    private String templateDatabaseName;
+
+    @Parameter(names ={"--scales", "--s"})
+    private List<Integer> scales = Arrays.asList(1, 2, 5, 10);
+
+    // ReactionlikeEvents and EWASs in the previous release at scale 1
+    @Parameter(names ={"--reactions", "--rc"})
+    private int reactionCount = 10000;
+
+    @Parameter(names ={"--ewass", "--ec"})
+    private int ewasCount = 20000;
+
+    @Parameter(names ={"--nestingDepth", "--nd"})
+    private int nestingDepth = 3;
+
+    @Parameter(names ={"--setFanOut", "--sf"})
+    private int setFanOut = 4;
+
+    // Shares of the previous release's instances that are new in, and modified for, the current release
+    @Parameter(names ={"--newFraction", "--nf"})
+    private double newFraction = 0.1;
+
+    @Parameter(names ={"--modifiedFraction", "--mof"})
+    private double modifiedFraction = 0.05;
+
+    // Share of the new ReactionlikeEvents that are electronically inferred
+    @Parameter(names ={"--inferredFraction", "--if"})
+    private double inferredFraction = 0.3;
+
+    @Parameter(names ={"--seed"})
+    private long seed = 42;
+
+    @Parameter(names ={"--previousReleaseNumber", "--pr"})
+    private int previousReleaseNumber = 90;
+
+    @Parameter(names ={"--outputDir", "--od"})
+    private String outputDirectory = "scale-run";
+
+    // Largest allowed time per instance of a scale relative to the smallest scale
+    @Parameter(names ={"--superlinearFactor", "--slf"})
+    private double superlinearFactor = 1.5;
+
+    // JVM options for the pipeline runs, e.g. a fixed -Xmx so peak heap is comparable between scales
+    @Parameter(names ={"--jvmOptions", "--jo"})
+    private List<String> jvmOptions = new ArrayList<>();
+
+    @Parameter(names ={"--keepDatabases", "--kd"})
+    private boolean keepDatabases = false;
+
+    public static void main(String[] args) throws Exception {
+        ScaleRun scaleRun = new ScaleRun();
+        JCommander.newBuilder()
+            .addObject(scaleRun)
+            .build()
+            .parse(args);
+
+        System.exit(scaleRun.run() ? 0 : 1);
+    }
+
+    public boolean run() throws Exception {
+        Path outputPath = Paths.get(this.outputDirectory);
+        Files.createDirectories(outputPath);
+
+        boolean allPassed = true;
+        Double baseMillisPerThousand = null;
+        try (Connection connection = DriverManager.getConnection(getJdbcUrl(), this.userName, this.password);
+             ReportWriter summaryWriter = ReportWriter.open(
+                 outputPath.resolve("ScaleRunSummary.txt"), OutputFormat.TSV, SUMMARY_COLUMNS)) {
+
+            for (int scale : new TreeSet<>(this.scales)) {
+                ScaleResult scaleResult = runScale(connection, scale, outputPath.resolve("x" + scale));
+
+                double millisPerThousand = 1000.0 * scaleResult.runMillis / scaleResult.instanceCount;
+                if (baseMillisPerThousand == null) {
+                    baseMillisPerThousand = millisPerThousand;
+                }
+                boolean superlinear = millisPerThousand > this.superlinearFactor * baseMillisPerThousand;
+                allPassed &= scaleResult.correct && !superlinear;
+
+                summaryWriter.writeValues(
+                    scale,
+                    scaleResult.instanceCount,
+                    scaleResult.runMillis,
+                    String.format(Locale.ROOT, "%.2f", millisPerThousand),
+                    scaleResult.peakHeapBytes / (1024 * 1024),
+                    Boolean.toString(scaleResult.correct),
+                    Boolean.toString(superlinear)
+                );
+                logger.info("Scale {}: {} instances in {} ms ({} ms per 1000), peak heap {} MB, correct {}{}",
+                    scale,
+                    scaleResult.instanceCount,
+                    scaleResult.runMillis,
+                    String.format(Locale.ROOT, "%.2f", millisPerThousand),
+                    scaleResult.peakHeapBytes / (1024 * 1024),
+                    scaleResult.correct,
+                    superlinear ? ", SUPERLINEAR" : ""
+                );
+            }
+            summaryWriter.commit();
+        }
+        return allPassed;
+    }
+
+    private ScaleResult runScale(Connection connection, int scale, Path scaleOutputPath) throws Exception {
+        Files.createDirectories(scaleOutputPath);
+        String previousDatabaseName = "scale_run_x" + scale + "_previous";
+        String currentDatabaseName = "scale_run_x" + scale + "_current";
+        int currentReleaseNumber = this.previousReleaseNumber + 1;
+
+        SyntheticReleaseDatabases releaseDatabases = new SyntheticReleaseDatabases(
+            connection, this.templateDatabaseName, this.reactionCount * scale, this.ewasCount * scale,
+            this.nestingDepth, this.setFanOut, this.newFraction, this.modifiedFraction, this.inferredFraction,
+            this.seed
+        );
+        SyntheticReleaseDatabases.Expectation expectation =
+            releaseDatabases.generate(previousDatabaseName, this.previousReleaseNumber, currentDatabaseName);
+        try {
+            long startTime = System.currentTimeMillis();
+            runPipeline(previousDatabaseName, currentDatabaseName, scaleOutputPath);
+            long runMillis = System.currentTimeMillis() - startTime;
+
+            // Every report is checked, so all the mismatches of a scale are logged
+            boolean correct = checkRowCount(scaleOutputPath.resolve("NewRLEsV" + currentReleaseNumber + ".txt"),
+                expectation.getNewManuallyCuratedReactionCount());
+            correct &= checkRowCount(scaleOutputPath.resolve("NewEWASsV" + currentReleaseNumber + ".txt"),
+                expectation.getNewEWASCount());
+            correct &= checkRowCount(
+                scaleOutputPath.resolve("ModifiedReactionlikeEventsV" + currentReleaseNumber + ".txt"),
+                expectation.getModifiedReactionCount()
+            );
+            correct &= checkEWASCounts(
+                scaleOutputPath.resolve(TraversalRule.RLE_TO_EWAS + "V" + currentReleaseNumber + ".txt"),
+                expectation.getReactionDbIdToEWASCounts()
+            );
+            correct &= checkCuratorCounts(
+                scaleOutputPath.resolve("CuratorModifiedReactionlikeEventCountV" + currentReleaseNumber + ".txt"),
+                expectation.getCuratorToModifiedReactionCount()
+            );
+
+            return new ScaleResult(
+                expectation.getInstanceCount(), runMillis, getPeakHeapBytes(scaleOutputPath), correct
+            );
+        } finally {
+            if (!this.keepDatabases) {
+                releaseDatabases.drop(previousDatabaseName);
+                releaseDatabases.drop(currentDatabaseName);
+            }
+        }
+    }
+
+    // A JVM per run keeps the pipeline's singletons and peak heap from carrying over between scales
+    private void runPipeline(String previousDatabaseName, String currentDatabaseName, Path scaleOutputPath)
+        throws IOException, InterruptedException {
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(this.jvmOptions);
+        command.addAll(Arrays.asList(
+            "-cp", System.getProperty("java.class.path"),
+            Main.class.getName(),
+            "--user", this.userName,
+            "--password", this.password,
+            "--host", this.host,
+            "--port", Integer.toString(this.port),
+            "--currentDbName", currentDatabaseName,
+            "--previousDbName", previousDatabaseName,
+            "--outputFormat", OutputFormat.TSV.name(),
+            "--modifiedClasses", "ReactionlikeEvent",
+            "--ruleStatistics", TraversalRule.RLE_TO_EWAS,
+            "--metricsFile", "RunMetrics.json"
+        ));
+
+        Process process = new ProcessBuilder(command)
+            .directory(scaleOutputPath.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(scaleOutputPath.resolve("pipeline.log").toFile())
+            .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Pipeline run in " + scaleOutputPath + " exited with " + exitCode +
+                "; see " + scaleOutputPath.resolve("pipeline.log"));
+        }
+    }
+
+    private boolean checkRowCount(Path reportPath, long expectedRowCount) throws IOException {
+        long rowCount;
+        try (Stream<String> lines = Files.lines(reportPath, StandardCharsets.UTF_8)) {
+            rowCount = lines.count() - 1;
+        }
+        if (rowCount != expectedRowCount) {
+            logger.error("{} has {} rows, expected {}", reportPath, rowCount, expectedRowCount);
+            return false;
+        }
+        return true;
+    }
+
+    // Rows are {RLE DB_ID, EWAS count, new EWAS count}
+    private boolean checkEWASCounts(Path reportPath, Map<Long, long[]> expectedReactionDbIdToEWASCounts)
+        throws IOException {
+
+        Map<Long, long[]> reactionDbIdToEWASCounts = new HashMap<>();
+        for (String[] row : readRows(reportPath)) {
+            reactionDbIdToEWASCounts.put(
+                Long.parseLong(row[0]), new long[] {Long.parseLong(row[1]), Long.parseLong(row[2])}
+            );
+        }
+
+        Set<Long> reactionDbIds = new TreeSet<>(expectedReactionDbIdToEWASCounts.keySet());
+        reactionDbIds.addAll(reactionDbIdToEWASCounts.keySet());
+        int mismatchCount = 0;
+        for (long reactionDbId : reactionDbIds) {
+            long[] expectedCounts = expectedReactionDbIdToEWASCounts.get(reactionDbId);
+            long[] counts = reactionDbIdToEWASCounts.get(reactionDbId);
+            if (!Arrays.equals(counts, expectedCounts) && mismatchCount++ < LOGGED_MISMATCH_COUNT) {
+                logger.error("{}: RLE {} has {} (EWASs, new EWASs), expected {}", reportPath, reactionDbId,
+                    Arrays.toString(counts), Arrays.toString(expectedCounts));
+            }
+        }
+        return checkMismatchCount(reportPath, mismatchCount, reactionDbIds.size());
+    }
+
+    // Rows are {curator name, modified count}
+    private boolean checkCuratorCounts(Path reportPath, Map<String, Long> expectedCuratorToCount)
+        throws IOException {
+
+        Map<String, Long> curatorToCount = new HashMap<>();
+        for (String[] row : readRows(reportPath)) {
+            curatorToCount.put(row[0], Long.parseLong(row[1]));
+        }
+
+        Set<String> curatorNames = new TreeSet<>(expectedCuratorToCount.keySet());
+        curatorNames.addAll(curatorToCount.keySet());
+        int mismatchCount = 0;
+        for (String curatorName : curatorNames) {
+            Long expectedCount = expectedCuratorToCount.get(curatorName);
+            Long count = curatorToCount.get(curatorName);
+            if (!Objects.equals(count, expectedCount) && mismatchCount++ < LOGGED_MISMATCH_COUNT) {
+                logger.error("{}: {} has {}, expected {}", reportPath, curatorName, count, expectedCount);
+            }
+        }
+        return checkMismatchCount(reportPath, mismatchCount, curatorNames.size());
+    }
+
+    private boolean checkMismatchCount(Path reportPath, int mismatchCount, int rowCount) {
+        if (mismatchCount > 0) {
+            logger.error("{}: {} of {} rows differ from the generated graph", reportPath, mismatchCount, rowCount);
+            return false;
+        }
+        return true;
+    }
+
+    // The rows of a TSV report, without its header
+    private List<String[]> readRows(Path reportPath) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(reportPath, StandardCharsets.UTF_8)) {
+            lines.skip(1).forEach(line -> rows.add(line.split("\t", -1)));
+        }
+        return rows;
+    }
+
+    private long getPeakHeapBytes(Path scaleOutputPath) throws IOException {
+        String metricsJson = new String(
+            Files.readAllBytes(scaleOutputPath.resolve("RunMetrics.json")), StandardCharsets.UTF_8
+        );
+        Matcher peakHeapMatcher = PEAK_HEAP_PATTERN.matcher(metricsJson);
+        return peakHeapMatcher.find() ? Long.parseLong(peakHeapMatcher.group(1)) : -1;
+    }
+
+    private String getJdbcUrl() {
+        return "jdbc:mysql://" + this.host + ":" + this.port + "/?rewriteBatchedStatements=true";
+    }
+
+    private static class ScaleResult {
+        private final long instanceCount;
+        private final long runMillis;
+        private final long peakHeapBytes;
+        private final boolean correct;
+
+        ScaleResult(long instanceCount, long runMillis, long peakHeapBytes, boolean correct) {
+            this.instanceCount = instanceCount;
+            this.runMillis = runMillis;
+            this.peakHeapBytes = peakHeapBytes;
+            this.correct = correct;
+        }
+    }
+}
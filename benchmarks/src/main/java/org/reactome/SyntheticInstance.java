@@ -0,0 +1,53 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.gk.schema.SchemaClass;
+
+import java.util.*;
+
+/**
+ * In-memory GKInstance whose attribute values are set directly rather than loaded from a database.
+ */
+class SyntheticInstance extends GKInstance {
+    private final long dbId;
+    private final String displayName;
+    private final SyntheticSchemaClass schemaClass;
+    private final Map<String, List<Object>> attributeNameToValues = new HashMap<>();
+
+    SyntheticInstance(long dbId, String displayName, SyntheticSchemaClass schemaClass) {
+        this.dbId = dbId;
+        this.displayName = displayName;
+        this.schemaClass = schemaClass;
+    }
+
+    SyntheticInstance addAttributeValue(String attributeName, Object value) {
+        this.attributeNameToValues.computeIfAbsent(attributeName, k -> new ArrayList<>()).add(value);
+        return this;
+    }
+
+    @Override
+    public Long getDBID() {
+        return this.dbId;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    @Override
+    public SchemaClass getSchemClass() {
+        return this.schemaClass;
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) {
+        List<Object> values = this.attributeNameToValues.get(attributeName);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public List getAttributeValuesList(String attributeName) {
+        return this.attributeNameToValues.getOrDefault(attributeName, Collections.emptyList());
+    }
+}
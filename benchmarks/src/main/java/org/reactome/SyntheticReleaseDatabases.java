@@ -0,0 +1,541 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes a reproducible pair of Reactome-shaped release databases, a previous and a current release, to a MySQL
+ * server.  The tables and the data model are cloned from a template database (any release database of the schema
+ * version the pipeline is run against), so MySQLAdaptor reads the synthetic databases like real ones.
+ *
+ * The previous release has ReactionlikeEvents whose inputs, outputs and catalysts are drawn from Complexes and
+ * DefinedSets nested to a fixed depth over a pool of EWASs, as in {@link SyntheticReleaseGraph}.  The current release
+ * is the previous one plus new EWASs and ReactionlikeEvents (some of them electronically inferred) and a share of
+ * the previous ReactionlikeEvents with a changed output and a new modified InstanceEdit.  New instances and edits
+ * are given higher DB_IDs than anything in the previous release, as in gk_central.  What a correct run should report
+ * (report sizes, the EWASs each current ReactionlikeEvent reaches and the curators of the modified ones) is worked
+ * out from the generated graph and returned as an {@link Expectation}.
+ */
+class SyntheticReleaseDatabases {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final List<String> DATA_MODEL_TABLES = Arrays.asList("DataModel", "Ontology");
+    private static final int BATCH_SIZE = 1000;
+    private static final int CURATOR_COUNT = 50;
+    private static final String EWAS = "EntityWithAccessionedSequence";
+
+    private static final Map<String, List<String>> CLASS_NAME_TO_TABLES = new HashMap<>();
+    static {
+        CLASS_NAME_TO_TABLES.put("_Release", Arrays.asList("DatabaseObject", "_Release"));
+        CLASS_NAME_TO_TABLES.put("Person", Arrays.asList("DatabaseObject", "Person"));
+        CLASS_NAME_TO_TABLES.put("InstanceEdit", Arrays.asList("DatabaseObject", "InstanceEdit"));
+        CLASS_NAME_TO_TABLES.put("Reaction", Arrays.asList("DatabaseObject", "Event", "ReactionlikeEvent", "Reaction"));
+        CLASS_NAME_TO_TABLES.put("CatalystActivity", Arrays.asList("DatabaseObject", "CatalystActivity"));
+        CLASS_NAME_TO_TABLES.put("Complex", Arrays.asList("DatabaseObject", "PhysicalEntity", "Complex"));
+        CLASS_NAME_TO_TABLES.put("DefinedSet",
+            Arrays.asList("DatabaseObject", "PhysicalEntity", "EntitySet", "DefinedSet"));
+        CLASS_NAME_TO_TABLES.put(EWAS,
+            Arrays.asList("DatabaseObject", "PhysicalEntity", "GenomeEncodedEntity", EWAS));
+    }
+
+    private final Connection connection;
+    private final String templateDatabaseName;
+    private final int reactionCount;
+    private final int ewasCount;
+    private final int nestingDepth;
+    private final int setFanOut;
+    private final double newFraction;
+    private final double modifiedFraction;
+    private final double inferredFraction;
+    private final Random random;
+
+    private Set<String> templateTables;
+    private RowWriter rowWriter;
+    private long nextDbId;
+    private final List<Long> curatorDbIds = new ArrayList<>();
+    // Every instance written, for the <attribute>_class columns of the values referring to it
+    private final Map<Long, String> dbIdToClassName = new HashMap<>();
+    private final Map<Long, List<Long>> containerDbIdToChildDbIds = new HashMap<>();
+    // The inputs, catalysts and output of each ReactionlikeEvent as they are in the current release
+    private final Map<Long, List<Long>> currentReactionDbIdToEntityDbIds = new LinkedHashMap<>();
+
+    SyntheticReleaseDatabases(Connection connection, String templateDatabaseName, int reactionCount, int ewasCount,
+                              int nestingDepth, int setFanOut, double newFraction, double modifiedFraction,
+                              double inferredFraction, long seed) {
+        this.connection = connection;
+        this.templateDatabaseName = templateDatabaseName;
+        this.reactionCount = reactionCount;
+        this.ewasCount = ewasCount;
+        this.nestingDepth = nestingDepth;
+        this.setFanOut = setFanOut;
+        this.newFraction = newFraction;
+        this.modifiedFraction = modifiedFraction;
+        this.inferredFraction = inferredFraction;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates (replacing any existing ones) and fills the two databases.
+     */
+    Expectation generate(String previousDatabaseName, int previousReleaseNumber, String currentDatabaseName)
+        throws SQLException {
+
+        long startTime = System.currentTimeMillis();
+        this.templateTables = getTables(this.templateDatabaseName);
+        cloneTemplate(previousDatabaseName);
+        cloneTemplate(currentDatabaseName);
+
+        this.nextDbId = 1;
+        this.curatorDbIds.clear();
+        this.dbIdToClassName.clear();
+        this.containerDbIdToChildDbIds.clear();
+        this.currentReactionDbIdToEntityDbIds.clear();
+        this.connection.setAutoCommit(false);
+        this.rowWriter = new RowWriter();
+        try {
+            List<String> bothReleases = Arrays.asList(previousDatabaseName, currentDatabaseName);
+            List<String> previousRelease = Collections.singletonList(previousDatabaseName);
+            List<String> currentRelease = Collections.singletonList(currentDatabaseName);
+
+            long releaseDbId = this.nextDbId++;
+            writeRelease(previousDatabaseName, releaseDbId, previousReleaseNumber);
+            writeRelease(currentDatabaseName, releaseDbId, previousReleaseNumber + 1);
+            for (int i = 0; i < CURATOR_COUNT; i++) {
+                this.curatorDbIds.add(writePerson(bothReleases, i));
+            }
+
+            List<Long> ewasDbIds = writeEWASs(bothReleases, this.ewasCount, 2010, 2020);
+            List<Long> entityDbIds = ewasDbIds;
+            for (int depth = 0; depth < this.nestingDepth; depth++) {
+                entityDbIds = writeContainerLevel(bothReleases, entityDbIds, depth);
+            }
+
+            // Outputs of the events to be modified differ between the releases, so they are written per release
+            List<Long> reactionDbIds = new ArrayList<>(this.reactionCount);
+            Map<Long, Long> modifiedReactionDbIdToOutputDbId = new LinkedHashMap<>();
+            for (int i = 0; i < this.reactionCount; i++) {
+                boolean modified = this.random.nextDouble() < this.modifiedFraction;
+                long reactionDbId = writeReaction(bothReleases, "Reaction " + i, entityDbIds, ewasDbIds, 2010, 2020);
+                long outputDbId = pick(entityDbIds);
+                writeValue(modified ? previousRelease : bothReleases, "ReactionlikeEvent", reactionDbId, "output", 0,
+                    outputDbId);
+                reactionDbIds.add(reactionDbId);
+                if (modified) {
+                    modifiedReactionDbIdToOutputDbId.put(reactionDbId, outputDbId);
+                } else {
+                    this.currentReactionDbIdToEntityDbIds.get(reactionDbId).add(outputDbId);
+                }
+            }
+
+            // Everything from here on is only in the current release
+            int newEWASCount = (int) Math.round(this.ewasCount * this.newFraction);
+            List<Long> newEWASDbIds = writeEWASs(currentRelease, newEWASCount, 2021, 2025);
+            List<Long> outputDbIds = newEWASDbIds.isEmpty() ? ewasDbIds : newEWASDbIds;
+
+            int newReactionCount = (int) Math.round(this.reactionCount * this.newFraction);
+            int inferredReactionCount = 0;
+            for (int i = 0; i < newReactionCount; i++) {
+                long reactionDbId =
+                    writeReaction(currentRelease, "New reaction " + i, entityDbIds, outputDbIds, 2021, 2025);
+                long outputDbId = pick(outputDbIds);
+                writeValue(currentRelease, "ReactionlikeEvent", reactionDbId, "output", 0, outputDbId);
+                this.currentReactionDbIdToEntityDbIds.get(reactionDbId).add(outputDbId);
+                if (!reactionDbIds.isEmpty() && this.random.nextDouble() < this.inferredFraction) {
+                    writeValue(currentRelease, "Event", reactionDbId, "inferredFrom", 0, pick(reactionDbIds));
+                    inferredReactionCount++;
+                }
+            }
+
+            // Each modified event has one new edit, so its author is the only curator credited for it
+            Map<String, Long> curatorToModifiedReactionCount = new TreeMap<>();
+            for (Map.Entry<Long, Long> modifiedEntry : modifiedReactionDbIdToOutputDbId.entrySet()) {
+                long outputDbId = pick(ewasDbIds);
+                while (outputDbId == modifiedEntry.getValue() && ewasDbIds.size() > 1) {
+                    outputDbId = pick(ewasDbIds);
+                }
+                writeValue(currentRelease, "ReactionlikeEvent", modifiedEntry.getKey(), "output", 0, outputDbId);
+                this.currentReactionDbIdToEntityDbIds.get(modifiedEntry.getKey()).add(outputDbId);
+
+                long authorDbId = pick(this.curatorDbIds);
+                long modifiedDbId = writeInstanceEdit(currentRelease, randomDateTime(2021, 2025), authorDbId);
+                writeValue(currentRelease, "DatabaseObject", modifiedEntry.getKey(), "modified", 0, modifiedDbId);
+                curatorToModifiedReactionCount.merge(getCuratorName(this.curatorDbIds.indexOf(authorDbId)), 1L,
+                    Long::sum);
+            }
+
+            this.rowWriter.flush();
+            this.connection.commit();
+
+            Expectation expectation = new Expectation(
+                newReactionCount - inferredReactionCount,
+                newEWASCount,
+                modifiedReactionDbIdToOutputDbId.size(),
+                this.nextDbId - 1,
+                getReactionDbIdToEWASCounts(new HashSet<>(newEWASDbIds)),
+                curatorToModifiedReactionCount
+            );
+            logger.info("Generated {} and {} in {} ms: {}", previousDatabaseName, currentDatabaseName,
+                System.currentTimeMillis() - startTime, expectation);
+            return expectation;
+        } catch (SQLException e) {
+            this.connection.rollback();
+            throw e;
+        } finally {
+            this.rowWriter.close();
+            this.connection.setAutoCommit(true);
+        }
+    }
+
+    void drop(String databaseName) throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + quote(databaseName));
+        }
+    }
+
+    private void cloneTemplate(String databaseName) throws SQLException {
+        drop(databaseName);
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + quote(databaseName));
+            for (String table : this.templateTables) {
+                statement.execute("CREATE TABLE " + quote(databaseName) + "." + quote(table) +
+                    " LIKE " + quote(this.templateDatabaseName) + "." + quote(table));
+                if (DATA_MODEL_TABLES.contains(table)) {
+                    statement.execute("INSERT INTO " + quote(databaseName) + "." + quote(table) +
+                        " SELECT * FROM " + quote(this.templateDatabaseName) + "." + quote(table));
+                }
+            }
+        }
+    }
+
+    private Set<String> getTables(String databaseName) throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW TABLES FROM " + quote(databaseName))) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString(1));
+            }
+        }
+        if (!tables.contains("DatabaseObject")) {
+            throw new IllegalArgumentException(databaseName + " is not a Reactome release database");
+        }
+        return tables;
+    }
+
+    private void writeRelease(String databaseName, long dbId, int releaseNumber) throws SQLException {
+        writeInstance(Collections.singletonList(databaseName), "_Release", dbId, "Release " + releaseNumber, null,
+            "_Release", "releaseNumber", releaseNumber);
+    }
+
+    private long writePerson(List<String> databaseNames, int curatorIndex) throws SQLException {
+        long dbId = this.nextDbId++;
+        writeInstance(databaseNames, "Person", dbId, getCuratorName(curatorIndex), null,
+            "Person", "surname", "Curator",
+            "Person", "initial", Integer.toString(curatorIndex));
+        return dbId;
+    }
+
+    private static String getCuratorName(int curatorIndex) {
+        return "Curator, " + curatorIndex;
+    }
+
+    private long writeInstanceEdit(List<String> databaseNames, LocalDateTime dateTime) throws SQLException {
+        return writeInstanceEdit(databaseNames, dateTime, pick(this.curatorDbIds));
+    }
+
+    private long writeInstanceEdit(List<String> databaseNames, LocalDateTime dateTime, long authorDbId)
+        throws SQLException {
+        long dbId = this.nextDbId++;
+        writeInstance(databaseNames, "InstanceEdit", dbId, "Curator, " + dateTime.toLocalDate(), null,
+            "InstanceEdit", "dateTime", Timestamp.valueOf(dateTime));
+        writeValue(databaseNames, "InstanceEdit", dbId, "author", 0, authorDbId);
+        return dbId;
+    }
+
+    private List<Long> writeEWASs(List<String> databaseNames, int count, int fromYear, int toYear)
+        throws SQLException {
+        List<Long> ewasDbIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long createdDbId = writeInstanceEdit(databaseNames, randomDateTime(fromYear, toYear));
+            long dbId = this.nextDbId++;
+            writeInstance(databaseNames, EWAS, dbId, "EWAS " + dbId, createdDbId);
+            ewasDbIds.add(dbId);
+        }
+        return ewasDbIds;
+    }
+
+    // Each level of containers is built from the level below it, so containers are shared between reactions
+    private List<Long> writeContainerLevel(List<String> databaseNames, List<Long> childDbIds, int depth)
+        throws SQLException {
+
+        int containerCount = Math.max(1, childDbIds.size() / this.setFanOut);
+        List<Long> containerDbIds = new ArrayList<>(containerCount);
+        for (int i = 0; i < containerCount; i++) {
+            boolean isComplex = this.random.nextBoolean();
+            long createdDbId = writeInstanceEdit(databaseNames, randomDateTime(2010, 2020));
+            long dbId = this.nextDbId++;
+            writeInstance(databaseNames, isComplex ? "Complex" : "DefinedSet", dbId,
+                (isComplex ? "Complex " : "Set ") + depth + "-" + i, createdDbId);
+            List<Long> containerChildDbIds = new ArrayList<>(this.setFanOut);
+            for (int rank = 0; rank < this.setFanOut; rank++) {
+                long childDbId = pick(childDbIds);
+                writeValue(databaseNames, isComplex ? "Complex" : "EntitySet", dbId,
+                    isComplex ? "hasComponent" : "hasMember", rank, childDbId);
+                containerChildDbIds.add(childDbId);
+            }
+            this.containerDbIdToChildDbIds.put(dbId, containerChildDbIds);
+            containerDbIds.add(dbId);
+        }
+        return containerDbIds;
+    }
+
+    // The output is left to the caller, as it differs between the releases for modified reactions
+    private long writeReaction(List<String> databaseNames, String displayName, List<Long> entityDbIds,
+                               List<Long> ewasDbIds, int fromYear, int toYear) throws SQLException {
+        LocalDateTime createdDateTime = randomDateTime(fromYear, toYear);
+        long createdDbId = writeInstanceEdit(databaseNames, createdDateTime);
+
+        long catalystActivityDbId = this.nextDbId++;
+        long catalystDbId = pick(entityDbIds);
+        writeInstance(databaseNames, "CatalystActivity", catalystActivityDbId, "Catalyst " + catalystActivityDbId,
+            null,
+            "CatalystActivity", "physicalEntity", catalystDbId,
+            "CatalystActivity", "physicalEntity_class", getClassName(catalystDbId));
+
+        long dbId = this.nextDbId++;
+        writeInstance(databaseNames, "Reaction", dbId, displayName, createdDbId,
+            "Event", "releaseDate", Date.valueOf(createdDateTime.toLocalDate().plusDays(this.random.nextInt(365))));
+        long firstInputDbId = pick(entityDbIds);
+        long secondInputDbId = pick(ewasDbIds);
+        writeValue(databaseNames, "ReactionlikeEvent", dbId, "input", 0, firstInputDbId);
+        writeValue(databaseNames, "ReactionlikeEvent", dbId, "input", 1, secondInputDbId);
+        writeValue(databaseNames, "ReactionlikeEvent", dbId, "catalystActivity", 0, catalystActivityDbId);
+        this.currentReactionDbIdToEntityDbIds.put(
+            dbId, new ArrayList<>(Arrays.asList(firstInputDbId, secondInputDbId, catalystDbId))
+        );
+        return dbId;
+    }
+
+    /**
+     * Writes the instance's row in the table of each class in its hierarchy that the template has.  Single-valued
+     * attributes are given as (table, column, value) triples and set on the row of that table.
+     */
+    private void writeInstance(List<String> databaseNames, String className, long dbId, String displayName,
+                               Long createdDbId, Object... tableColumnValues) throws SQLException {
+        this.dbIdToClassName.put(dbId, className);
+        for (String databaseName : databaseNames) {
+            for (String table : CLASS_NAME_TO_TABLES.get(className)) {
+                if (!this.templateTables.contains(table)) {
+                    continue;
+                }
+
+                List<String> columns = new ArrayList<>(Collections.singletonList("DB_ID"));
+                List<Object> values = new ArrayList<>(Collections.singletonList(dbId));
+                if (table.equals("DatabaseObject")) {
+                    columns.addAll(Arrays.asList("_class", "_displayName", "created", "created_class"));
+                    values.addAll(Arrays.asList(
+                        className, displayName, createdDbId, createdDbId != null ? "InstanceEdit" : null
+                    ));
+                }
+                for (int i = 0; i < tableColumnValues.length; i += 3) {
+                    if (tableColumnValues[i].equals(table)) {
+                        columns.add((String) tableColumnValues[i + 1]);
+                        values.add(tableColumnValues[i + 2]);
+                    }
+                }
+                this.rowWriter.insert(databaseName, table, columns, values);
+            }
+        }
+    }
+
+    // Multi-valued attributes have a <table>_2_<attribute> table with one row per value
+    private void writeValue(List<String> databaseNames, String table, long dbId, String attributeName, int rank,
+                            long valueDbId) throws SQLException {
+        for (String databaseName : databaseNames) {
+            this.rowWriter.insert(databaseName, table + "_2_" + attributeName,
+                Arrays.asList("DB_ID", attributeName + "_rank", attributeName, attributeName + "_class"),
+                Arrays.asList(dbId, rank, valueDbId, getClassName(valueDbId)));
+        }
+    }
+
+    private String getClassName(long dbId) {
+        String className = this.dbIdToClassName.get(dbId);
+        if (className == null) {
+            throw new IllegalStateException("DB_ID " + dbId + " is referred to before it is written");
+        }
+        return className;
+    }
+
+    /**
+     * The number of distinct EWASs, and of new EWASs, each current ReactionlikeEvent reaches through its inputs,
+     * catalysts, output and the containers nested in them, as {EWAS count, new EWAS count}.
+     */
+    private Map<Long, long[]> getReactionDbIdToEWASCounts(Set<Long> newEWASDbIds) {
+        Map<Long, Set<Long>> containerDbIdToEWASDbIds = new HashMap<>();
+        Map<Long, long[]> reactionDbIdToEWASCounts = new HashMap<>();
+        for (Map.Entry<Long, List<Long>> reactionEntry : this.currentReactionDbIdToEntityDbIds.entrySet()) {
+            Set<Long> ewasDbIds = new HashSet<>();
+            for (long entityDbId : reactionEntry.getValue()) {
+                ewasDbIds.addAll(getEWASDbIds(entityDbId, containerDbIdToEWASDbIds));
+            }
+            long newEWASCount = ewasDbIds.stream().filter(newEWASDbIds::contains).count();
+            reactionDbIdToEWASCounts.put(reactionEntry.getKey(), new long[] {ewasDbIds.size(), newEWASCount});
+        }
+        return reactionDbIdToEWASCounts;
+    }
+
+    // Containers only refer to the level below them, so the recursion ends at the EWASs
+    private Set<Long> getEWASDbIds(long entityDbId, Map<Long, Set<Long>> containerDbIdToEWASDbIds) {
+        List<Long> childDbIds = this.containerDbIdToChildDbIds.get(entityDbId);
+        if (childDbIds == null) {
+            return Collections.singleton(entityDbId);
+        }
+
+        Set<Long> ewasDbIds = containerDbIdToEWASDbIds.get(entityDbId);
+        if (ewasDbIds == null) {
+            ewasDbIds = new HashSet<>();
+            for (long childDbId : childDbIds) {
+                ewasDbIds.addAll(getEWASDbIds(childDbId, containerDbIdToEWASDbIds));
+            }
+            containerDbIdToEWASDbIds.put(entityDbId, ewasDbIds);
+        }
+        return ewasDbIds;
+    }
+
+    private LocalDateTime randomDateTime(int fromYear, int toYear) {
+        return LocalDate.of(
+            fromYear + this.random.nextInt(Math.max(1, toYear - fromYear)),
+            1 + this.random.nextInt(12),
+            1 + this.random.nextInt(28)
+        ).atTime(12, 30);
+    }
+
+    private long pick(List<Long> dbIds) {
+        return dbIds.get(this.random.nextInt(dbIds.size()));
+    }
+
+    private static String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    /**
+     * Batches the inserts of each statement, executing a batch every {@link #BATCH_SIZE} rows.
+     */
+    private class RowWriter implements AutoCloseable {
+        // Flushed in the order the statements were first used, so no row is written before the rows it refers to
+        private final Map<String, PreparedStatement> sqlToStatement = new LinkedHashMap<>();
+        private final Map<String, Integer> sqlToBatchedRowCount = new HashMap<>();
+
+        void insert(String databaseName, String table, List<String> columns, List<Object> values)
+            throws SQLException {
+            StringJoiner columnList = new StringJoiner(", ", "(", ")");
+            StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+            for (String column : columns) {
+                columnList.add(quote(column));
+                placeholders.add("?");
+            }
+            String sql = "INSERT INTO " + quote(databaseName) + "." + quote(table) + " " + columnList +
+                " VALUES " + placeholders;
+
+            PreparedStatement statement = this.sqlToStatement.get(sql);
+            if (statement == null) {
+                statement = SyntheticReleaseDatabases.this.connection.prepareStatement(sql);
+                this.sqlToStatement.put(sql, statement);
+            }
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            statement.addBatch();
+
+            if (this.sqlToBatchedRowCount.merge(sql, 1, Integer::sum) >= BATCH_SIZE) {
+                statement.executeBatch();
+                this.sqlToBatchedRowCount.put(sql, 0);
+            }
+        }
+
+        void flush() throws SQLException {
+            for (Map.Entry<String, PreparedStatement> sqlEntry : this.sqlToStatement.entrySet()) {
+                if (this.sqlToBatchedRowCount.getOrDefault(sqlEntry.getKey(), 0) > 0) {
+                    sqlEntry.getValue().executeBatch();
+                    this.sqlToBatchedRowCount.put(sqlEntry.getKey(), 0);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : this.sqlToStatement.values()) {
+                statement.close();
+            }
+            this.sqlToStatement.clear();
+        }
+    }
+
+    /**
+     * What the pipeline should report for the generated pair of releases.
+     */
+    static class Expectation {
+        private final int newManuallyCuratedReactionCount;
+        private final int newEWASCount;
+        private final int modifiedReactionCount;
+        private final long instanceCount;
+        private final Map<Long, long[]> reactionDbIdToEWASCounts;
+        private final Map<String, Long> curatorToModifiedReactionCount;
+
+        Expectation(int newManuallyCuratedReactionCount, int newEWASCount, int modifiedReactionCount,
+                    long instanceCount, Map<Long, long[]> reactionDbIdToEWASCounts,
+                    Map<String, Long> curatorToModifiedReactionCount) {
+            this.newManuallyCuratedReactionCount = newManuallyCuratedReactionCount;
+            this.newEWASCount = newEWASCount;
+            this.modifiedReactionCount = modifiedReactionCount;
+            this.instanceCount = instanceCount;
+            this.reactionDbIdToEWASCounts = reactionDbIdToEWASCounts;
+            this.curatorToModifiedReactionCount = curatorToModifiedReactionCount;
+        }
+
+        int getNewManuallyCuratedReactionCount() {
+            return this.newManuallyCuratedReactionCount;
+        }
+
+        int getNewEWASCount() {
+            return this.newEWASCount;
+        }
+
+        int getModifiedReactionCount() {
+            return this.modifiedReactionCount;
+        }
+
+        long getInstanceCount() {
+            return this.instanceCount;
+        }
+
+        /**
+         * {EWAS count, new EWAS count} for each ReactionlikeEvent of the current release, as in the rleToEWAS rule
+         * statistics report.
+         */
+        Map<Long, long[]> getReactionDbIdToEWASCounts() {
+            return Collections.unmodifiableMap(this.reactionDbIdToEWASCounts);
+        }
+
+        Map<String, Long> getCuratorToModifiedReactionCount() {
+            return Collections.unmodifiableMap(this.curatorToModifiedReactionCount);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d instances, %d new manually curated RLEs, %d new EWASs, %d modified RLEs",
+                getInstanceCount(), getNewManuallyCuratedReactionCount(), getNewEWASCount(),
+                getModifiedReactionCount());
+        }
+    }
+}
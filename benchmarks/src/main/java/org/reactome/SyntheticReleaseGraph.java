@@ -0,0 +1,135 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+
+import java.util.*;
+
+/**
+ * Reproducible Reactome-shaped instance graph: ReactionlikeEvents whose inputs, outputs and catalysts are drawn from
+ * a shared pool of Complexes and EntitySets, nested to a fixed depth over a pool of EWASs.
+ */
+class SyntheticReleaseGraph {
+    private static final SyntheticSchemaClass INSTANCE_EDIT = schemaClass(
+        ReactomeJavaConstants.InstanceEdit, Collections.emptyList(),
+        Arrays.asList(ReactomeJavaConstants.dateTime, ReactomeJavaConstants.author)
+    );
+    private static final SyntheticSchemaClass PERSON = schemaClass("Person", Collections.emptyList(),
+        Collections.emptyList());
+    private static final SyntheticSchemaClass REACTION = schemaClass(ReactomeJavaConstants.Reaction,
+        Arrays.asList(ReactomeJavaConstants.ReactionlikeEvent, ReactomeJavaConstants.Event),
+        Arrays.asList(ReactomeJavaConstants.input, ReactomeJavaConstants.output,
+            ReactomeJavaConstants.catalystActivity, ReactomeJavaConstants.regulatedBy,
+            ReactomeJavaConstants.releaseDate, ReactomeJavaConstants.inferredFrom)
+    );
+    private static final SyntheticSchemaClass CATALYST_ACTIVITY = schemaClass(
+        ReactomeJavaConstants.CatalystActivity, Collections.emptyList(),
+        Arrays.asList(ReactomeJavaConstants.physicalEntity, ReactomeJavaConstants.activeUnit)
+    );
+    private static final SyntheticSchemaClass COMPLEX = schemaClass(ReactomeJavaConstants.Complex,
+        Collections.singletonList(ReactomeJavaConstants.PhysicalEntity),
+        Collections.singletonList(ReactomeJavaConstants.hasComponent)
+    );
+    private static final SyntheticSchemaClass DEFINED_SET = schemaClass("DefinedSet",
+        Arrays.asList(ReactomeJavaConstants.EntitySet, ReactomeJavaConstants.PhysicalEntity),
+        Collections.singletonList(ReactomeJavaConstants.hasMember)
+    );
+    private static final SyntheticSchemaClass EWAS = schemaClass(
+        ReactomeJavaConstants.EntityWithAccessionedSequence,
+        Collections.singletonList(ReactomeJavaConstants.PhysicalEntity),
+        Collections.singletonList(ReactomeJavaConstants.hasModifiedResidue)
+    );
+
+    private final Random random;
+    private final List<GKInstance> reactionLikeEvents = new ArrayList<>();
+    private final List<GKInstance> ewass = new ArrayList<>();
+    private final List<GKInstance> authors = new ArrayList<>();
+    private long nextDbId = 1;
+
+    SyntheticReleaseGraph(int reactionCount, int ewasCount, int nestingDepth, int setFanOut, long seed) {
+        this.random = new Random(seed);
+
+        for (int i = 0; i < 200; i++) {
+            this.authors.add(new SyntheticInstance(this.nextDbId++, "Curator, " + i, PERSON));
+        }
+        for (int i = 0; i < ewasCount; i++) {
+            this.ewass.add(created(new SyntheticInstance(this.nextDbId++, "EWAS " + i, EWAS)));
+        }
+
+        // Each level of containers is built from the level below it, so containers are shared between reactions
+        List<GKInstance> entities = this.ewass;
+        for (int depth = 0; depth < nestingDepth; depth++) {
+            entities = buildContainerLevel(entities, Math.max(1, entities.size() / setFanOut), setFanOut, depth);
+        }
+
+        for (int i = 0; i < reactionCount; i++) {
+            SyntheticInstance reactionLikeEvent =
+                created(new SyntheticInstance(this.nextDbId++, "Reaction " + i, REACTION));
+            reactionLikeEvent.addAttributeValue(ReactomeJavaConstants.releaseDate, randomDate(2015, 2025));
+            reactionLikeEvent.addAttributeValue(ReactomeJavaConstants.input, pick(entities));
+            reactionLikeEvent.addAttributeValue(ReactomeJavaConstants.input, pick(this.ewass));
+            reactionLikeEvent.addAttributeValue(ReactomeJavaConstants.output, pick(entities));
+
+            SyntheticInstance catalystActivity =
+                new SyntheticInstance(this.nextDbId++, "Catalyst " + i, CATALYST_ACTIVITY);
+            catalystActivity.addAttributeValue(ReactomeJavaConstants.physicalEntity, pick(entities));
+            reactionLikeEvent.addAttributeValue(ReactomeJavaConstants.catalystActivity, catalystActivity);
+
+            this.reactionLikeEvents.add(reactionLikeEvent);
+        }
+    }
+
+    List<GKInstance> getReactionLikeEvents() {
+        return this.reactionLikeEvents;
+    }
+
+    List<GKInstance> getEWASs() {
+        return this.ewass;
+    }
+
+    private List<GKInstance> buildContainerLevel(List<GKInstance> children, int containerCount, int fanOut,
+                                                 int depth) {
+        List<GKInstance> containers = new ArrayList<>();
+        for (int i = 0; i < containerCount; i++) {
+            boolean isComplex = this.random.nextBoolean();
+            SyntheticInstance container = new SyntheticInstance(
+                this.nextDbId++, (isComplex ? "Complex " : "Set ") + depth + "-" + i,
+                isComplex ? COMPLEX : DEFINED_SET
+            );
+            for (int j = 0; j < fanOut; j++) {
+                container.addAttributeValue(
+                    isComplex ? ReactomeJavaConstants.hasComponent : ReactomeJavaConstants.hasMember,
+                    pick(children)
+                );
+            }
+            containers.add(created(container));
+        }
+        return containers;
+    }
+
+    private SyntheticInstance created(SyntheticInstance instance) {
+        SyntheticInstance createdInstance = new SyntheticInstance(this.nextDbId++, "Created", INSTANCE_EDIT);
+        createdInstance.addAttributeValue(ReactomeJavaConstants.dateTime, randomDate(2010, 2015) + " 12:30:00.0");
+        createdInstance.addAttributeValue(ReactomeJavaConstants.author, pick(this.authors));
+        return instance.addAttributeValue(ReactomeJavaConstants.created, createdInstance);
+    }
+
+    private String randomDate(int fromYear, int toYear) {
+        return String.format("%04d-%02d-%02d",
+            fromYear + this.random.nextInt(toYear - fromYear),
+            1 + this.random.nextInt(12),
+            1 + this.random.nextInt(28)
+        );
+    }
+
+    private GKInstance pick(List<GKInstance> instances) {
+        return instances.get(this.random.nextInt(instances.size()));
+    }
+
+    private static SyntheticSchemaClass schemaClass(String name, List<String> ancestorNames,
+                                                    List<String> attributeNames) {
+        List<String> allAttributeNames = new ArrayList<>(attributeNames);
+        allAttributeNames.add(ReactomeJavaConstants.created);
+        return new SyntheticSchemaClass(name, ancestorNames, allAttributeNames);
+    }
+}
@@ -0,0 +1,37 @@
+package org.reactome;
+
+import org.gk.schema.GKSchemaClass;
+
+import java.util.*;
+
+/**
+ * Minimal stand-in for a Reactome schema class, supporting only the lookups the traversal and reporting code makes.
+ */
+class SyntheticSchemaClass extends GKSchemaClass {
+    private final String name;
+    private final Set<String> classNames;
+    private final Set<String> attributeNames;
+
+    SyntheticSchemaClass(String name, List<String> ancestorNames, List<String> attributeNames) {
+        super(name);
+        this.name = name;
+        this.classNames = new HashSet<>(ancestorNames);
+        this.classNames.add(name);
+        this.attributeNames = new HashSet<>(attributeNames);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean isa(String className) {
+        return this.classNames.contains(className);
+    }
+
+    @Override
+    public boolean isValidAttribute(String attributeName) {
+        return this.attributeNames.contains(attributeName);
+    }
+}
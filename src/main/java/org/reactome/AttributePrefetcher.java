@@ -0,0 +1,70 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.util.*;
+
+/**
+ * Bulk loads the attributes read while reporting, so the reporters do not trigger a lazy load (and SQL query)
+ * for every row.
+ *
+ * Each step issues set-based queries for a whole level of the object graph: the created InstanceEdits, their
+ * dateTime and authors, the authors' display names and the release dates of the page's ReactionlikeEvents.  EWAS
+ * release dates come from the EWAS to RLE index, so the ReactionlikeEvents referencing an EWAS are not loaded.
+ */
+public class AttributePrefetcher {
+    private static final Logger logger = LogManager.getLogger();
+
+    private AttributePrefetcher() {}
+
+    public static void prefetch(MySQLAdaptor dba, Collection<GKInstance> instances) throws Exception {
+        long startTime = System.currentTimeMillis();
+
+        load(dba, instances, ReactomeJavaConstants.created);
+        Set<GKInstance> createdInstances = getAttributeValues(instances, ReactomeJavaConstants.created);
+
+        load(dba, createdInstances, ReactomeJavaConstants.dateTime, ReactomeJavaConstants.author);
+        Set<GKInstance> authors = getAttributeValues(createdInstances, ReactomeJavaConstants.author);
+        load(dba, authors, ReactomeJavaConstants._displayName);
+
+        Set<GKInstance> reactionLikeEvents = new HashSet<>();
+        for (GKInstance instance : instances) {
+            if (instance.getSchemClass().isa(ReactomeJavaConstants.ReactionlikeEvent)) {
+                reactionLikeEvents.add(instance);
+            }
+        }
+        load(dba, reactionLikeEvents, ReactomeJavaConstants.releaseDate);
+
+        logger.info("Prefetched attributes for {} instances ({} created edits, {} authors, {} RLEs) in {} ms",
+            instances.size(),
+            createdInstances.size(),
+            authors.size(),
+            reactionLikeEvents.size(),
+            System.currentTimeMillis() - startTime
+        );
+    }
+
+    private static void load(MySQLAdaptor dba, Collection<GKInstance> instances, String... attributeNames)
+        throws Exception {
+        if (!instances.isEmpty()) {
+            dba.loadInstanceAttributeValues(instances, attributeNames);
+            RunMetrics.getInstance().increment("prefetch.attributeLoads");
+            RunMetrics.getInstance().add("prefetch.instances", instances.size());
+        }
+    }
+
+    private static Set<GKInstance> getAttributeValues(Collection<GKInstance> instances, String attributeName)
+        throws Exception {
+        Set<GKInstance> values = new HashSet<>();
+        for (GKInstance instance : instances) {
+            for (Object value : instance.getAttributeValuesList(attributeName)) {
+                values.add((GKInstance) value);
+            }
+        }
+        return values;
+    }
+}
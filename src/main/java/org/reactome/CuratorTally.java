@@ -0,0 +1,190 @@
+package org.reactome;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent tally of new instances per curator and schema class, together with a histogram of the days between
+ * creation and release, safe to feed from any number of threads.
+ *
+ * Curator and class names are interned to int ids on first sight and each (curator, class) pair is counted in its
+ * own LongAdder, so recording an instance never takes a lock.  Latencies are counted in one bucket per day from
+ * -{@link #MAX_TRACKED_LATENCY_DAYS} to {@link #MAX_TRACKED_LATENCY_DAYS}; latencies beyond either end share the
+ * bucket at that end.  Negative latencies (an instance created after the release it first appeared in, as happens
+ * for EWASs dated by an older reaction) keep their own buckets so they do not drag the percentiles towards zero.
+ * Memory therefore does not grow with the number of instances, and percentiles are exact for any latency within the
+ * caps.  The getters give a consistent view once the threads feeding the tally have finished.
+ */
+public class CuratorTally {
+    public static final int MAX_TRACKED_LATENCY_DAYS = 4095;
+
+    private final Map<String, Integer> curatorNameToId = new ConcurrentHashMap<>();
+    private final Map<String, Integer> classNameToId = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCuratorId = new AtomicInteger();
+    private final AtomicInteger nextClassId = new AtomicInteger();
+
+    private final Map<Long, LongAdder> curatorClassKeyToCount = new ConcurrentHashMap<>();
+    // Bucket i counts latencies of i - MAX_TRACKED_LATENCY_DAYS days
+    private final AtomicLongArray latencyDayCounts = new AtomicLongArray(2 * MAX_TRACKED_LATENCY_DAYS + 1);
+
+    public void record(String curatorName, String className, Long daysBetweenCreationAndRelease) {
+        add(curatorName, className, 1);
+        if (daysBetweenCreationAndRelease != null) {
+            addLatency(daysBetweenCreationAndRelease, 1);
+        }
+    }
+
+    public void add(String curatorName, String className, long count) {
+        int curatorId = this.curatorNameToId.computeIfAbsent(curatorName, k -> this.nextCuratorId.getAndIncrement());
+        int classId = this.classNameToId.computeIfAbsent(className, k -> this.nextClassId.getAndIncrement());
+        this.curatorClassKeyToCount.computeIfAbsent(getKey(curatorId, classId), k -> new LongAdder()).add(count);
+    }
+
+    public void addLatency(long days, long count) {
+        long trackedDays = Math.max(-MAX_TRACKED_LATENCY_DAYS, Math.min(days, MAX_TRACKED_LATENCY_DAYS));
+        this.latencyDayCounts.addAndGet(getBucket(trackedDays), count);
+    }
+
+    /**
+     * Curators with their total counts, highest count first and ties broken by name.
+     */
+    public List<Map.Entry<String, Long>> getCuratorCounts() {
+        String[] curatorNames = invert(this.curatorNameToId);
+        long[] curatorTotals = new long[curatorNames.length];
+        this.curatorClassKeyToCount.forEach(
+            (key, count) -> curatorTotals[getCuratorId(key)] += count.sum()
+        );
+
+        List<Map.Entry<String, Long>> curatorCounts = new ArrayList<>(curatorNames.length);
+        for (int curatorId = 0; curatorId < curatorNames.length; curatorId++) {
+            curatorCounts.add(
+                new AbstractMap.SimpleImmutableEntry<>(curatorNames[curatorId], curatorTotals[curatorId])
+            );
+        }
+        curatorCounts.sort(
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey())
+        );
+        return curatorCounts;
+    }
+
+    public long getCuratorCount(String curatorName) {
+        Integer curatorId = this.curatorNameToId.get(curatorName);
+        if (curatorId == null) {
+            return 0;
+        }
+
+        long curatorCount = 0;
+        for (Map.Entry<Long, LongAdder> countEntry : this.curatorClassKeyToCount.entrySet()) {
+            if (getCuratorId(countEntry.getKey()) == curatorId) {
+                curatorCount += countEntry.getValue().sum();
+            }
+        }
+        return curatorCount;
+    }
+
+    public List<Map.Entry<String, Long>> getTopCurators(int curatorCount) {
+        List<Map.Entry<String, Long>> curatorCounts = getCuratorCounts();
+        return curatorCounts.subList(0, Math.min(curatorCount, curatorCounts.size()));
+    }
+
+    /**
+     * Counts per curator and class as {curator name, class name, count} rows, sorted by curator then class name.
+     */
+    public List<String[]> getCuratorClassCounts() {
+        String[] curatorNames = invert(this.curatorNameToId);
+        String[] classNames = invert(this.classNameToId);
+
+        List<String[]> curatorClassCounts = new ArrayList<>();
+        this.curatorClassKeyToCount.forEach((key, count) -> curatorClassCounts.add(new String[] {
+            curatorNames[getCuratorId(key)], classNames[getClassId(key)], Long.toString(count.sum())
+        }));
+        curatorClassCounts.sort(
+            Comparator.<String[], String>comparing(row -> row[0]).thenComparing(row -> row[1])
+        );
+        return curatorClassCounts;
+    }
+
+    public long getLatencyCount() {
+        long latencyCount = 0;
+        for (int bucket = 0; bucket < this.latencyDayCounts.length(); bucket++) {
+            latencyCount += this.latencyDayCounts.get(bucket);
+        }
+        return latencyCount;
+    }
+
+    /**
+     * The smallest latency in days that at least the given fraction of the recorded latencies do not exceed, or
+     * null if no latency was recorded.  {@link #MAX_TRACKED_LATENCY_DAYS} means that many days or more, and its
+     * negation that many days or fewer.
+     */
+    public Long getLatencyPercentile(double fraction) {
+        long latencyCount = getLatencyCount();
+        if (latencyCount == 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * latencyCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < this.latencyDayCounts.length(); bucket++) {
+            seen += this.latencyDayCounts.get(bucket);
+            if (seen >= rank) {
+                return getDays(bucket);
+            }
+        }
+        return (long) MAX_TRACKED_LATENCY_DAYS;
+    }
+
+    /**
+     * The number of recorded latencies below zero days, i.e. of instances created after their release date.
+     */
+    public long getNegativeLatencyCount() {
+        long negativeLatencyCount = 0;
+        for (int bucket = 0; bucket < getBucket(0); bucket++) {
+            negativeLatencyCount += this.latencyDayCounts.get(bucket);
+        }
+        return negativeLatencyCount;
+    }
+
+    /**
+     * Non-zero latency buckets as day to count, in increasing order of days (negative days first).
+     */
+    public SortedMap<Integer, Long> getLatencyDayCounts() {
+        SortedMap<Integer, Long> latencyDayCounts = new TreeMap<>();
+        for (int bucket = 0; bucket < this.latencyDayCounts.length(); bucket++) {
+            long count = this.latencyDayCounts.get(bucket);
+            if (count > 0) {
+                latencyDayCounts.put((int) getDays(bucket), count);
+            }
+        }
+        return latencyDayCounts;
+    }
+
+    private static int getBucket(long days) {
+        return (int) days + MAX_TRACKED_LATENCY_DAYS;
+    }
+
+    private static long getDays(int bucket) {
+        return bucket - MAX_TRACKED_LATENCY_DAYS;
+    }
+
+    private static long getKey(int curatorId, int classId) {
+        return ((long) curatorId << 32) | classId;
+    }
+
+    private static int getCuratorId(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int getClassId(long key) {
+        return (int) key;
+    }
+
+    private static String[] invert(Map<String, Integer> nameToId) {
+        String[] names = new String[nameToId.size()];
+        nameToId.forEach((name, id) -> names[id] = name);
+        return names;
+    }
+}
@@ -0,0 +1,101 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.util.*;
+
+/**
+ * Runs the direct SQL and the GKInstance data access paths side by side, logging how long each took and any
+ * differences between their results.
+ */
+public class DataAccessComparator {
+    private static final Logger logger = LogManager.getLogger();
+    private static final int MAX_REPORTED_DIFFERENCES = 20;
+
+    private DataAccessComparator() {}
+
+    public static DbIdSet fetchAndCompareDbIds(MySQLAdaptor dba, String className) throws Exception {
+        long startTime = System.currentTimeMillis();
+        DbIdSet sqlDbIds = DbIdSet.fetch(dba, className);
+        long sqlMillis = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        DbIdSet instanceDbIds = DbIdSet.fetchFromInstances(dba, className);
+        long instanceMillis = System.currentTimeMillis() - startTime;
+
+        InstanceDiff difference = InstanceDiff.between(instanceDbIds, sqlDbIds);
+        int differenceCount = difference.getAddedDbIds().length +
+            difference.getRemovedDbIds().length +
+            difference.getClassChangedDbIds().length;
+
+        logger.info("{} {} DB_IDs: SQL {} rows in {} ms, GKInstance {} rows in {} ms, {} differences",
+            dba.getDBName(), className,
+            sqlDbIds.size(), sqlMillis,
+            instanceDbIds.size(), instanceMillis,
+            differenceCount
+        );
+        if (differenceCount > 0) {
+            logger.warn("DB_IDs only found by SQL: {}; only found by GKInstance: {}; with different classes: {}",
+                head(difference.getAddedDbIds()),
+                head(difference.getRemovedDbIds()),
+                head(difference.getClassChangedDbIds())
+            );
+        }
+        return sqlDbIds;
+    }
+
+    public static void compareRecords(MySQLAdaptor dba, String className, List<GKInstance> instances)
+        throws Exception {
+        long[] dbIds = instances.stream().mapToLong(GKInstance::getDBID).sorted().toArray();
+
+        long startTime = System.currentTimeMillis();
+        Map<Long, InstanceRecord> dbIdToSqlRecord = new HashMap<>();
+        SqlInstanceScanner.scanRecords(dba, className, dbIds, record -> dbIdToSqlRecord.put(record.getDbId(), record));
+        long sqlMillis = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        InstanceRecordExtractor instanceRecordExtractor = new InstanceRecordExtractor();
+        List<InstanceRecord> instanceRecords = new ArrayList<>();
+        for (GKInstance instance : instances) {
+            instanceRecords.add(instanceRecordExtractor.extract(instance));
+        }
+        long instanceMillis = System.currentTimeMillis() - startTime;
+
+        // SQL only resolves release dates stored on the instance itself, i.e. for Events
+        boolean compareReleaseDates = className.equals(ReactomeJavaConstants.ReactionlikeEvent);
+
+        int differenceCount = 0;
+        for (InstanceRecord instanceRecord : instanceRecords) {
+            InstanceRecord sqlRecord = dbIdToSqlRecord.get(instanceRecord.getDbId());
+            if (sqlRecord == null ||
+                !Objects.equals(sqlRecord.getDisplayName(), instanceRecord.getDisplayName()) ||
+                !Objects.equals(sqlRecord.getCreatedDate(), instanceRecord.getCreatedDate()) ||
+                !Objects.equals(sqlRecord.getCreatedAuthor(), instanceRecord.getCreatedAuthor()) ||
+                (compareReleaseDates && !Objects.equals(sqlRecord.getReleaseDate(), instanceRecord.getReleaseDate()))) {
+
+                if (differenceCount++ < MAX_REPORTED_DIFFERENCES) {
+                    logger.warn("{} record differs: SQL {}, GKInstance {}",
+                        instanceRecord.getDbId(),
+                        sqlRecord != null ? String.join("\t", sqlRecord.toReportRow()) : "missing",
+                        String.join("\t", instanceRecord.toReportRow())
+                    );
+                }
+            }
+        }
+
+        logger.info("{} {} records: SQL {} in {} ms, GKInstance {} in {} ms ({} attribute fetches), {} differences",
+            dba.getDBName(), className,
+            dbIdToSqlRecord.size(), sqlMillis,
+            instanceRecords.size(), instanceMillis, instanceRecordExtractor.getAttributeFetchCount(),
+            differenceCount
+        );
+    }
+
+    private static String head(long[] dbIds) {
+        return Arrays.toString(Arrays.copyOf(dbIds, Math.min(dbIds.length, MAX_REPORTED_DIFFERENCES)));
+    }
+}
@@ -0,0 +1,13 @@
+package org.reactome;
+
+/**
+ * How instance data is read from the release databases.
+ */
+public enum DataAccessMode {
+    /** Direct SQL scans of the needed columns */
+    SQL,
+    /** Fully loaded GKInstances through MySQLAdaptor */
+    GKINSTANCE,
+    /** Both paths, logging their timings and any differences; the SQL results are used */
+    COMPARE
+}
@@ -0,0 +1,83 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.util.*;
+
+/**
+ * Sorted set of the DB_IDs (and their schema class names) of every instance of a class in one database.
+ *
+ * By default only the DatabaseObject DB_ID and _class columns are read, so no GKInstance objects are created.
+ */
+public class DbIdSet {
+    private final long[] dbIds;
+    private final String[] classNames;
+
+    DbIdSet(long[] dbIds, String[] classNames) {
+        this.dbIds = dbIds;
+        this.classNames = classNames;
+    }
+
+    public static DbIdSet fetch(MySQLAdaptor dba, String className) throws Exception {
+        Builder builder = new Builder();
+        SqlInstanceScanner.scanDbIds(dba, className, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Builds the set from fully loaded GKInstances.  Slower than {@link #fetch(MySQLAdaptor, String)}, but kept as
+     * a fallback and for comparing the two data access paths.
+     */
+    public static DbIdSet fetchFromInstances(MySQLAdaptor dba, String className) throws Exception {
+        List<GKInstance> instances = new ArrayList<>(dba.fetchInstancesByClass(className));
+        instances.sort(Comparator.comparing(GKInstance::getDBID));
+
+        Builder builder = new Builder();
+        for (GKInstance instance : instances) {
+            builder.add(instance.getDBID(), instance.getSchemClass().getName());
+        }
+        return builder.build();
+    }
+
+    public boolean contains(long dbId) {
+        return Arrays.binarySearch(this.dbIds, dbId) >= 0;
+    }
+
+    public String getClassName(long dbId) {
+        int index = Arrays.binarySearch(this.dbIds, dbId);
+        return index >= 0 ? this.classNames[index] : null;
+    }
+
+    public long getDbId(int index) {
+        return this.dbIds[index];
+    }
+
+    public String getClassNameAt(int index) {
+        return this.classNames[index];
+    }
+
+    public int size() {
+        return this.dbIds.length;
+    }
+
+    private static class Builder {
+        private long[] dbIds = new long[1024];
+        private String[] classNames = new String[1024];
+        private int size;
+
+        private void add(long dbId, String className) {
+            if (this.size == this.dbIds.length) {
+                this.dbIds = Arrays.copyOf(this.dbIds, this.size * 2);
+                this.classNames = Arrays.copyOf(this.classNames, this.size * 2);
+            }
+            this.dbIds[this.size] = dbId;
+            this.classNames[this.size] = className.intern();
+            this.size++;
+        }
+
+        private DbIdSet build() {
+            return new DbIdSet(Arrays.copyOf(this.dbIds, this.size), Arrays.copyOf(this.classNames, this.size));
+        }
+    }
+}
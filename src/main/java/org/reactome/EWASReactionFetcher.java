@@ -1,11 +1,12 @@
 package org.reactome;
 
-import org.gk.model.ClassAttributeFollowingInstruction;
 import org.gk.model.GKInstance;
-import org.gk.model.InstanceUtilities;
-import org.gk.model.ReactomeJavaConstants;
 import org.gk.persistence.MySQLAdaptor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.*;
 
 /**
@@ -13,131 +14,91 @@ import java.util.*;
  * Created 1/13/2025
  */
 public class EWASReactionFetcher {
-    private MySQLAdaptor dba;
-    private Map<Long, List<GKInstance>> ewasDbIdToReactions;
+    private static final Logger logger = LogManager.getLogger();
+    private static final EWASReactionFetcher INSTANCE = new EWASReactionFetcher();
+
+    // One index per database; weak keys let an index be collected together with its adaptor
+    private final Map<MySQLAdaptor, EWASReactionIndex> dbaToIndex = Collections.synchronizedMap(new WeakHashMap<>());
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private TraversalRule traversalRule;
 
     private EWASReactionFetcher() {}
 
     public static EWASReactionFetcher getInstance() {
-        return new EWASReactionFetcher();
-    }
-
-    public List<GKInstance> getReactionsFromEWAS(GKInstance ewas) {
-        return getEWASDbIdToReactions((MySQLAdaptor) ewas.getDbAdaptor())
-            .computeIfAbsent(ewas.getDBID(), k -> new ArrayList<>());
+        return INSTANCE;
     }
 
-    private Map<Long, List<GKInstance>> fetchEWASDbIdToReactions(MySQLAdaptor dba) throws Exception {
-        Collection<GKInstance> reactionLikeEvents = dba.fetchInstancesByClass(ReactomeJavaConstants.ReactionlikeEvent);
+    public List<GKInstance> getReactionsFromEWAS(GKInstance ewas) throws Exception {
+        MySQLAdaptor dba = (MySQLAdaptor) ewas.getDbAdaptor();
 
-        Map<Long, List<GKInstance>> ewasDbIdToReactions = new HashMap<>();
-        for (GKInstance reactionLikeEvent : reactionLikeEvents) {
-            String[] outClasses = new String[]{ReactomeJavaConstants.EntityWithAccessionedSequence};
-            Set<GKInstance> ewass = InstanceUtilities.followInstanceAttributes(
-                reactionLikeEvent, getClassAttributeInstructionsToFollow(), outClasses
-            );
-
-            for (GKInstance ewas : ewass) {
-                ewasDbIdToReactions.computeIfAbsent(ewas.getDBID(), k -> new ArrayList<>()).add(reactionLikeEvent);
-            }
+        List<GKInstance> reactionLikeEvents = new ArrayList<>();
+        for (long reactionLikeEventDbId : getReactionDbIdsFromEWAS(ewas)) {
+            reactionLikeEvents.add(dba.fetchInstance(reactionLikeEventDbId));
         }
-        return ewasDbIdToReactions;
+        return reactionLikeEvents;
     }
 
-    private List<ClassAttributeFollowingInstruction> getClassAttributeInstructionsToFollow() {
-        List<ClassAttributeFollowingInstruction> classesToFollow = new ArrayList<>();
+    public long[] getReactionDbIdsFromEWAS(GKInstance ewas) {
+        return getIndex((MySQLAdaptor) ewas.getDbAdaptor()).getReactionDbIds(ewas.getDBID());
+    }
 
-        Map<String, List<String>> classToAttributeMap = getClassToAttributeMap();
-        for (String className : classToAttributeMap.keySet()) {
-            List<String> classAttributes = classToAttributeMap.get(className);
-            classesToFollow.add(getClassAttributeFollowingInstruction(className, classAttributes));
-        }
-        return classesToFollow;
+    /**
+     * Returns the earliest release date of the ReactionlikeEvents referencing the EWAS, or null if none of them has
+     * one.  The dates are resolved once per database when its index is built, so this is a single index lookup.
+     */
+    public LocalDate getEarliestReleaseDate(GKInstance ewas) {
+        return getIndex((MySQLAdaptor) ewas.getDbAdaptor()).getEarliestReleaseDate(ewas.getDBID());
     }
 
-    private ClassAttributeFollowingInstruction getClassAttributeFollowingInstruction(
-        String className, List<String> classAttributes
-    ) {
-        final List<String> reverseClassAttributes = Collections.emptyList();
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 
-        return new ClassAttributeFollowingInstruction(className, classAttributes, reverseClassAttributes);
+    /**
+     * Sets the rule defining the ReactionlikeEvents an EWAS takes part in; the default rleToEWAS rule is used
+     * otherwise.
+     */
+    public synchronized void setTraversalRule(TraversalRule traversalRule) {
+        this.traversalRule = traversalRule;
     }
 
-    private Map<String, List<String>> getClassToAttributeMap() {
-        Map<String, List<String>> classToClassAttributesMapForObtainingProteins = new HashMap<>();
-
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.ReactionlikeEvent,
-            Arrays.asList(
-                ReactomeJavaConstants.input,
-                ReactomeJavaConstants.output,
-                ReactomeJavaConstants.catalystActivity,
-                ReactomeJavaConstants.regulatedBy
-            )
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.Reaction,
-            Arrays.asList(
-                ReactomeJavaConstants.input,
-                ReactomeJavaConstants.output,
-                ReactomeJavaConstants.catalystActivity,
-                ReactomeJavaConstants.regulatedBy
-            )
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.Regulation,
-            Arrays.asList(ReactomeJavaConstants.regulator)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.CatalystActivity,
-            Arrays.asList(ReactomeJavaConstants.physicalEntity, ReactomeJavaConstants.activeUnit)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.Cell,
-            Arrays.asList(ReactomeJavaConstants.RNAMarker, ReactomeJavaConstants.proteinMarker, "markerReference")
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            "MarkerReference",
-            Arrays.asList("marker")
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.Complex,
-            Arrays.asList(ReactomeJavaConstants.hasComponent)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.EntitySet,
-            Arrays.asList(ReactomeJavaConstants.hasMember)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.CandidateSet,
-            Arrays.asList(ReactomeJavaConstants.hasCandidate)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.Polymer,
-            Arrays.asList(ReactomeJavaConstants.repeatedUnit)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.EntityWithAccessionedSequence,
-            Arrays.asList(ReactomeJavaConstants.hasModifiedResidue)
-        );
-        classToClassAttributesMapForObtainingProteins.put(
-            ReactomeJavaConstants.GroupModifiedResidue,
-            Arrays.asList(ReactomeJavaConstants.modification)
+    public EWASReactionIndex getIndex(MySQLAdaptor dba) {
+        return this.dbaToIndex.computeIfAbsent(dba, this::buildIndex);
+    }
+
+    private EWASReactionIndex buildIndex(MySQLAdaptor dba) {
+        long startTime = System.currentTimeMillis();
+        EWASReactionIndex index;
+        try {
+            index = fetchEWASReactionIndex(dba);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        logger.info("Built EWAS to RLE index for {} in {} ms: {} EWASs, {} EWAS-RLE links, ~{} KB",
+            dba.getDBName(),
+            System.currentTimeMillis() - startTime,
+            index.getEWASCount(),
+            index.getEdgeCount(),
+            index.getEstimatedSizeInBytes() / 1024
         );
+        return index;
+    }
 
+    private EWASReactionIndex fetchEWASReactionIndex(MySQLAdaptor dba) throws Exception {
+        TraversalRule traversalRule = getTraversalRule();
+        EWASReactionIndex index = new TraversalIndexer(traversalRule, this.parallelism).buildIndex(dba);
 
-        return classToClassAttributesMapForObtainingProteins;
+        ReleaseDates reactionLikeEventReleaseDates = ReleaseDates.fetch(dba, traversalRule.getRootClassName());
+        logger.info("Fetched {} {} release dates from {}",
+            reactionLikeEventReleaseDates.size(), traversalRule.getRootClassName(), dba.getDBName());
+        return index.withEarliestReleaseDates(reactionLikeEventReleaseDates);
     }
 
-    private Map<Long, List<GKInstance>> getEWASDbIdToReactions(MySQLAdaptor dba) {
-        if (this.ewasDbIdToReactions == null) {
-            try {
-                this.ewasDbIdToReactions = fetchEWASDbIdToReactions(dba);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+    private synchronized TraversalRule getTraversalRule() throws IOException {
+        if (this.traversalRule == null) {
+            this.traversalRule = TraversalRule.loadDefaults().get(TraversalRule.RLE_TO_EWAS);
         }
-
-        return this.ewasDbIdToReactions;
+        return this.traversalRule;
     }
 }
@@ -0,0 +1,190 @@
+package org.reactome;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable reverse index from EWAS DB_IDs to the DB_IDs of the ReactionlikeEvents that reference them.
+ *
+ * The adjacency is stored in compressed sparse row form: a sorted array of EWAS DB_IDs, an offsets array and a
+ * single flat array of RLE DB_IDs, so no boxed keys or per-EWAS collections are retained.  The same layout holds the
+ * index of any {@link TraversalRule} built by {@link TraversalIndexer}, with the rule's targets in place of the EWASs
+ * and its roots in place of the ReactionlikeEvents.
+ *
+ * The index can also carry the earliest release date of each EWAS's ReactionlikeEvents (see
+ * {@link #withEarliestReleaseDates(ReleaseDates)}), stored as epoch days alongside the EWAS DB_IDs.
+ */
+public class EWASReactionIndex {
+    private static final long[] NO_REACTIONS = new long[0];
+
+    private final long[] ewasDbIds;
+    private final int[] offsets;
+    private final long[] reactionDbIds;
+    private final int[] earliestReleaseEpochDays;
+
+    EWASReactionIndex(long[] ewasDbIds, int[] offsets, long[] reactionDbIds) {
+        this(ewasDbIds, offsets, reactionDbIds, null);
+    }
+
+    EWASReactionIndex(long[] ewasDbIds, int[] offsets, long[] reactionDbIds, int[] earliestReleaseEpochDays) {
+        this.ewasDbIds = ewasDbIds;
+        this.offsets = offsets;
+        this.reactionDbIds = reactionDbIds;
+        this.earliestReleaseEpochDays = earliestReleaseEpochDays;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long[] getReactionDbIds(long ewasDbId) {
+        int index = Arrays.binarySearch(this.ewasDbIds, ewasDbId);
+        if (index < 0) {
+            return NO_REACTIONS;
+        }
+        return Arrays.copyOfRange(this.reactionDbIds, this.offsets[index], this.offsets[index + 1]);
+    }
+
+    public int getReactionCount(long ewasDbId) {
+        int index = Arrays.binarySearch(this.ewasDbIds, ewasDbId);
+        return index >= 0 ? this.offsets[index + 1] - this.offsets[index] : 0;
+    }
+
+    /**
+     * Returns a copy of this index that also holds, for each EWAS, the earliest release date of its
+     * ReactionlikeEvents.  ReactionlikeEvents without a release date are ignored.
+     */
+    public EWASReactionIndex withEarliestReleaseDates(ReleaseDates reactionLikeEventReleaseDates) {
+        int[] earliestReleaseEpochDays = new int[this.ewasDbIds.length];
+        for (int ewasIndex = 0; ewasIndex < this.ewasDbIds.length; ewasIndex++) {
+            int earliestEpochDay = Integer.MAX_VALUE;
+            for (int link = this.offsets[ewasIndex]; link < this.offsets[ewasIndex + 1]; link++) {
+                int epochDay = reactionLikeEventReleaseDates.getEpochDay(this.reactionDbIds[link]);
+                if (epochDay != ReleaseDates.NO_RELEASE_DATE) {
+                    earliestEpochDay = Math.min(earliestEpochDay, epochDay);
+                }
+            }
+            earliestReleaseEpochDays[ewasIndex] =
+                earliestEpochDay != Integer.MAX_VALUE ? earliestEpochDay : ReleaseDates.NO_RELEASE_DATE;
+        }
+        return new EWASReactionIndex(this.ewasDbIds, this.offsets, this.reactionDbIds, earliestReleaseEpochDays);
+    }
+
+    public boolean hasEarliestReleaseDates() {
+        return this.earliestReleaseEpochDays != null;
+    }
+
+    public LocalDate getEarliestReleaseDate(long ewasDbId) {
+        if (!hasEarliestReleaseDates()) {
+            throw new IllegalStateException("Earliest release dates have not been resolved for this index");
+        }
+        int index = Arrays.binarySearch(this.ewasDbIds, ewasDbId);
+        return index >= 0 ? ReleaseDates.toLocalDate(this.earliestReleaseEpochDays[index]) : null;
+    }
+
+    public int getEWASCount() {
+        return this.ewasDbIds.length;
+    }
+
+    public int getEdgeCount() {
+        return this.reactionDbIds.length;
+    }
+
+    long[] getEWASDbIds() {
+        return this.ewasDbIds;
+    }
+
+    int[] getOffsets() {
+        return this.offsets;
+    }
+
+    long[] getReactionDbIds() {
+        return this.reactionDbIds;
+    }
+
+    // Null unless the release dates have been resolved
+    int[] getEarliestReleaseEpochDays() {
+        return this.earliestReleaseEpochDays;
+    }
+
+    public long getEstimatedSizeInBytes() {
+        return Long.BYTES * (long) this.ewasDbIds.length +
+            Integer.BYTES * (long) this.offsets.length +
+            Long.BYTES * (long) this.reactionDbIds.length +
+            (hasEarliestReleaseDates() ? Integer.BYTES * (long) this.earliestReleaseEpochDays.length : 0);
+    }
+
+    public static class Builder {
+        private long[] ewasColumn = new long[1024];
+        private long[] reactionColumn = new long[1024];
+        private int size;
+
+        private Builder() {}
+
+        public Builder addAll(Builder other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.ewasColumn[i], other.reactionColumn[i]);
+            }
+            return this;
+        }
+
+        public Builder add(long ewasDbId, long reactionDbId) {
+            if (this.size == this.ewasColumn.length) {
+                this.ewasColumn = Arrays.copyOf(this.ewasColumn, this.size * 2);
+                this.reactionColumn = Arrays.copyOf(this.reactionColumn, this.size * 2);
+            }
+            this.ewasColumn[this.size] = ewasDbId;
+            this.reactionColumn[this.size] = reactionDbId;
+            this.size++;
+            return this;
+        }
+
+        public EWASReactionIndex build() {
+            long[] ewasDbIds = distinctSorted(Arrays.copyOf(this.ewasColumn, this.size));
+
+            int[] offsets = new int[ewasDbIds.length + 1];
+            for (int i = 0; i < this.size; i++) {
+                offsets[Arrays.binarySearch(ewasDbIds, this.ewasColumn[i]) + 1]++;
+            }
+            for (int i = 0; i < ewasDbIds.length; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            long[] reactionDbIds = new long[this.size];
+            int[] nextSlot = Arrays.copyOf(offsets, ewasDbIds.length);
+            for (int i = 0; i < this.size; i++) {
+                int ewasIndex = Arrays.binarySearch(ewasDbIds, this.ewasColumn[i]);
+                reactionDbIds[nextSlot[ewasIndex]++] = this.reactionColumn[i];
+            }
+
+            return compact(ewasDbIds, offsets, reactionDbIds);
+        }
+
+        // Sorts each EWAS's reactions and drops duplicate edges
+        private EWASReactionIndex compact(long[] ewasDbIds, int[] offsets, long[] reactionDbIds) {
+            int[] compactOffsets = new int[offsets.length];
+            int writeIndex = 0;
+            for (int i = 0; i < ewasDbIds.length; i++) {
+                Arrays.sort(reactionDbIds, offsets[i], offsets[i + 1]);
+                for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                    if (j == offsets[i] || reactionDbIds[j] != reactionDbIds[j - 1]) {
+                        reactionDbIds[writeIndex++] = reactionDbIds[j];
+                    }
+                }
+                compactOffsets[i + 1] = writeIndex;
+            }
+            return new EWASReactionIndex(ewasDbIds, compactOffsets, Arrays.copyOf(reactionDbIds, writeIndex));
+        }
+    }
+
+    static long[] distinctSorted(long[] values) {
+        Arrays.sort(values);
+        int writeIndex = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[writeIndex++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, writeIndex);
+    }
+}
@@ -0,0 +1,87 @@
+package org.reactome;
+
+import org.gk.schema.SchemaClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The attributes of each schema class that make up its instances' fingerprints.  Entries for a class apply to its
+ * subclasses, so the attributes of a class are the merged entries of all its superclasses, less the attributes the
+ * class does not have.
+ *
+ * The defaults are in the fingerprint-attributes.properties resource, which also describes the format.  A class's
+ * attribute names are returned sorted, so a fingerprint does not depend on the order of the entries.
+ */
+public class FingerprintAttributes {
+    private static final String DEFAULT_ATTRIBUTES_RESOURCE = "/fingerprint-attributes.properties";
+
+    private final Map<String, List<String>> classNameToAttributes;
+    private final Map<SchemaClass, String[]> schemaClassToAttributeNames = new ConcurrentHashMap<>();
+
+    public FingerprintAttributes(Map<String, List<String>> classNameToAttributes) {
+        this.classNameToAttributes = Collections.unmodifiableMap(new TreeMap<>(classNameToAttributes));
+    }
+
+    public static FingerprintAttributes loadDefaults() throws IOException {
+        try (InputStream inputStream = FingerprintAttributes.class.getResourceAsStream(DEFAULT_ATTRIBUTES_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Missing resource " + DEFAULT_ATTRIBUTES_RESOURCE);
+            }
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return parse(properties);
+        }
+    }
+
+    public static FingerprintAttributes load(Path attributesFilePath) throws IOException {
+        try (Reader reader = Files.newBufferedReader(attributesFilePath, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return parse(properties);
+        }
+    }
+
+    static FingerprintAttributes parse(Properties properties) {
+        Map<String, List<String>> classNameToAttributes = new TreeMap<>();
+        for (String className : properties.stringPropertyNames()) {
+            List<String> attributeNames = new ArrayList<>();
+            for (String attributeName : properties.getProperty(className).split(",")) {
+                if (!attributeName.trim().isEmpty()) {
+                    attributeNames.add(attributeName.trim());
+                }
+            }
+            classNameToAttributes.put(className.trim(), attributeNames);
+        }
+        return new FingerprintAttributes(classNameToAttributes);
+    }
+
+    public String[] getAttributeNames(SchemaClass schemaClass) {
+        return this.schemaClassToAttributeNames.computeIfAbsent(schemaClass, this::resolveAttributeNames);
+    }
+
+    public Map<String, List<String>> getClassNameToAttributes() {
+        return this.classNameToAttributes;
+    }
+
+    private String[] resolveAttributeNames(SchemaClass schemaClass) {
+        Set<String> attributeNames = new TreeSet<>();
+        for (Map.Entry<String, List<String>> classEntry : this.classNameToAttributes.entrySet()) {
+            if (!schemaClass.isa(classEntry.getKey())) {
+                continue;
+            }
+            for (String attributeName : classEntry.getValue()) {
+                if (schemaClass.isValidAttribute(attributeName)) {
+                    attributeNames.add(attributeName);
+                }
+            }
+        }
+        return attributeNames.toArray(new String[0]);
+    }
+}
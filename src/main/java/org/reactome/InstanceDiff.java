@@ -0,0 +1,90 @@
+package org.reactome;
+
+import java.util.Arrays;
+
+/**
+ * Difference between the instances of a class in a previous and a current release, computed by a single merge
+ * over the two sorted DB_ID sets.
+ */
+public class InstanceDiff {
+    private final long[] addedDbIds;
+    private final long[] removedDbIds;
+    private final long[] classChangedDbIds;
+    private final long[] retainedDbIds;
+
+    private InstanceDiff(long[] addedDbIds, long[] removedDbIds, long[] classChangedDbIds, long[] retainedDbIds) {
+        this.addedDbIds = addedDbIds;
+        this.removedDbIds = removedDbIds;
+        this.classChangedDbIds = classChangedDbIds;
+        this.retainedDbIds = retainedDbIds;
+    }
+
+    public static InstanceDiff between(DbIdSet previous, DbIdSet current) {
+        long[] added = new long[current.size()];
+        long[] removed = new long[previous.size()];
+        long[] classChanged = new long[Math.min(previous.size(), current.size())];
+        long[] retained = new long[Math.min(previous.size(), current.size())];
+        int addedCount = 0;
+        int removedCount = 0;
+        int classChangedCount = 0;
+        int retainedCount = 0;
+
+        int previousIndex = 0;
+        int currentIndex = 0;
+        while (previousIndex < previous.size() || currentIndex < current.size()) {
+            if (currentIndex == current.size()) {
+                removed[removedCount++] = previous.getDbId(previousIndex++);
+            } else if (previousIndex == previous.size()) {
+                added[addedCount++] = current.getDbId(currentIndex++);
+            } else {
+                long previousDbId = previous.getDbId(previousIndex);
+                long currentDbId = current.getDbId(currentIndex);
+                if (previousDbId < currentDbId) {
+                    removed[removedCount++] = previousDbId;
+                    previousIndex++;
+                } else if (currentDbId < previousDbId) {
+                    added[addedCount++] = currentDbId;
+                    currentIndex++;
+                } else {
+                    if (!previous.getClassNameAt(previousIndex).equals(current.getClassNameAt(currentIndex))) {
+                        classChanged[classChangedCount++] = currentDbId;
+                    } else {
+                        retained[retainedCount++] = currentDbId;
+                    }
+                    previousIndex++;
+                    currentIndex++;
+                }
+            }
+        }
+
+        return new InstanceDiff(
+            Arrays.copyOf(added, addedCount),
+            Arrays.copyOf(removed, removedCount),
+            Arrays.copyOf(classChanged, classChangedCount),
+            Arrays.copyOf(retained, retainedCount)
+        );
+    }
+
+    public boolean isAdded(long dbId) {
+        return Arrays.binarySearch(this.addedDbIds, dbId) >= 0;
+    }
+
+    public long[] getAddedDbIds() {
+        return this.addedDbIds;
+    }
+
+    public long[] getRemovedDbIds() {
+        return this.removedDbIds;
+    }
+
+    public long[] getClassChangedDbIds() {
+        return this.classChangedDbIds;
+    }
+
+    /**
+     * DB_IDs in both releases with the same schema class in each, in ascending order.
+     */
+    public long[] getRetainedDbIds() {
+        return this.retainedDbIds;
+    }
+}
@@ -0,0 +1,95 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Predicates on the instances of a class that are evaluated by the database rather than on loaded GKInstances:
+ * the instance is of the class or one of its subclasses, it has no inferredFrom value (i.e. it is manually curated
+ * rather than electronically inferred) and it was created after a date.
+ *
+ * Filtering a set of candidate DB_IDs only returns the DB_IDs that pass, so instances that are filtered out are
+ * never materialized.  The fraction of candidates passing is logged.
+ */
+public class InstanceFilter {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final String className;
+    private final boolean manuallyCuratedOnly;
+    private final LocalDate createdAfter;
+
+    private InstanceFilter(String className, boolean manuallyCuratedOnly, LocalDate createdAfter) {
+        this.className = className;
+        this.manuallyCuratedOnly = manuallyCuratedOnly;
+        this.createdAfter = createdAfter;
+    }
+
+    public static InstanceFilter instancesOf(String className) {
+        return new InstanceFilter(className, false, null);
+    }
+
+    public InstanceFilter manuallyCurated() {
+        return new InstanceFilter(this.className, true, this.createdAfter);
+    }
+
+    /**
+     * Keeps only instances created after the date; a null date keeps all instances.
+     */
+    public InstanceFilter createdAfter(LocalDate createdAfter) {
+        return new InstanceFilter(this.className, this.manuallyCuratedOnly, createdAfter);
+    }
+
+    /**
+     * Returns, in ascending order, the candidate DB_IDs of instances that pass the filter.  The candidates must be
+     * sorted.
+     */
+    public long[] apply(MySQLAdaptor dba, long[] candidateDbIds) throws Exception {
+        long startTime = System.currentTimeMillis();
+
+        long[] matchedDbIds = new long[candidateDbIds.length];
+        int[] matchedCount = new int[1];
+        SqlInstanceScanner.scanFilteredDbIds(dba, this, candidateDbIds,
+            dbId -> matchedDbIds[matchedCount[0]++] = dbId);
+
+        RunMetrics.getInstance().add("filter." + getClassName() + ".candidates", candidateDbIds.length);
+        RunMetrics.getInstance().add("filter." + getClassName() + ".matched", matchedCount[0]);
+        logger.info("{}: {} of {} candidates matched ({}) in {} ms",
+            this,
+            matchedCount[0],
+            candidateDbIds.length,
+            String.format(Locale.ROOT, "%.1f%%",
+                candidateDbIds.length > 0 ? 100.0 * matchedCount[0] / candidateDbIds.length : 100.0),
+            System.currentTimeMillis() - startTime
+        );
+        return Arrays.copyOf(matchedDbIds, matchedCount[0]);
+    }
+
+    public String getClassName() {
+        return this.className;
+    }
+
+    public boolean isManuallyCuratedOnly() {
+        return this.manuallyCuratedOnly;
+    }
+
+    public LocalDate getCreatedAfter() {
+        return this.createdAfter;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner predicates = new StringJoiner(", ", getClassName() + " filter [", "]");
+        predicates.add("subclass of " + getClassName());
+        if (isManuallyCuratedOnly()) {
+            predicates.add("no inferredFrom");
+        }
+        if (getCreatedAfter() != null) {
+            predicates.add("created after " + getCreatedAfter());
+        }
+        return predicates.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaClass;
+
+import java.util.*;
+
+/**
+ * 64-bit fingerprints of the {@link FingerprintAttributes} of a release's instances, in ascending order of DB_ID,
+ * together with the DB_ID of each instance's latest modified InstanceEdit.
+ *
+ * Fingerprints are computed a page at a time and the page's instances dropped from the instance cache, so only three
+ * longs per instance are kept.  Comparing the fingerprints of two releases is a single merge over the two arrays.
+ *
+ * A fingerprint hashes, for each attribute in sorted name order, the attribute name and its values in order:
+ * instances by DB_ID and anything else by its string form.  The hash is FNV-1a followed by the MurmurHash3 64-bit
+ * finalizer, so it is the same for the same values in any release and JVM.
+ */
+public class InstanceFingerprints {
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final long NO_MODIFIED_EDIT = 0L;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte INSTANCE_VALUE = 1;
+    private static final byte OTHER_VALUE = 2;
+    private static final byte NULL_VALUE = 3;
+
+    private final String className;
+    private final long[] dbIds;
+    private final long[] fingerprints;
+    private final long[] lastModifiedEditDbIds;
+
+    InstanceFingerprints(String className, long[] dbIds, long[] fingerprints, long[] lastModifiedEditDbIds) {
+        this.className = className;
+        this.dbIds = dbIds;
+        this.fingerprints = fingerprints;
+        this.lastModifiedEditDbIds = lastModifiedEditDbIds;
+    }
+
+    /**
+     * Fingerprints the instances of the class with the given DB_IDs, which must be sorted.  DB_IDs with no instance
+     * of the class in the database are left out.
+     */
+    public static InstanceFingerprints compute(MySQLAdaptor dba, String className, long[] dbIds,
+                                               FingerprintAttributes fingerprintAttributes, int pageSize)
+        throws Exception {
+
+        long startTime = System.currentTimeMillis();
+        long[] fingerprintedDbIds = new long[dbIds.length];
+        long[] fingerprints = new long[dbIds.length];
+        long[] lastModifiedEditDbIds = new long[dbIds.length];
+        int count = 0;
+
+        for (int pageStart = 0; pageStart < dbIds.length; pageStart += pageSize) {
+            long[] pageDbIds = Arrays.copyOfRange(dbIds, pageStart, Math.min(pageStart + pageSize, dbIds.length));
+            List<GKInstance> page = Utils.fetchInstances(dba, className, pageDbIds);
+            loadFingerprintAttributes(dba, page, fingerprintAttributes);
+
+            for (GKInstance instance : page) {
+                fingerprintedDbIds[count] = instance.getDBID();
+                fingerprints[count] =
+                    fingerprint(instance, fingerprintAttributes.getAttributeNames(instance.getSchemClass()));
+                lastModifiedEditDbIds[count] = getLastModifiedEditDbId(instance);
+                count++;
+            }
+            dba.getInstanceCache().clear();
+        }
+
+        RunMetrics.getInstance().add("fingerprint." + className + ".instances", count);
+        logger.info("Fingerprinted {} {} instances in {} ({} ms)",
+            count, className, dba.getDBName(), System.currentTimeMillis() - startTime);
+        return new InstanceFingerprints(
+            className,
+            Arrays.copyOf(fingerprintedDbIds, count),
+            Arrays.copyOf(fingerprints, count),
+            Arrays.copyOf(lastModifiedEditDbIds, count)
+        );
+    }
+
+    public static long fingerprint(GKInstance instance, String[] attributeNames) throws Exception {
+        long hash = FNV_OFFSET_BASIS;
+        for (String attributeName : attributeNames) {
+            hash = hashString(hash, attributeName);
+            List<?> values = instance.getAttributeValuesList(attributeName);
+            hash = hashLong(hash, values != null ? values.size() : 0);
+            if (values == null) {
+                continue;
+            }
+            for (Object value : values) {
+                if (value instanceof GKInstance) {
+                    hash = hashByte(hash, INSTANCE_VALUE);
+                    hash = hashLong(hash, ((GKInstance) value).getDBID());
+                } else if (value != null) {
+                    hash = hashByte(hash, OTHER_VALUE);
+                    hash = hashString(hash, value.toString());
+                } else {
+                    hash = hashByte(hash, NULL_VALUE);
+                }
+            }
+        }
+        return finalizeHash(hash);
+    }
+
+    /**
+     * DB_IDs, in ascending order, of the instances fingerprinted in both this and the previous release whose
+     * fingerprints differ.
+     */
+    public long[] getModifiedDbIds(InstanceFingerprints previous) {
+        long[] modifiedDbIds = new long[Math.min(size(), previous.size())];
+        int modifiedCount = 0;
+
+        int previousIndex = 0;
+        int currentIndex = 0;
+        while (previousIndex < previous.size() && currentIndex < size()) {
+            long previousDbId = previous.getDbId(previousIndex);
+            long currentDbId = getDbId(currentIndex);
+            if (previousDbId < currentDbId) {
+                previousIndex++;
+            } else if (currentDbId < previousDbId) {
+                currentIndex++;
+            } else {
+                if (previous.getFingerprint(previousIndex) != getFingerprint(currentIndex)) {
+                    modifiedDbIds[modifiedCount++] = currentDbId;
+                }
+                previousIndex++;
+                currentIndex++;
+            }
+        }
+        return Arrays.copyOf(modifiedDbIds, modifiedCount);
+    }
+
+    /**
+     * The DB_ID of the latest modified InstanceEdit of the instance, or {@link #NO_MODIFIED_EDIT} if it has none or
+     * was not fingerprinted.
+     */
+    public long getLastModifiedEditDbId(long dbId) {
+        int index = Arrays.binarySearch(this.dbIds, dbId);
+        return index >= 0 ? this.lastModifiedEditDbIds[index] : NO_MODIFIED_EDIT;
+    }
+
+    public String getClassName() {
+        return this.className;
+    }
+
+    public int size() {
+        return this.dbIds.length;
+    }
+
+    public long getDbId(int index) {
+        return this.dbIds[index];
+    }
+
+    public long getFingerprint(int index) {
+        return this.fingerprints[index];
+    }
+
+    public long getEstimatedSizeInBytes() {
+        return 3L * Long.BYTES * size();
+    }
+
+    // Attributes are loaded per schema class, since a page of a class's instances mixes subclasses
+    private static void loadFingerprintAttributes(MySQLAdaptor dba, List<GKInstance> page,
+                                                  FingerprintAttributes fingerprintAttributes) throws Exception {
+        Map<SchemaClass, List<GKInstance>> schemaClassToInstances = new LinkedHashMap<>();
+        for (GKInstance instance : page) {
+            schemaClassToInstances.computeIfAbsent(instance.getSchemClass(), k -> new ArrayList<>()).add(instance);
+        }
+
+        for (Map.Entry<SchemaClass, List<GKInstance>> classEntry : schemaClassToInstances.entrySet()) {
+            String[] attributeNames = fingerprintAttributes.getAttributeNames(classEntry.getKey());
+            String[] loadedAttributeNames = Arrays.copyOf(attributeNames, attributeNames.length + 1);
+            loadedAttributeNames[attributeNames.length] = ReactomeJavaConstants.modified;
+
+            dba.loadInstanceAttributeValues(classEntry.getValue(), loadedAttributeNames);
+            RunMetrics.getInstance().increment("fingerprint.attributeLoads");
+        }
+    }
+
+    private static long getLastModifiedEditDbId(GKInstance instance) throws Exception {
+        long lastModifiedEditDbId = NO_MODIFIED_EDIT;
+        for (Object modifiedEdit : instance.getAttributeValuesList(ReactomeJavaConstants.modified)) {
+            lastModifiedEditDbId = Math.max(lastModifiedEditDbId, ((GKInstance) modifiedEdit).getDBID());
+        }
+        return lastModifiedEditDbId;
+    }
+
+    // The length goes first so consecutive values cannot run into each other
+    private static long hashString(long hash, String value) {
+        hash = hashLong(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            hash = hashByte(hash, (byte) (character >>> 8));
+            hash = hashByte(hash, (byte) character);
+        }
+        return hash;
+    }
+
+    private static long hashLong(long hash, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            hash = hashByte(hash, (byte) (value >>> shift));
+        }
+        return hash;
+    }
+
+    private static long hashByte(long hash, byte value) {
+        return (hash ^ (value & 0xff)) * FNV_PRIME;
+    }
+
+    private static long finalizeHash(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53485d3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
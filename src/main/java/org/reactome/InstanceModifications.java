@@ -0,0 +1,104 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.util.*;
+
+/**
+ * Finds who modified the instances whose fingerprints changed between two releases.
+ *
+ * An instance's modified InstanceEdits made since the previous release are those with a DB_ID greater than its
+ * latest modified InstanceEdit in the previous release, as DB_IDs are handed out in increasing order.  The authors
+ * of those edits are credited with the modification; an instance with none is credited to an unknown author.
+ * Modified instances are loaded a page at a time with their edits and authors loaded in bulk, like
+ * {@link AttributePrefetcher} does for new instances.
+ */
+public class InstanceModifications {
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final String UNKNOWN_AUTHOR = "Unknown Author";
+
+    private InstanceModifications() {}
+
+    public static void scan(MySQLAdaptor dba, String className, long[] modifiedDbIds,
+                            InstanceFingerprints previousFingerprints, int pageSize,
+                            ModificationConsumer modificationConsumer) throws Exception {
+        long startTime = System.currentTimeMillis();
+        long newEditCount = 0;
+
+        for (int pageStart = 0; pageStart < modifiedDbIds.length; pageStart += pageSize) {
+            long[] pageDbIds =
+                Arrays.copyOfRange(modifiedDbIds, pageStart, Math.min(pageStart + pageSize, modifiedDbIds.length));
+            List<GKInstance> page = Utils.fetchInstances(dba, className, pageDbIds);
+            dba.loadInstanceAttributeValues(page, new String[] {ReactomeJavaConstants.modified});
+
+            Map<GKInstance, List<GKInstance>> instanceToNewEdits = new LinkedHashMap<>();
+            Set<GKInstance> newEdits = new HashSet<>();
+            for (GKInstance instance : page) {
+                long previousEditDbId = previousFingerprints.getLastModifiedEditDbId(instance.getDBID());
+                List<GKInstance> instanceNewEdits = new ArrayList<>();
+                for (Object modifiedEdit : instance.getAttributeValuesList(ReactomeJavaConstants.modified)) {
+                    if (((GKInstance) modifiedEdit).getDBID() > previousEditDbId) {
+                        instanceNewEdits.add((GKInstance) modifiedEdit);
+                    }
+                }
+                instanceToNewEdits.put(instance, instanceNewEdits);
+                newEdits.addAll(instanceNewEdits);
+            }
+            loadAuthors(dba, newEdits);
+
+            for (Map.Entry<GKInstance, List<GKInstance>> instanceEntry : instanceToNewEdits.entrySet()) {
+                modificationConsumer.accept(
+                    instanceEntry.getKey(),
+                    getAuthorNames(instanceEntry.getValue()),
+                    instanceEntry.getValue().size()
+                );
+                newEditCount += instanceEntry.getValue().size();
+            }
+            dba.getInstanceCache().clear();
+        }
+
+        RunMetrics.getInstance().add("modified." + className, modifiedDbIds.length);
+        logger.info("Resolved {} new modified edits of {} modified {} instances in {} ms",
+            newEditCount, modifiedDbIds.length, className, System.currentTimeMillis() - startTime);
+    }
+
+    private static void loadAuthors(MySQLAdaptor dba, Set<GKInstance> edits) throws Exception {
+        if (edits.isEmpty()) {
+            return;
+        }
+        dba.loadInstanceAttributeValues(edits, new String[] {ReactomeJavaConstants.author});
+
+        Set<GKInstance> authors = new HashSet<>();
+        for (GKInstance edit : edits) {
+            for (Object author : edit.getAttributeValuesList(ReactomeJavaConstants.author)) {
+                authors.add((GKInstance) author);
+            }
+        }
+        if (!authors.isEmpty()) {
+            dba.loadInstanceAttributeValues(authors, new String[] {ReactomeJavaConstants._displayName});
+        }
+    }
+
+    // Distinct authors in the order of their first edit
+    private static List<String> getAuthorNames(List<GKInstance> edits) throws Exception {
+        Set<String> authorNames = new LinkedHashSet<>();
+        for (GKInstance edit : edits) {
+            for (Object author : edit.getAttributeValuesList(ReactomeJavaConstants.author)) {
+                authorNames.add(((GKInstance) author).getDisplayName());
+            }
+        }
+        if (authorNames.isEmpty()) {
+            authorNames.add(UNKNOWN_AUTHOR);
+        }
+        return new ArrayList<>(authorNames);
+    }
+
+    public interface ModificationConsumer {
+        void accept(GKInstance instance, List<String> authorNames, int newEditCount) throws Exception;
+    }
+}
@@ -0,0 +1,87 @@
+package org.reactome;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Immutable report row holding the values resolved once for a new instance.
+ */
+public class InstanceRecord {
+    private final long dbId;
+    private final String displayName;
+    private final LocalDate createdDate;
+    private final String createdAuthor;
+    private final LocalDate releaseDate;
+    private final int releaseVersion;
+
+    public InstanceRecord(long dbId, String displayName, LocalDate createdDate, String createdAuthor,
+                          LocalDate releaseDate, int releaseVersion) {
+        this.dbId = dbId;
+        this.displayName = displayName;
+        this.createdDate = createdDate;
+        this.createdAuthor = createdAuthor;
+        this.releaseDate = releaseDate;
+        this.releaseVersion = releaseVersion;
+    }
+
+    public long getDbId() {
+        return this.dbId;
+    }
+
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    public LocalDate getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public String getCreatedAuthor() {
+        return this.createdAuthor;
+    }
+
+    public LocalDate getReleaseDate() {
+        return this.releaseDate;
+    }
+
+    public int getReleaseVersion() {
+        return this.releaseVersion;
+    }
+
+    public Long getDaysBetweenCreationAndRelease() {
+        if (getCreatedDate() == null || getReleaseDate() == null) {
+            return null;
+        }
+
+        return ChronoUnit.DAYS.between(getCreatedDate(), getReleaseDate());
+    }
+
+    /**
+     * The report row as typed values, with null for values that are not available.
+     */
+    public Object[] toReportValues() {
+        return new Object[] {
+            getDbId(),
+            getDisplayName(),
+            getCreatedDate(),
+            getCreatedAuthor(),
+            getReleaseDate(),
+            getReleaseVersion(),
+            getDaysBetweenCreationAndRelease()
+        };
+    }
+
+    public String[] toReportRow() {
+        Long daysBetweenCreationAndRelease = getDaysBetweenCreationAndRelease();
+
+        return new String[] {
+            Long.toString(getDbId()),
+            getDisplayName(),
+            getCreatedDate() != null ? getCreatedDate().format(Utils.DATE_FORMATTER) : Utils.NOT_AVAILABLE,
+            getCreatedAuthor(),
+            getReleaseDate() != null ? getReleaseDate().format(Utils.DATE_FORMATTER) : Utils.NOT_AVAILABLE,
+            Integer.toString(getReleaseVersion()),
+            daysBetweenCreationAndRelease != null ? daysBetweenCreationAndRelease.toString() : Utils.NOT_AVAILABLE
+        };
+    }
+}
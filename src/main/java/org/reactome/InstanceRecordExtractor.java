@@ -0,0 +1,91 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+
+import java.time.LocalDate;
+
+/**
+ * Resolves the created date, created author, release date and release version of an instance in a single pass,
+ * counting the attribute fetches it performs.
+ *
+ * The release date of a ReactionlikeEvent is its own releaseDate; the release date of an EWAS is the earliest
+ * release date of the ReactionlikeEvents referencing it, looked up in the EWAS to RLE index where it is resolved once
+ * per database.
+ */
+public class InstanceRecordExtractor {
+    private static final Logger logger = LogManager.getLogger();
+
+    private long attributeFetchCount;
+    private MySQLAdaptor releaseVersionDba;
+    private int releaseVersion;
+
+    public InstanceRecord extract(GKInstance instance) throws Exception {
+        GKInstance createdInstance = (GKInstance) getAttributeValue(instance, ReactomeJavaConstants.created);
+
+        LocalDate createdDate = null;
+        String createdAuthor = "Unknown Author";
+        if (createdInstance != null) {
+            createdDate = Utils.parseCreatedDate(
+                (String) getAttributeValue(createdInstance, ReactomeJavaConstants.dateTime)
+            );
+            createdAuthor =
+                ((GKInstance) getAttributeValue(createdInstance, ReactomeJavaConstants.author)).getDisplayName();
+        }
+
+        return new InstanceRecord(
+            instance.getDBID(),
+            instance.getDisplayName(),
+            createdDate,
+            createdAuthor,
+            getReleaseDate(instance),
+            getReleaseVersion(instance)
+        );
+    }
+
+    public long getAttributeFetchCount() {
+        return this.attributeFetchCount;
+    }
+
+    private LocalDate getReleaseDate(GKInstance instance) throws Exception {
+        if (instance.getSchemClass().isa(ReactomeJavaConstants.ReactionlikeEvent)) {
+            return getReleaseDateForRLE(instance);
+        } else if (instance.getSchemClass().isa(ReactomeJavaConstants.EntityWithAccessionedSequence)) {
+            return getReleaseDateForEWAS(instance);
+        }
+        return null;
+    }
+
+    private LocalDate getReleaseDateForRLE(GKInstance reactionLikeEvent) throws Exception {
+        String releaseDate = (String) getAttributeValue(reactionLikeEvent, ReactomeJavaConstants.releaseDate);
+        return releaseDate != null ? Utils.parseReleaseDate(releaseDate) : null;
+    }
+
+    private LocalDate getReleaseDateForEWAS(GKInstance ewas) {
+        EWASReactionIndex ewasReactionIndex =
+            EWASReactionFetcher.getInstance().getIndex((MySQLAdaptor) ewas.getDbAdaptor());
+
+        if (ewasReactionIndex.getReactionCount(ewas.getDBID()) == 0) {
+            logger.warn("{} has no RLE", ewas);
+            return null;
+        }
+        return ewasReactionIndex.getEarliestReleaseDate(ewas.getDBID());
+    }
+
+    private int getReleaseVersion(GKInstance instance) throws Exception {
+        if (instance.getDbAdaptor() != this.releaseVersionDba) {
+            this.releaseVersionDba = (MySQLAdaptor) instance.getDbAdaptor();
+            this.releaseVersion = this.releaseVersionDba.getReleaseNumber();
+        }
+        return this.releaseVersion;
+    }
+
+    private Object getAttributeValue(GKInstance instance, String attributeName) throws Exception {
+        this.attributeFetchCount++;
+        RunMetrics.getInstance().increment("attributes.fetched");
+        return instance.getAttributeValue(attributeName);
+    }
+}
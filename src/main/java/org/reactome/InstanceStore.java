@@ -0,0 +1,228 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compact column store of the values the reporters read from new instances, so the GKInstances they were extracted
+ * from can be dropped (and garbage-collected) straight after extraction.
+ *
+ * Display names are held as UTF-8 in one shared byte arena with an offset and length per instance.  Authors and
+ * schema class names, which repeat across thousands of instances, are dictionary-encoded to int codes; the
+ * dictionaries survive {@link #clear()}, so a store reused page after page only ever holds each author once.  Dates
+ * are stored as epoch days with {@link ReleaseDates#NO_RELEASE_DATE} for a missing date.
+ */
+public class InstanceStore {
+    private static final int NO_DATE = ReleaseDates.NO_RELEASE_DATE;
+    private static final int NO_CODE = -1;
+    private static final int NO_DISPLAY_NAME = -1;
+
+    private long[] dbIds = new long[256];
+    private int[] classCodes = new int[256];
+    private int[] displayNameOffsets = new int[256];
+    private int[] displayNameLengths = new int[256];
+    private int[] createdEpochDays = new int[256];
+    private int[] createdAuthorCodes = new int[256];
+    private int[] releaseEpochDays = new int[256];
+    private int[] releaseVersions = new int[256];
+    private int size;
+
+    private byte[] displayNameArena = new byte[16 * 1024];
+    private int arenaSize;
+
+    private final StringDictionary authors = new StringDictionary();
+    private final StringDictionary classNames = new StringDictionary();
+
+    /**
+     * Extracts the instances into a new store.
+     */
+    public static InstanceStore extract(Collection<GKInstance> instances, InstanceRecordExtractor extractor)
+        throws Exception {
+        InstanceStore instanceStore = new InstanceStore();
+        for (GKInstance instance : instances) {
+            instanceStore.add(instance.getSchemClass().getName(), extractor.extract(instance));
+        }
+        return instanceStore;
+    }
+
+    public int add(String className, InstanceRecord record) {
+        if (this.size == this.dbIds.length) {
+            grow();
+        }
+        int index = this.size++;
+        this.dbIds[index] = record.getDbId();
+        this.classCodes[index] = this.classNames.encode(className);
+        addDisplayName(index, record.getDisplayName());
+        this.createdEpochDays[index] = ReleaseDates.toEpochDay(record.getCreatedDate());
+        this.createdAuthorCodes[index] = this.authors.encode(record.getCreatedAuthor());
+        this.releaseEpochDays[index] = ReleaseDates.toEpochDay(record.getReleaseDate());
+        this.releaseVersions[index] = record.getReleaseVersion();
+        return index;
+    }
+
+    /**
+     * Empties the store for reuse, keeping its arrays and dictionaries.
+     */
+    public void clear() {
+        this.size = 0;
+        this.arenaSize = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public long getDbId(int index) {
+        return this.dbIds[checkIndex(index)];
+    }
+
+    public String getClassName(int index) {
+        return this.classNames.decode(this.classCodes[checkIndex(index)]);
+    }
+
+    public String getDisplayName(int index) {
+        int length = this.displayNameLengths[checkIndex(index)];
+        return length != NO_DISPLAY_NAME ?
+            new String(this.displayNameArena, this.displayNameOffsets[index], length, StandardCharsets.UTF_8) :
+            null;
+    }
+
+    public int getCreatedAuthorCode(int index) {
+        return this.createdAuthorCodes[checkIndex(index)];
+    }
+
+    public String getCreatedAuthor(int index) {
+        return this.authors.decode(getCreatedAuthorCode(index));
+    }
+
+    public String getAuthor(int authorCode) {
+        return this.authors.decode(authorCode);
+    }
+
+    public LocalDate getCreatedDate(int index) {
+        return ReleaseDates.toLocalDate(this.createdEpochDays[checkIndex(index)]);
+    }
+
+    public LocalDate getReleaseDate(int index) {
+        return ReleaseDates.toLocalDate(this.releaseEpochDays[checkIndex(index)]);
+    }
+
+    public int getReleaseVersion(int index) {
+        return this.releaseVersions[checkIndex(index)];
+    }
+
+    public Long getDaysBetweenCreationAndRelease(int index) {
+        int createdEpochDay = this.createdEpochDays[checkIndex(index)];
+        int releaseEpochDay = this.releaseEpochDays[index];
+        if (createdEpochDay == NO_DATE || releaseEpochDay == NO_DATE) {
+            return null;
+        }
+        return (long) releaseEpochDay - createdEpochDay;
+    }
+
+    /**
+     * The report row of the instance as typed values, in the order of {@link Utils#INSTANCE_REPORT_COLUMNS}.
+     */
+    public Object[] toReportValues(int index) {
+        return new Object[] {
+            getDbId(index),
+            getDisplayName(index),
+            getCreatedDate(index),
+            getCreatedAuthor(index),
+            getReleaseDate(index),
+            getReleaseVersion(index),
+            getDaysBetweenCreationAndRelease(index)
+        };
+    }
+
+    public InstanceRecord getRecord(int index) {
+        return new InstanceRecord(
+            getDbId(index),
+            getDisplayName(index),
+            getCreatedDate(index),
+            getCreatedAuthor(index),
+            getReleaseDate(index),
+            getReleaseVersion(index)
+        );
+    }
+
+    public long getEstimatedSizeInBytes() {
+        return (long) this.dbIds.length * (Long.BYTES + 7 * Integer.BYTES) +
+            this.displayNameArena.length +
+            this.authors.getEstimatedSizeInBytes() +
+            this.classNames.getEstimatedSizeInBytes();
+    }
+
+    private void addDisplayName(int index, String displayName) {
+        if (displayName == null) {
+            this.displayNameOffsets[index] = this.arenaSize;
+            this.displayNameLengths[index] = NO_DISPLAY_NAME;
+            return;
+        }
+
+        byte[] displayNameBytes = displayName.getBytes(StandardCharsets.UTF_8);
+        if (this.arenaSize + displayNameBytes.length > this.displayNameArena.length) {
+            this.displayNameArena = Arrays.copyOf(
+                this.displayNameArena,
+                Math.max(this.displayNameArena.length * 2, this.arenaSize + displayNameBytes.length)
+            );
+        }
+        System.arraycopy(displayNameBytes, 0, this.displayNameArena, this.arenaSize, displayNameBytes.length);
+        this.displayNameOffsets[index] = this.arenaSize;
+        this.displayNameLengths[index] = displayNameBytes.length;
+        this.arenaSize += displayNameBytes.length;
+    }
+
+    private void grow() {
+        int capacity = this.dbIds.length * 2;
+        this.dbIds = Arrays.copyOf(this.dbIds, capacity);
+        this.classCodes = Arrays.copyOf(this.classCodes, capacity);
+        this.displayNameOffsets = Arrays.copyOf(this.displayNameOffsets, capacity);
+        this.displayNameLengths = Arrays.copyOf(this.displayNameLengths, capacity);
+        this.createdEpochDays = Arrays.copyOf(this.createdEpochDays, capacity);
+        this.createdAuthorCodes = Arrays.copyOf(this.createdAuthorCodes, capacity);
+        this.releaseEpochDays = Arrays.copyOf(this.releaseEpochDays, capacity);
+        this.releaseVersions = Arrays.copyOf(this.releaseVersions, capacity);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size);
+        }
+        return index;
+    }
+
+    /**
+     * Assigns each distinct string an int code in order of first appearance; null is given {@link #NO_CODE}.
+     */
+    private static class StringDictionary {
+        private final Map<String, Integer> stringToCode = new HashMap<>();
+        private final List<String> codeToString = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return this.stringToCode.computeIfAbsent(value, k -> {
+                this.codeToString.add(k);
+                return this.codeToString.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return code != NO_CODE ? this.codeToString.get(code) : null;
+        }
+
+        long getEstimatedSizeInBytes() {
+            long stringBytes = 0;
+            for (String value : this.codeToString) {
+                stringBytes += 2L * value.length();
+            }
+            // Each string is shared by the map and the list; count its characters once plus the map entry
+            return stringBytes + 64L * this.codeToString.size();
+        }
+    }
+}
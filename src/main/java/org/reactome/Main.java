@@ -2,24 +2,35 @@ package org.reactome;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
-import org.gk.model.GKInstance;
+import com.beust.jcommander.ParameterException;
 import org.gk.model.ReactomeJavaConstants;
 import org.gk.persistence.MySQLAdaptor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.reporters.CurationTrendReporter;
 import org.reactome.reporters.CuratorCountReporter;
 import org.reactome.reporters.EWASReporter;
+import org.reactome.reporters.ModifiedInstanceReporter;
+import org.reactome.reporters.OutputFormat;
 import org.reactome.reporters.RLEReporter;
+import org.reactome.reporters.StreamingInstanceReporter;
+import org.reactome.reporters.TraversalStatisticsReporter;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
 
 /**
  * @author Joel Weiser (joel.weiser@oicr.on.ca)
  * Created 1/6/2025
  */
 public class Main {
+    private static final Logger logger = LogManager.getLogger();
+
     @Parameter(names ={"--user", "--u"}, required = true)
     private String userName;
 
@@ -29,17 +40,94 @@ public class Main {
     @Parameter(names ={"--host", "--h"})
     private String host = "localhost";
 
-    @Parameter(names ={"--currentDbName", "--cd"}, required = true)
+    @Parameter(names ={"--currentDbName", "--cd"})
     private String currentDatabaseName;
 
-    @Parameter(names ={"--previousDbName", "--pd"}, required = true)
+    @Parameter(names ={"--previousDbName", "--pd"})
     private String previousDatabaseName;
 
+    // Oldest first; when given, a trend report over all the releases is produced instead of the two-release reports
+    @Parameter(names ={"--releaseDbNames", "--rd"})
+    private List<String> releaseDatabaseNames = new ArrayList<>();
+
     @Parameter(names ={"--port", "--P"})
     private int port = 3306;
 
-    private MySQLAdaptor currentDba;
-    private MySQLAdaptor previousDba;
+    @Parameter(names ={"--threads", "--t"})
+    private int threadCount = 1;
+
+    @Parameter(names ={"--traversalThreads", "--tt"})
+    private int traversalThreadCount = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names ={"--dataAccess", "--da"})
+    private DataAccessMode dataAccessMode = DataAccessMode.SQL;
+
+    @Parameter(names ={"--snapshotDir", "--sd"})
+    private String snapshotDirectory;
+
+    // Number of new instances loaded and reported at a time
+    @Parameter(names ={"--pageSize", "--ps"})
+    private int pageSize = 1000;
+
+    // Pages reported between checkpoints of the report outputs
+    @Parameter(names ={"--checkpointInterval", "--ci"})
+    private int checkpointIntervalPages = 10;
+
+    // Continue the reports from the checkpoints of an interrupted run instead of starting over
+    @Parameter(names ={"--resume", "--r"})
+    private boolean resume = false;
+
+    @Parameter(names ={"--outputFormat", "--of"})
+    private OutputFormat outputFormat = OutputFormat.TSV;
+
+    // Only report instances created after this date (yyyy-MM-dd)
+    @Parameter(names ={"--createdAfter", "--ca"})
+    private String createdAfter;
+
+    // Properties file of traversal rules to use in place of the bundled traversal-rules.properties
+    @Parameter(names ={"--traversalRules", "--tr"})
+    private String traversalRulesFile;
+
+    // Names of traversal rules to write per-root statistics reports for
+    @Parameter(names ={"--ruleStatistics", "--rs"})
+    private List<String> ruleStatisticsNames = new ArrayList<>();
+
+    // Schema classes to report the instances modified since the previous release for
+    @Parameter(names ={"--modifiedClasses", "--mc"})
+    private List<String> modifiedClassNames = new ArrayList<>();
+
+    // Properties file of fingerprinted attributes to use in place of the bundled fingerprint-attributes.properties
+    @Parameter(names ={"--fingerprintAttributes", "--fa"})
+    private String fingerprintAttributesFile;
+
+    // Port of the local statistics server; the server is only run when a port is given
+    @Parameter(names ={"--serverPort", "--sp"})
+    private int serverPort = 0;
+
+    @Parameter(names ={"--metricsFile", "--mf"})
+    private String metricsFile = "RunMetrics.json";
+
+    // Seconds between progress log lines; 0 disables progress logging
+    @Parameter(names ={"--progressInterval", "--pi"})
+    private long progressIntervalSeconds = 0;
+
+    // MySQLAdaptor and the GKInstances it loads are not thread-safe, so every thread gets its own connections
+    private final ThreadLocal<MySQLAdaptor> currentDba = ThreadLocal.withInitial(this::createCurrentDba);
+    private final ThreadLocal<MySQLAdaptor> previousDba = ThreadLocal.withInitial(this::createPreviousDba);
+
+    private final StageTimer stageTimer = new StageTimer();
+    private ExecutorService databaseFetchExecutor;
+
+    private final Map<String, DbIdSet> currentClassNameToDbIds = new ConcurrentHashMap<>();
+    private final Map<String, DbIdSet> previousClassNameToDbIds = new ConcurrentHashMap<>();
+    private volatile EWASReactionIndex currentEWASReactionIndex;
+    private Optional<ReleaseSnapshot> previousSnapshot;
+    private Map<String, TraversalRule> traversalRules;
+    private FingerprintAttributes fingerprintAttributes;
+    // Kept so a statistics server can query the reporters and close the connections once a comparison is done
+    private final List<StreamingInstanceReporter> completedReporters = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Integer> classNameToNewInstanceCount = new ConcurrentHashMap<>();
+    private final List<MySQLAdaptor> releaseDbas = Collections.synchronizedList(new ArrayList<>());
 
     public static void main(String[] args) throws Exception {
         Main main = new Main();
@@ -52,47 +140,430 @@ public class Main {
     }
 
     public void run() throws Exception {
-        this.currentDba = createCurrentDba();
-        this.previousDba = createPreviousDba();
-
-        List<GKInstance> newReactionLikeEvents = getNewRLEs();
+        EWASReactionFetcher.getInstance().setParallelism(this.traversalThreadCount);
+        EWASReactionFetcher.getInstance().setTraversalRule(getTraversalRule(TraversalRule.RLE_TO_EWAS));
+        RunMetrics.getInstance().startProgressLogging(this.progressIntervalSeconds);
+        try {
+            if (!this.releaseDatabaseNames.isEmpty()) {
+                this.stageTimer.time("Trend report", this::runTrendReport);
+            } else if (this.serverPort > 0) {
+                runServer();
+            } else {
+                runReleaseComparison();
+            }
+        } finally {
+            RunMetrics.getInstance().stopProgressLogging();
+            this.stageTimer.logSummary();
+            writeRunMetrics();
+        }
+    }
 
-        RLEReporter rleReporter = new RLEReporter(getRLEReportPath());
-        rleReporter.report(newReactionLikeEvents);
+    // Logged rather than thrown, so a failed run's own exception is not replaced by this one
+    private void writeRunMetrics() {
+        try {
+            RunMetrics.getInstance().writeJson(Paths.get(this.metricsFile));
+        } catch (IOException e) {
+            logger.error("Could not write run metrics to {}", this.metricsFile, e);
+        }
+    }
 
-        CuratorCountReporter rleCuratorCount = new CuratorCountReporter("RLE", getCurrentReleaseNumber());
-        rleCuratorCount.report(newReactionLikeEvents);
+    private void runReleaseComparison() throws Exception {
+        checkReleaseDatabaseNames();
+
+        try {
+            ExecutorService pipelineExecutor = Executors.newFixedThreadPool(this.threadCount);
+            this.databaseFetchExecutor = Executors.newCachedThreadPool();
+            try {
+                List<Future<Void>> pipelines = pipelineExecutor.invokeAll(Arrays.asList(
+                    () -> {
+                        this.stageTimer.time("RLE pipeline", this::runRLEPipeline);
+                        return null;
+                    },
+                    () -> {
+                        this.stageTimer.time("EWAS pipeline", this::runEWASPipeline);
+                        return null;
+                    }
+                ));
+                for (Future<Void> pipeline : pipelines) {
+                    pipeline.get();
+                }
+            } finally {
+                pipelineExecutor.shutdown();
+                this.databaseFetchExecutor.shutdown();
+            }
 
-        List<GKInstance> newEWASs = getNewEWASs();
+            for (String ruleName : this.ruleStatisticsNames) {
+                TraversalRule traversalRule = getTraversalRule(ruleName);
+                this.stageTimer.time("Rule statistics " + ruleName, () -> reportRuleStatistics(traversalRule));
+            }
 
-        EWASReporter ewasReporter = new EWASReporter(getEWASReportPath());
-        ewasReporter.report(newEWASs);
+            for (String className : this.modifiedClassNames) {
+                this.stageTimer.time("Modified " + className, () -> reportModifiedInstances(className));
+            }
 
-        CuratorCountReporter ewasCuratorCount = new CuratorCountReporter("EWAS", getCurrentReleaseNumber());
-        ewasCuratorCount.report(newEWASs);
+            if (this.snapshotDirectory != null) {
+                this.stageTimer.time("Snapshot writing", this::writeSnapshots);
+            }
+        } finally {
+            closeReleaseDbas();
+        }
     }
 
-    private List<GKInstance> getNewRLEs() throws Exception {
-        return getNewInstances(ReactomeJavaConstants.ReactionlikeEvent);
+    private void checkReleaseDatabaseNames() {
+        if (this.currentDatabaseName == null || this.previousDatabaseName == null) {
+            throw new ParameterException(
+                "--currentDbName and --previousDbName are required unless --releaseDbNames is given"
+            );
+        }
     }
 
-    private List<GKInstance> getNewEWASs() throws Exception {
-        return getNewInstances(ReactomeJavaConstants.EntityWithAccessionedSequence);
+    private void runServer() throws Exception {
+        checkReleaseDatabaseNames();
+
+        StatisticsServer statisticsServer = new StatisticsServer(this.serverPort, this::buildReleaseIndexes);
+        Runtime.getRuntime().addShutdownHook(new Thread(statisticsServer::stop));
+        statisticsServer.start(this.currentDatabaseName, this.previousDatabaseName);
+        statisticsServer.awaitStop();
     }
 
-    private List<GKInstance> getNewInstances(String className)
+    // Each build runs a full release comparison of its own, with this run's options and the given databases
+    private ReleaseIndexes buildReleaseIndexes(String currentDatabaseName, String previousDatabaseName)
         throws Exception {
 
-        List<GKInstance> currentInstances = getInstances(getCurrentDba(), className);
-        List<Long> previousInstanceDbIds = getInstanceDbIds(getPreviousDba(), className);
+        Main releaseComparison = copyOptions();
+        releaseComparison.currentDatabaseName = currentDatabaseName;
+        releaseComparison.previousDatabaseName = previousDatabaseName;
+
+        // Each build gets metrics of its own rather than adding to those of the builds before it
+        RunMetrics.getInstance().reset();
+        long startTime = System.currentTimeMillis();
+        try {
+            releaseComparison.runReleaseComparison();
+            releaseComparison.stageTimer.logSummary();
+            writeRunMetrics();
+
+            List<Path> reportFilePaths = new ArrayList<>();
+            Map<String, CuratorTally> reportTypeToCuratorTally = new HashMap<>();
+            for (StreamingInstanceReporter reporter : releaseComparison.completedReporters) {
+                reportFilePaths.addAll(reporter.getOutputFilePaths());
+                if (reporter instanceof CuratorCountReporter) {
+                    CuratorCountReporter curatorCountReporter = (CuratorCountReporter) reporter;
+                    reportTypeToCuratorTally.put(
+                        curatorCountReporter.getReportType(), curatorCountReporter.getCuratorTally()
+                    );
+                }
+            }
+            return new ReleaseIndexes(
+                currentDatabaseName,
+                previousDatabaseName,
+                releaseComparison.getCurrentReleaseNumber(),
+                releaseComparison.classNameToNewInstanceCount,
+                reportTypeToCuratorTally,
+                reportFilePaths,
+                releaseComparison.currentEWASReactionIndex,
+                System.currentTimeMillis() - startTime
+            );
+        } finally {
+            releaseComparison.closeReleaseDbas();
+        }
+    }
+
+    private Main copyOptions() {
+        Main copy = new Main();
+        copy.userName = this.userName;
+        copy.password = this.password;
+        copy.host = this.host;
+        copy.port = this.port;
+        copy.threadCount = this.threadCount;
+        copy.traversalThreadCount = this.traversalThreadCount;
+        copy.dataAccessMode = this.dataAccessMode;
+        copy.snapshotDirectory = this.snapshotDirectory;
+        copy.pageSize = this.pageSize;
+        copy.checkpointIntervalPages = this.checkpointIntervalPages;
+        copy.outputFormat = this.outputFormat;
+        copy.createdAfter = this.createdAfter;
+        copy.traversalRulesFile = this.traversalRulesFile;
+        copy.ruleStatisticsNames = this.ruleStatisticsNames;
+        copy.modifiedClassNames = this.modifiedClassNames;
+        copy.fingerprintAttributesFile = this.fingerprintAttributesFile;
+        return copy;
+    }
 
-        List<GKInstance> newInstances = new ArrayList<>();
-        for (GKInstance currentInstance : currentInstances) {
-            if (!previousInstanceDbIds.contains(currentInstance.getDBID())) {
-                newInstances.add(currentInstance);
+    private void closeReleaseDbas() throws Exception {
+        synchronized (this.releaseDbas) {
+            for (MySQLAdaptor dba : this.releaseDbas) {
+                dba.cleanUp();
             }
+            this.releaseDbas.clear();
         }
-        return newInstances;
+        // The pool threads holding the other adaptors are shut down; this thread gets new adaptors if it needs more
+        this.currentDba.remove();
+        this.previousDba.remove();
+    }
+
+    private void runTrendReport() throws Exception {
+        if (this.releaseDatabaseNames.size() < 2) {
+            throw new ParameterException("--releaseDbNames needs at least two release databases");
+        }
+
+        CurationTrendReporter curationTrendReporter = new CurationTrendReporter(
+            getTrendReportPath(),
+            this.snapshotDirectory != null ? Paths.get(this.snapshotDirectory) : null
+        );
+        curationTrendReporter.report(this.releaseDatabaseNames, this::createDba);
+    }
+
+    private void runRLEPipeline() throws Exception {
+        long[] newReactionLikeEventDbIds = this.stageTimer.time("RLE diff", this::getNewRLEDbIds);
+        long[] manuallyCuratedDbIds = this.stageTimer.time("RLE manual curation filter",
+            () -> getManuallyCuratedRLEDbIds(newReactionLikeEventDbIds));
+
+        List<StreamingInstanceReporter> reporters = Arrays.asList(
+            new RLEReporter(getRLEReportPath(), this.outputFormat, manuallyCuratedDbIds),
+            new CuratorCountReporter("RLE", getCurrentReleaseNumber(), this.outputFormat)
+        );
+        this.stageTimer.time("RLE reports", () -> streamNewInstances(
+            ReactomeJavaConstants.ReactionlikeEvent, newReactionLikeEventDbIds, reporters
+        ));
+        this.completedReporters.addAll(reporters);
+    }
+
+    private void runEWASPipeline() throws Exception {
+        long[] newEWASDbIds = this.stageTimer.time("EWAS diff", this::getNewEWASDbIds);
+        this.currentEWASReactionIndex = this.stageTimer.time("EWAS index",
+            () -> EWASReactionFetcher.getInstance().getIndex(getCurrentDba()));
+
+        List<StreamingInstanceReporter> reporters = Arrays.asList(
+            new EWASReporter(getEWASReportPath(), this.outputFormat),
+            new CuratorCountReporter("EWAS", getCurrentReleaseNumber(), this.outputFormat)
+        );
+        this.stageTimer.time("EWAS reports", () -> streamNewInstances(
+            ReactomeJavaConstants.EntityWithAccessionedSequence, newEWASDbIds, reporters
+        ));
+        this.completedReporters.addAll(reporters);
+    }
+
+    private void reportRuleStatistics(TraversalRule traversalRule) throws Exception {
+        EWASReactionIndex targetToRoots = traversalRule.getName().equals(TraversalRule.RLE_TO_EWAS)
+            ? this.currentEWASReactionIndex
+            : new TraversalIndexer(traversalRule, this.traversalThreadCount).buildIndex(getCurrentDba());
+
+        TraversalStatistics traversalStatistics = TraversalStatistics.compute(
+            traversalRule, targetToRoots, getPreviousDbIds(traversalRule.getTargetClassName())
+        );
+        new TraversalStatisticsReporter(getRuleStatisticsPath(traversalRule), this.outputFormat)
+            .report(traversalStatistics);
+    }
+
+    // Only instances in both releases are fingerprinted, and the two releases are fingerprinted at the same time
+    private void reportModifiedInstances(String className) throws Exception {
+        long[] retainedDbIds =
+            InstanceDiff.between(getPreviousDbIds(className), getCurrentDbIds(className)).getRetainedDbIds();
+        FingerprintAttributes fingerprintAttributes = getFingerprintAttributes();
+
+        ExecutorService fingerprintExecutor = Executors.newSingleThreadExecutor();
+        try {
+            Future<InstanceFingerprints> previousFingerprints = fingerprintExecutor.submit(() ->
+                InstanceFingerprints.compute(
+                    getPreviousDba(), className, retainedDbIds, fingerprintAttributes, this.pageSize
+                )
+            );
+            InstanceFingerprints currentFingerprints = InstanceFingerprints.compute(
+                getCurrentDba(), className, retainedDbIds, fingerprintAttributes, this.pageSize
+            );
+
+            long[] modifiedDbIds = currentFingerprints.getModifiedDbIds(previousFingerprints.get());
+            logger.info("{} of {} {} instances in both releases were modified ({} bytes of fingerprints)",
+                modifiedDbIds.length,
+                retainedDbIds.length,
+                className,
+                currentFingerprints.getEstimatedSizeInBytes() + previousFingerprints.get().getEstimatedSizeInBytes()
+            );
+
+            try (ModifiedInstanceReporter modifiedInstanceReporter =
+                     new ModifiedInstanceReporter(className, getCurrentReleaseNumber(), this.outputFormat)) {
+                modifiedInstanceReporter.start();
+                InstanceModifications.scan(getCurrentDba(), className, modifiedDbIds, previousFingerprints.get(),
+                    this.pageSize, modifiedInstanceReporter::accept);
+                modifiedInstanceReporter.complete();
+            }
+        } finally {
+            fingerprintExecutor.shutdown();
+        }
+    }
+
+    private FingerprintAttributes getFingerprintAttributes() throws Exception {
+        if (this.fingerprintAttributes == null) {
+            this.fingerprintAttributes = this.fingerprintAttributesFile != null
+                ? FingerprintAttributes.load(Paths.get(this.fingerprintAttributesFile))
+                : FingerprintAttributes.loadDefaults();
+        }
+        return this.fingerprintAttributes;
+    }
+
+    private TraversalRule getTraversalRule(String ruleName) throws Exception {
+        if (this.traversalRules == null) {
+            this.traversalRules = this.traversalRulesFile != null
+                ? TraversalRule.load(Paths.get(this.traversalRulesFile))
+                : TraversalRule.loadDefaults();
+        }
+        TraversalRule traversalRule = this.traversalRules.get(ruleName);
+        if (traversalRule == null) {
+            throw new ParameterException("No traversal rule named " + ruleName + " in " +
+                (this.traversalRulesFile != null ? this.traversalRulesFile : "the default traversal rules"));
+        }
+        return traversalRule;
+    }
+
+    private void streamNewInstances(String className, long[] newDbIds, List<StreamingInstanceReporter> reporters)
+        throws Exception {
+
+        NewInstanceStream newInstanceStream =
+            new NewInstanceStream(getCurrentDba(), className, newDbIds, this.pageSize);
+        newInstanceStream.setCheckpointing(
+            new ReportCheckpoint(getCheckpointPath(className), this.currentDatabaseName, className, newDbIds),
+            this.checkpointIntervalPages,
+            this.resume
+        );
+        if (this.dataAccessMode == DataAccessMode.COMPARE) {
+            newInstanceStream.pushTo(reporters,
+                page -> DataAccessComparator.compareRecords(getCurrentDba(), className, page));
+        } else {
+            newInstanceStream.pushTo(reporters);
+        }
+    }
+
+    private long[] getNewRLEDbIds() throws Exception {
+        return getNewDbIds(
+            InstanceFilter.instancesOf(ReactomeJavaConstants.ReactionlikeEvent)
+                .createdAfter(getCreatedAfter())
+        );
+    }
+
+    // Only the RLE report is limited to manually curated events; the RLE curator counts also credit inferred ones.
+    // The database evaluates the filter, so inferredFrom is never loaded for the streamed RLEs.
+    private long[] getManuallyCuratedRLEDbIds(long[] newReactionLikeEventDbIds) throws Exception {
+        long[] manuallyCuratedDbIds = InstanceFilter.instancesOf(ReactomeJavaConstants.ReactionlikeEvent)
+            .manuallyCurated()
+            .apply(getCurrentDba(), newReactionLikeEventDbIds);
+        // The number of rows in the RLE report
+        RunMetrics.getInstance().add("instances.new.ReactionlikeEvent.manuallyCurated", manuallyCuratedDbIds.length);
+        return manuallyCuratedDbIds;
+    }
+
+    private long[] getNewEWASDbIds() throws Exception {
+        return getNewDbIds(
+            InstanceFilter.instancesOf(ReactomeJavaConstants.EntityWithAccessionedSequence)
+                .createdAfter(getCreatedAfter())
+        );
+    }
+
+    private long[] getNewDbIds(InstanceFilter instanceFilter) throws Exception {
+        long[] newDbIds = getNewDbIds(instanceFilter.getClassName());
+        if (instanceFilter.isManuallyCuratedOnly() || instanceFilter.getCreatedAfter() != null) {
+            newDbIds = instanceFilter.apply(getCurrentDba(), newDbIds);
+        }
+        this.classNameToNewInstanceCount.put(instanceFilter.getClassName(), newDbIds.length);
+        RunMetrics.getInstance().add("instances.new." + instanceFilter.getClassName(), newDbIds.length);
+        return newDbIds;
+    }
+
+    private long[] getNewDbIds(String className)
+        throws Exception {
+
+        long startTime = System.currentTimeMillis();
+        Future<DbIdSet> previousDbIds = this.databaseFetchExecutor.submit(() -> getPreviousDbIds(className));
+        DbIdSet currentDbIds = fetchDbIds(getCurrentDba(), className);
+        this.currentClassNameToDbIds.put(className, currentDbIds);
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previousDbIds.get(), currentDbIds);
+        // Every added DB_ID, before the created after and manual curation filters
+        RunMetrics.getInstance().add("instances.added." + className, instanceDiff.getAddedDbIds().length);
+        logger.info("{} diff computed in {} ms: {} added, {} removed, {} class changed",
+            className,
+            System.currentTimeMillis() - startTime,
+            instanceDiff.getAddedDbIds().length,
+            instanceDiff.getRemovedDbIds().length,
+            instanceDiff.getClassChangedDbIds().length
+        );
+
+        return instanceDiff.getAddedDbIds();
+    }
+
+    private DbIdSet getCurrentDbIds(String className) throws Exception {
+        DbIdSet currentDbIds = this.currentClassNameToDbIds.get(className);
+        if (currentDbIds == null) {
+            currentDbIds = fetchDbIds(getCurrentDba(), className);
+            this.currentClassNameToDbIds.put(className, currentDbIds);
+        }
+        return currentDbIds;
+    }
+
+    // The previous release is frozen, so its DB_IDs are read from its snapshot when there is one
+    private DbIdSet getPreviousDbIds(String className) throws Exception {
+        Optional<DbIdSet> snapshotDbIds = getPreviousSnapshot().flatMap(snapshot -> snapshot.getDbIds(className));
+        if (snapshotDbIds.isPresent()) {
+            return snapshotDbIds.get();
+        }
+
+        DbIdSet previousDbIds = fetchDbIds(getPreviousDba(), className);
+        this.previousClassNameToDbIds.put(className, previousDbIds);
+        return previousDbIds;
+    }
+
+    private synchronized Optional<ReleaseSnapshot> getPreviousSnapshot() throws Exception {
+        if (this.previousSnapshot == null) {
+            // The snapshot's own release number is trusted, so the previous release is not connected to here
+            this.previousSnapshot = this.snapshotDirectory != null ?
+                ReleaseSnapshot.load(Paths.get(this.snapshotDirectory), this.previousDatabaseName) :
+                Optional.empty();
+        }
+        return this.previousSnapshot;
+    }
+
+    private void writeSnapshots() throws Exception {
+        Path snapshotPath = Paths.get(this.snapshotDirectory);
+
+        new ReleaseSnapshot(
+            this.currentDatabaseName,
+            getCurrentReleaseNumber(),
+            this.currentClassNameToDbIds,
+            this.currentEWASReactionIndex
+        ).write(snapshotPath);
+
+        // Only rewrite the previous release's snapshot if some of its DB_IDs had to be read from the database
+        if (!this.previousClassNameToDbIds.isEmpty()) {
+            Map<String, DbIdSet> previousClassNameToDbIds = new HashMap<>();
+            getPreviousSnapshot().ifPresent(
+                snapshot -> previousClassNameToDbIds.putAll(snapshot.getClassNameToDbIds())
+            );
+            previousClassNameToDbIds.putAll(this.previousClassNameToDbIds);
+
+            Optional<ReleaseSnapshot> previousSnapshot = getPreviousSnapshot();
+            new ReleaseSnapshot(
+                this.previousDatabaseName,
+                previousSnapshot.isPresent() ?
+                    previousSnapshot.get().getReleaseNumber() :
+                    getPreviousDba().getReleaseNumber(),
+                previousClassNameToDbIds,
+                previousSnapshot.flatMap(ReleaseSnapshot::getEWASReactionIndex).orElse(null)
+            ).write(snapshotPath);
+        }
+    }
+
+    private DbIdSet fetchDbIds(MySQLAdaptor dba, String className) throws Exception {
+        switch (this.dataAccessMode) {
+            case GKINSTANCE:
+                return DbIdSet.fetchFromInstances(dba, className);
+            case COMPARE:
+                return DataAccessComparator.fetchAndCompareDbIds(dba, className);
+            default:
+                return DbIdSet.fetch(dba, className);
+        }
+    }
+
+    private LocalDate getCreatedAfter() {
+        return this.createdAfter != null ? LocalDate.parse(this.createdAfter, Utils.DATE_FORMATTER) : null;
     }
 
     private Path getRLEReportPath() throws Exception {
@@ -103,12 +574,19 @@ public class Main {
         return Paths.get("NewEWASsV" + getCurrentDba().getReleaseNumber() + ".txt");
     }
 
-    private List<Long> getInstanceDbIds(MySQLAdaptor dba, String className) throws Exception {
-        return getInstances(dba, className).stream().map(GKInstance::getDBID).collect(Collectors.toList());
+    private Path getRuleStatisticsPath(TraversalRule traversalRule) throws Exception {
+        return Paths.get(traversalRule.getName() + "V" + getCurrentDba().getReleaseNumber() + ".txt");
+    }
+
+    private Path getCheckpointPath(String className) throws Exception {
+        return Paths.get(className + "ReportsV" + getCurrentDba().getReleaseNumber() + ".checkpoint");
     }
 
-    private List<GKInstance> getInstances(MySQLAdaptor dba, String className) throws Exception {
-        return new ArrayList<>(dba.fetchInstancesByClass(className));
+    private Path getTrendReportPath() {
+        return Paths.get(String.format("CurationTrend_%s_to_%s.txt",
+            this.releaseDatabaseNames.get(0),
+            this.releaseDatabaseNames.get(this.releaseDatabaseNames.size() - 1)
+        ));
     }
 
     private int getCurrentReleaseNumber() throws Exception {
@@ -116,28 +594,36 @@ public class Main {
     }
 
     private MySQLAdaptor getCurrentDba() {
-        return this.currentDba;
+        return this.currentDba.get();
     }
 
     private MySQLAdaptor getPreviousDba() {
-        return this.previousDba;
+        return this.previousDba.get();
     }
 
-    private MySQLAdaptor createCurrentDba() throws SQLException {
-        return createDba(this.currentDatabaseName);
+    private MySQLAdaptor createCurrentDba() {
+        MySQLAdaptor dba = createDba(this.currentDatabaseName);
+        this.releaseDbas.add(dba);
+        return dba;
     }
 
-    private MySQLAdaptor createPreviousDba() throws SQLException {
-        return createDba(this.previousDatabaseName);
+    private MySQLAdaptor createPreviousDba() {
+        MySQLAdaptor dba = createDba(this.previousDatabaseName);
+        this.releaseDbas.add(dba);
+        return dba;
     }
 
-    private MySQLAdaptor createDba(String dbName) throws SQLException {
-        return new MySQLAdaptor(
-            this.host,
-            dbName,
-            this.userName,
-            this.password,
-            this.port
-        );
+    private MySQLAdaptor createDba(String dbName) {
+        try {
+            return new MySQLAdaptor(
+                this.host,
+                dbName,
+                this.userName,
+                this.password,
+                this.port
+            );
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.persistence.MySQLAdaptor;
+import org.reactome.reporters.StreamingInstanceReporter;
+
+import java.util.*;
+
+/**
+ * Pushes the new instances of a class through a set of reporters one DB_ID-ordered page at a time.
+ *
+ * Only the current page is loaded as GKInstances: each page is fetched, has its attributes prefetched and is
+ * extracted into an {@link InstanceStore}, after which the GKInstances are evicted from the adaptor's instance
+ * cache and the reporters read the page from the store.  One store is reused for every page, so its author and
+ * class dictionaries are shared by the whole stream.  The push is synchronous, so a slow reporter holds back the
+ * reading of the next page and peak memory is bounded by the page size rather than by the number of new instances.
+ *
+ * With a {@link ReportCheckpoint} set, the reporters are checkpointed every few pages, and a resumed stream
+ * restores the reporters from the last checkpoint and only reads the pages after it.
+ */
+public class NewInstanceStream {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final MySQLAdaptor dba;
+    private final String className;
+    private final long[] newDbIds;
+    private final int pageSize;
+    private ReportCheckpoint reportCheckpoint;
+    private int checkpointIntervalPages;
+    private boolean resume;
+
+    public NewInstanceStream(MySQLAdaptor dba, String className, long[] newDbIds, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.dba = dba;
+        this.className = className;
+        this.newDbIds = newDbIds;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Checkpoints the reporters after every given number of pages and, when resuming, continues from the last
+     * checkpoint if there is a usable one.
+     */
+    public void setCheckpointing(ReportCheckpoint reportCheckpoint, int checkpointIntervalPages, boolean resume) {
+        if (checkpointIntervalPages < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointIntervalPages);
+        }
+        this.reportCheckpoint = reportCheckpoint;
+        this.checkpointIntervalPages = checkpointIntervalPages;
+        this.resume = resume;
+    }
+
+    public void pushTo(List<StreamingInstanceReporter> reporters) throws Exception {
+        pushTo(reporters, page -> {});
+    }
+
+    /**
+     * Pushes every new instance through the reporters, handing each page to the page listener after it has been
+     * extracted and before it is evicted.
+     */
+    public void pushTo(List<StreamingInstanceReporter> reporters, PageListener pageListener) throws Exception {
+        long startTime = System.currentTimeMillis();
+        InstanceRecordExtractor instanceRecordExtractor = new InstanceRecordExtractor();
+        InstanceStore pageStore = new InstanceStore();
+        try {
+            int firstIndex = startReporters(reporters);
+
+            int pageCount = 0;
+            for (int start = firstIndex; start < this.newDbIds.length; start += this.pageSize) {
+                long[] pageDbIds = Arrays.copyOfRange(
+                    this.newDbIds, start, Math.min(start + this.pageSize, this.newDbIds.length)
+                );
+                extractPage(pageDbIds, instanceRecordExtractor, pageStore, pageListener);
+
+                for (int index = 0; index < pageStore.size(); index++) {
+                    for (StreamingInstanceReporter reporter : reporters) {
+                        reporter.accept(pageStore, index);
+                    }
+                }
+                pageCount++;
+                RunMetrics.getInstance().increment("stream.pages");
+
+                if (this.reportCheckpoint != null && pageCount % this.checkpointIntervalPages == 0) {
+                    checkpoint(reporters, pageDbIds[pageDbIds.length - 1]);
+                }
+            }
+
+            // Completing commits each reporter's output, consuming the temporary file a resume would reopen, so the
+            // checkpoint goes first: a failure part way through the reporters then means a fresh start, not a resume
+            // of reports that are already committed
+            if (this.reportCheckpoint != null) {
+                this.reportCheckpoint.delete();
+            }
+            for (StreamingInstanceReporter reporter : reporters) {
+                reporter.complete();
+            }
+            logger.info("Streamed {} new {} instances in {} pages of up to {} in {} ms " +
+                    "({} attribute fetches, page store ~{} KB)",
+                this.newDbIds.length - firstIndex,
+                this.className,
+                pageCount,
+                this.pageSize,
+                System.currentTimeMillis() - startTime,
+                instanceRecordExtractor.getAttributeFetchCount(),
+                pageStore.getEstimatedSizeInBytes() / 1024
+            );
+        } finally {
+            for (StreamingInstanceReporter reporter : reporters) {
+                reporter.close();
+            }
+        }
+    }
+
+    private void extractPage(long[] pageDbIds, InstanceRecordExtractor instanceRecordExtractor,
+                             InstanceStore pageStore, PageListener pageListener) throws Exception {
+        List<GKInstance> page = Utils.fetchInstances(this.dba, this.className, pageDbIds);
+        AttributePrefetcher.prefetch(this.dba, page);
+
+        pageStore.clear();
+        for (GKInstance instance : page) {
+            pageStore.add(instance.getSchemClass().getName(), instanceRecordExtractor.extract(instance));
+        }
+        pageListener.onPage(page);
+
+        // Nothing from this page is needed again, so drop it (and what it referenced) from the cache
+        this.dba.getInstanceCache().clear();
+    }
+
+    // Returns the index of the first new DB_ID still to be reported
+    private int startReporters(List<StreamingInstanceReporter> reporters) throws Exception {
+        Optional<Properties> checkpointState = this.resume && this.reportCheckpoint != null ?
+            this.reportCheckpoint.load() :
+            Optional.empty();
+
+        if (!checkpointState.isPresent()) {
+            // A checkpoint left by an earlier run would not match the output this run starts over with
+            if (this.reportCheckpoint != null) {
+                this.reportCheckpoint.delete();
+            }
+            for (StreamingInstanceReporter reporter : reporters) {
+                reporter.start();
+            }
+            return 0;
+        }
+
+        for (StreamingInstanceReporter reporter : reporters) {
+            reporter.resume(checkpointState.get());
+        }
+        long lastDbId = ReportCheckpoint.getLastDbId(checkpointState.get());
+        int lastIndex = Arrays.binarySearch(this.newDbIds, lastDbId);
+        int firstIndex = lastIndex >= 0 ? lastIndex + 1 : -lastIndex - 1;
+        logger.info("Resuming new {} instances of {} after DB_ID {}: {} of {} already reported",
+            this.className, this.dba.getDBName(), lastDbId, firstIndex, this.newDbIds.length);
+        return firstIndex;
+    }
+
+    private void checkpoint(List<StreamingInstanceReporter> reporters, long lastDbId) throws Exception {
+        Properties reporterState = new Properties();
+        for (StreamingInstanceReporter reporter : reporters) {
+            reporter.checkpoint(reporterState);
+        }
+        this.reportCheckpoint.save(lastDbId, reporterState);
+        RunMetrics.getInstance().increment("stream.checkpoints");
+    }
+
+    @FunctionalInterface
+    public interface PageListener {
+        void onPage(List<GKInstance> page) throws Exception;
+    }
+}
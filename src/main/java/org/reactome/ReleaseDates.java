@@ -0,0 +1,97 @@
+package org.reactome;
+
+import org.gk.persistence.MySQLAdaptor;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Release dates of the Events of one database, keyed by DB_ID and held as epoch days in an open addressing table of
+ * primitive arrays, so a lookup neither boxes nor parses.
+ *
+ * A release shares each releaseDate value across many Events, so every distinct date string is parsed only once
+ * while the table is filled.
+ */
+public class ReleaseDates {
+    public static final int NO_RELEASE_DATE = Integer.MIN_VALUE;
+
+    // DB_IDs start at 1, so 0 marks an empty slot
+    private static final long EMPTY_KEY = 0L;
+
+    private long[] dbIds = new long[1024];
+    private int[] epochDays = new int[1024];
+    private int size;
+
+    ReleaseDates() {}
+
+    public static ReleaseDates fetch(MySQLAdaptor dba, String className) throws Exception {
+        ReleaseDates releaseDates = new ReleaseDates();
+        Map<String, Integer> releaseDateToEpochDay = new HashMap<>();
+        SqlInstanceScanner.scanReleaseDates(dba, className, (dbId, releaseDate) -> releaseDates.put(
+            dbId,
+            releaseDateToEpochDay.computeIfAbsent(releaseDate, date -> toEpochDay(Utils.parseReleaseDate(date)))
+        ));
+        return releaseDates;
+    }
+
+    public int getEpochDay(long dbId) {
+        int mask = this.dbIds.length - 1;
+        for (int slot = hash(dbId) & mask; this.dbIds[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+            if (this.dbIds[slot] == dbId) {
+                return this.epochDays[slot];
+            }
+        }
+        return NO_RELEASE_DATE;
+    }
+
+    public LocalDate getReleaseDate(long dbId) {
+        return toLocalDate(getEpochDay(dbId));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    void put(long dbId, int epochDay) {
+        if (2 * (this.size + 1) > this.dbIds.length) {
+            resize();
+        }
+        int mask = this.dbIds.length - 1;
+        int slot = hash(dbId) & mask;
+        while (this.dbIds[slot] != EMPTY_KEY && this.dbIds[slot] != dbId) {
+            slot = (slot + 1) & mask;
+        }
+        if (this.dbIds[slot] == EMPTY_KEY) {
+            this.dbIds[slot] = dbId;
+            this.size++;
+        }
+        this.epochDays[slot] = epochDay;
+    }
+
+    static int toEpochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NO_RELEASE_DATE;
+    }
+
+    static LocalDate toLocalDate(int epochDay) {
+        return epochDay != NO_RELEASE_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private void resize() {
+        long[] oldDbIds = this.dbIds;
+        int[] oldEpochDays = this.epochDays;
+        this.dbIds = new long[oldDbIds.length * 2];
+        this.epochDays = new int[oldEpochDays.length * 2];
+        this.size = 0;
+        for (int i = 0; i < oldDbIds.length; i++) {
+            if (oldDbIds[i] != EMPTY_KEY) {
+                put(oldDbIds[i], oldEpochDays[i]);
+            }
+        }
+    }
+
+    // DB_IDs are mostly sequential, so their bits are mixed before masking
+    private static int hash(long dbId) {
+        long mixed = dbId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
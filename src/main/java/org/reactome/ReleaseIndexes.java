@@ -0,0 +1,79 @@
+package org.reactome;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * What one comparison of a current release with the previous one leaves behind for the statistics server: the new
+ * instance counts, the curator tallies and report files written by the reporters, and the current release's EWAS to
+ * RLE index.  Instances are immutable, so a query can keep using the one it started with while a rebuild replaces
+ * it.
+ */
+public class ReleaseIndexes {
+    private final String currentDatabaseName;
+    private final String previousDatabaseName;
+    private final int releaseNumber;
+    private final Map<String, Integer> classNameToNewInstanceCount;
+    private final Map<String, CuratorTally> reportTypeToCuratorTally;
+    private final Map<String, Path> reportFileNameToPath;
+    private final EWASReactionIndex ewasReactionIndex;
+    private final long buildMillis;
+
+    public ReleaseIndexes(String currentDatabaseName, String previousDatabaseName, int releaseNumber,
+                          Map<String, Integer> classNameToNewInstanceCount,
+                          Map<String, CuratorTally> reportTypeToCuratorTally,
+                          List<Path> reportFilePaths, EWASReactionIndex ewasReactionIndex, long buildMillis) {
+        this.currentDatabaseName = currentDatabaseName;
+        this.previousDatabaseName = previousDatabaseName;
+        this.releaseNumber = releaseNumber;
+        this.classNameToNewInstanceCount = Collections.unmodifiableMap(new TreeMap<>(classNameToNewInstanceCount));
+        this.reportTypeToCuratorTally = Collections.unmodifiableMap(new TreeMap<>(reportTypeToCuratorTally));
+        Map<String, Path> reportFileNameToPath = new TreeMap<>();
+        for (Path reportFilePath : reportFilePaths) {
+            reportFileNameToPath.put(reportFilePath.getFileName().toString(), reportFilePath);
+        }
+        this.reportFileNameToPath = Collections.unmodifiableMap(reportFileNameToPath);
+        this.ewasReactionIndex = ewasReactionIndex;
+        this.buildMillis = buildMillis;
+    }
+
+    public String getCurrentDatabaseName() {
+        return this.currentDatabaseName;
+    }
+
+    public String getPreviousDatabaseName() {
+        return this.previousDatabaseName;
+    }
+
+    public int getReleaseNumber() {
+        return this.releaseNumber;
+    }
+
+    public Map<String, Integer> getClassNameToNewInstanceCount() {
+        return this.classNameToNewInstanceCount;
+    }
+
+    public Optional<CuratorTally> getCuratorTally(String reportType) {
+        return Optional.ofNullable(this.reportTypeToCuratorTally.get(reportType));
+    }
+
+    public Set<String> getReportTypes() {
+        return this.reportTypeToCuratorTally.keySet();
+    }
+
+    public Optional<Path> getReportFilePath(String reportFileName) {
+        return Optional.ofNullable(this.reportFileNameToPath.get(reportFileName));
+    }
+
+    public Set<String> getReportFileNames() {
+        return this.reportFileNameToPath.keySet();
+    }
+
+    public EWASReactionIndex getEWASReactionIndex() {
+        return this.ewasReactionIndex;
+    }
+
+    public long getBuildMillis() {
+        return this.buildMillis;
+    }
+}
@@ -0,0 +1,258 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of a frozen release: the DB_IDs (with schema classes) of each reported class and, optionally, the
+ * EWAS to RLE index with the earliest release date of each EWAS's RLEs.
+ *
+ * Layout (big-endian): magic, format version, database name, release number, the class name dictionary, one section
+ * per reported class of (DB_ID, class code) pairs, an index flag followed by the index arrays and a release date flag
+ * followed by the epoch days, and finally a CRC32 of everything before it.  Snapshots are written to a temporary file
+ * and renamed into place.  Reading decodes the whole file into heap arrays.  A snapshot with the wrong magic,
+ * version, database name or checksum is rejected; otherwise its release number is trusted, so a frozen release can
+ * be used without connecting to its database.
+ */
+public class ReleaseSnapshot {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int MAGIC = 0x52435353; // "RCSS"
+    // Version 2 added the index's earliest release dates
+    private static final int FORMAT_VERSION = 2;
+
+    private final String databaseName;
+    private final int releaseNumber;
+    private final Map<String, DbIdSet> classNameToDbIds;
+    private final EWASReactionIndex ewasReactionIndex;
+
+    public ReleaseSnapshot(String databaseName, int releaseNumber, Map<String, DbIdSet> classNameToDbIds,
+                           EWASReactionIndex ewasReactionIndex) {
+        this.databaseName = databaseName;
+        this.releaseNumber = releaseNumber;
+        this.classNameToDbIds = new TreeMap<>(classNameToDbIds);
+        this.ewasReactionIndex = ewasReactionIndex;
+    }
+
+    public static Path getSnapshotPath(Path snapshotDirectory, String databaseName) {
+        return snapshotDirectory.resolve(databaseName + ".snapshot");
+    }
+
+    /**
+     * Returns the snapshot for the database from the directory, or an empty Optional when there is none or it is
+     * corrupt.
+     */
+    public static Optional<ReleaseSnapshot> load(Path snapshotDirectory, String databaseName) throws IOException {
+        Path snapshotPath = getSnapshotPath(snapshotDirectory, databaseName);
+        if (!Files.exists(snapshotPath)) {
+            return Optional.empty();
+        }
+
+        long startTime = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            ReleaseSnapshot snapshot = read(buffer, databaseName);
+            logger.info("Loaded snapshot {} ({} bytes) in {} ms",
+                snapshotPath, channel.size(), System.currentTimeMillis() - startTime);
+            return Optional.of(snapshot);
+        } catch (InvalidSnapshotException | BufferUnderflowException e) {
+            logger.warn("Ignoring snapshot {}: {}", snapshotPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void write(Path snapshotDirectory) throws IOException {
+        Files.createDirectories(snapshotDirectory);
+        Path snapshotPath = getSnapshotPath(snapshotDirectory, getDatabaseName());
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        CRC32 checksum = new CRC32();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+            new CheckedOutputStream(Files.newOutputStream(tempPath), checksum), 64 * 1024))) {
+
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(getDatabaseName());
+            output.writeInt(getReleaseNumber());
+            writeDbIdSets(output);
+            writeEWASReactionIndex(output);
+
+            output.flush();
+            output.writeLong(checksum.getValue());
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Wrote snapshot {} ({} bytes)", snapshotPath, Files.size(snapshotPath));
+    }
+
+    public String getDatabaseName() {
+        return this.databaseName;
+    }
+
+    public int getReleaseNumber() {
+        return this.releaseNumber;
+    }
+
+    public Optional<DbIdSet> getDbIds(String className) {
+        return Optional.ofNullable(this.classNameToDbIds.get(className));
+    }
+
+    public Map<String, DbIdSet> getClassNameToDbIds() {
+        return Collections.unmodifiableMap(this.classNameToDbIds);
+    }
+
+    public Optional<EWASReactionIndex> getEWASReactionIndex() {
+        return Optional.ofNullable(this.ewasReactionIndex);
+    }
+
+    private void writeDbIdSets(DataOutputStream output) throws IOException {
+        List<String> classDictionary = new ArrayList<>();
+        Map<String, Integer> classNameToCode = new HashMap<>();
+        for (DbIdSet dbIdSet : this.classNameToDbIds.values()) {
+            for (int i = 0; i < dbIdSet.size(); i++) {
+                classNameToCode.computeIfAbsent(dbIdSet.getClassNameAt(i), className -> {
+                    classDictionary.add(className);
+                    return classDictionary.size() - 1;
+                });
+            }
+        }
+
+        output.writeInt(classDictionary.size());
+        for (String className : classDictionary) {
+            output.writeUTF(className);
+        }
+
+        output.writeInt(this.classNameToDbIds.size());
+        for (Map.Entry<String, DbIdSet> classEntry : this.classNameToDbIds.entrySet()) {
+            DbIdSet dbIdSet = classEntry.getValue();
+            output.writeUTF(classEntry.getKey());
+            output.writeInt(dbIdSet.size());
+            for (int i = 0; i < dbIdSet.size(); i++) {
+                output.writeLong(dbIdSet.getDbId(i));
+                output.writeShort(classNameToCode.get(dbIdSet.getClassNameAt(i)));
+            }
+        }
+    }
+
+    private void writeEWASReactionIndex(DataOutputStream output) throws IOException {
+        output.writeBoolean(this.ewasReactionIndex != null);
+        if (this.ewasReactionIndex == null) {
+            return;
+        }
+
+        long[] ewasDbIds = this.ewasReactionIndex.getEWASDbIds();
+        int[] offsets = this.ewasReactionIndex.getOffsets();
+        long[] reactionDbIds = this.ewasReactionIndex.getReactionDbIds();
+
+        output.writeInt(ewasDbIds.length);
+        for (long ewasDbId : ewasDbIds) {
+            output.writeLong(ewasDbId);
+        }
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        output.writeInt(reactionDbIds.length);
+        for (long reactionDbId : reactionDbIds) {
+            output.writeLong(reactionDbId);
+        }
+
+        int[] earliestReleaseEpochDays = this.ewasReactionIndex.getEarliestReleaseEpochDays();
+        output.writeBoolean(earliestReleaseEpochDays != null);
+        if (earliestReleaseEpochDays != null) {
+            for (int earliestReleaseEpochDay : earliestReleaseEpochDays) {
+                output.writeInt(earliestReleaseEpochDay);
+            }
+        }
+    }
+
+    private static ReleaseSnapshot read(ByteBuffer buffer, String expectedDatabaseName) {
+        if (buffer.limit() < 2 * Integer.BYTES + Long.BYTES || buffer.getInt() != MAGIC) {
+            throw new InvalidSnapshotException("not a release snapshot");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new InvalidSnapshotException("unsupported format version " + formatVersion);
+        }
+
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(buffer.limit() - Long.BYTES);
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+        if (checksum.getValue() != buffer.getLong(buffer.limit() - Long.BYTES)) {
+            throw new InvalidSnapshotException("checksum mismatch");
+        }
+
+        String databaseName = readUTF(buffer);
+        if (!databaseName.equals(expectedDatabaseName)) {
+            throw new InvalidSnapshotException("written for database " + databaseName);
+        }
+        int releaseNumber = buffer.getInt();
+
+        String[] classDictionary = new String[buffer.getInt()];
+        for (int i = 0; i < classDictionary.length; i++) {
+            classDictionary[i] = readUTF(buffer).intern();
+        }
+
+        Map<String, DbIdSet> classNameToDbIds = new HashMap<>();
+        int sectionCount = buffer.getInt();
+        for (int section = 0; section < sectionCount; section++) {
+            String className = readUTF(buffer);
+            long[] dbIds = new long[buffer.getInt()];
+            String[] classNames = new String[dbIds.length];
+            for (int i = 0; i < dbIds.length; i++) {
+                dbIds[i] = buffer.getLong();
+                classNames[i] = classDictionary[buffer.getShort()];
+            }
+            classNameToDbIds.put(className, new DbIdSet(dbIds, classNames));
+        }
+
+        EWASReactionIndex ewasReactionIndex = null;
+        if (buffer.get() != 0) {
+            long[] ewasDbIds = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(ewasDbIds);
+            buffer.position(buffer.position() + Long.BYTES * ewasDbIds.length);
+
+            int[] offsets = new int[ewasDbIds.length + 1];
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + Integer.BYTES * offsets.length);
+
+            long[] reactionDbIds = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(reactionDbIds);
+            buffer.position(buffer.position() + Long.BYTES * reactionDbIds.length);
+
+            int[] earliestReleaseEpochDays = null;
+            if (buffer.get() != 0) {
+                earliestReleaseEpochDays = new int[ewasDbIds.length];
+                buffer.asIntBuffer().get(earliestReleaseEpochDays);
+            }
+
+            ewasReactionIndex = new EWASReactionIndex(ewasDbIds, offsets, reactionDbIds, earliestReleaseEpochDays);
+        }
+
+        return new ReleaseSnapshot(databaseName, releaseNumber, classNameToDbIds, ewasReactionIndex);
+    }
+
+    // Reads a string in the modified UTF-8 form written by DataOutputStream.writeUTF
+    private static String readUTF(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class InvalidSnapshotException extends RuntimeException {
+        InvalidSnapshotException(String message) {
+            super(message);
+        }
+    }
+}
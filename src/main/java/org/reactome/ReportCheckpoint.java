@@ -0,0 +1,108 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Progress of a paged report run: the last DB_ID whose page was fully reported plus the reporters' own state
+ * (checkpointed output lengths, partial tallies), kept as a properties file next to the reports.
+ *
+ * The file is replaced atomically, so it always describes a complete page.  A checkpoint only applies to the
+ * database, class and set of new instances it was written for; anything else is ignored when resuming.
+ */
+public class ReportCheckpoint {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String DATABASE_NAME_KEY = "checkpoint.databaseName";
+    private static final String CLASS_NAME_KEY = "checkpoint.className";
+    private static final String NEW_INSTANCE_COUNT_KEY = "checkpoint.newInstanceCount";
+    private static final String NEW_INSTANCE_HASH_KEY = "checkpoint.newInstanceHash";
+    private static final String LAST_DB_ID_KEY = "checkpoint.lastDbId";
+
+    private final Path checkpointFilePath;
+    private final String databaseName;
+    private final String className;
+    private final int newInstanceCount;
+    private final int newInstanceHash;
+
+    public ReportCheckpoint(Path checkpointFilePath, String databaseName, String className, long[] newDbIds) {
+        this.checkpointFilePath = checkpointFilePath;
+        this.databaseName = databaseName;
+        this.className = className;
+        this.newInstanceCount = newDbIds.length;
+        this.newInstanceHash = Arrays.hashCode(newDbIds);
+    }
+
+    /**
+     * Returns the saved state if there is a checkpoint for this database, class and set of new instances.
+     */
+    public Optional<Properties> load() throws IOException {
+        if (!Files.exists(getCheckpointFilePath())) {
+            return Optional.empty();
+        }
+
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(getCheckpointFilePath(), StandardCharsets.UTF_8)) {
+            state.load(reader);
+        }
+
+        if (!this.databaseName.equals(state.getProperty(DATABASE_NAME_KEY)) ||
+            !this.className.equals(state.getProperty(CLASS_NAME_KEY)) ||
+            !Integer.toString(this.newInstanceCount).equals(state.getProperty(NEW_INSTANCE_COUNT_KEY)) ||
+            !Integer.toString(this.newInstanceHash).equals(state.getProperty(NEW_INSTANCE_HASH_KEY)) ||
+            state.getProperty(LAST_DB_ID_KEY) == null) {
+
+            logger.warn("Ignoring {}: it was written for {} {} with a different set of {} new instances",
+                getCheckpointFilePath(),
+                state.getProperty(DATABASE_NAME_KEY),
+                state.getProperty(CLASS_NAME_KEY),
+                state.getProperty(NEW_INSTANCE_COUNT_KEY)
+            );
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    public void save(long lastDbId, Properties reporterState) throws IOException {
+        Properties state = new Properties();
+        state.putAll(reporterState);
+        state.setProperty(DATABASE_NAME_KEY, this.databaseName);
+        state.setProperty(CLASS_NAME_KEY, this.className);
+        state.setProperty(NEW_INSTANCE_COUNT_KEY, Integer.toString(this.newInstanceCount));
+        state.setProperty(NEW_INSTANCE_HASH_KEY, Integer.toString(this.newInstanceHash));
+        state.setProperty(LAST_DB_ID_KEY, Long.toString(lastDbId));
+
+        Path tempFilePath = getCheckpointFilePath().resolveSibling(getCheckpointFilePath().getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempFilePath, StandardCharsets.UTF_8)) {
+            state.store(writer, null);
+        }
+        try {
+            Files.move(tempFilePath, getCheckpointFilePath(),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFilePath, getCheckpointFilePath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(getCheckpointFilePath());
+    }
+
+    public static long getLastDbId(Properties state) {
+        return Long.parseLong(state.getProperty(LAST_DB_ID_KEY));
+    }
+
+    public Path getCheckpointFilePath() {
+        return this.checkpointFilePath;
+    }
+}
@@ -0,0 +1,166 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide instrumentation: stage timings, named counters (SQL queries, rows fetched, instances loaded, cache hits
+ * and misses, ...) and peak heap usage, written out as JSON at the end of a run.
+ *
+ * Counters are named with dotted paths.  A pair of counters ending in ".hits" and ".misses" is also reported as a
+ * hit rate under "cacheHitRates".
+ */
+public class RunMetrics {
+    private static final Logger logger = LogManager.getLogger();
+    private static final RunMetrics INSTANCE = new RunMetrics();
+
+    private volatile Instant startTime = Instant.now();
+    private final Map<String, Long> stageToElapsedMillis = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private ScheduledExecutorService progressLogger;
+
+    private RunMetrics() {}
+
+    public static RunMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void increment(String counterName) {
+        add(counterName, 1);
+    }
+
+    public void add(String counterName, long amount) {
+        this.counters.computeIfAbsent(counterName, k -> new LongAdder()).add(amount);
+    }
+
+    public long getCount(String counterName) {
+        LongAdder counter = this.counters.get(counterName);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public void recordStage(String stageName, long elapsedMillis) {
+        this.stageToElapsedMillis.merge(stageName, elapsedMillis, Long::sum);
+    }
+
+    /**
+     * Starts the metrics over, for a process that runs several builds (the statistics server) to report each one on
+     * its own: clears the stage timings and counters, restarts the clock and resets the heap pools' peak usage.
+     */
+    public void reset() {
+        this.stageToElapsedMillis.clear();
+        this.counters.clear();
+        this.startTime = Instant.now();
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                memoryPool.resetPeakUsage();
+            }
+        }
+    }
+
+    public long getPeakHeapBytes() {
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP && memoryPool.getPeakUsage() != null) {
+                peakHeapBytes += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        return peakHeapBytes;
+    }
+
+    /**
+     * Logs the current counters every interval until {@link #stopProgressLogging()} is called.
+     */
+    public synchronized void startProgressLogging(long intervalSeconds) {
+        if (this.progressLogger != null || intervalSeconds <= 0) {
+            return;
+        }
+
+        this.progressLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.progressLogger.scheduleAtFixedRate(
+            () -> logger.info("Progress: {}, heap used {} MB",
+                new TreeMap<>(getCounterValues()),
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024)
+            ),
+            intervalSeconds, intervalSeconds, TimeUnit.SECONDS
+        );
+    }
+
+    public synchronized void stopProgressLogging() {
+        if (this.progressLogger != null) {
+            this.progressLogger.shutdownNow();
+            this.progressLogger = null;
+        }
+    }
+
+    public void writeJson(Path metricsFilePath) throws IOException {
+        Map<String, Long> counterValues = new TreeMap<>(getCounterValues());
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"startTime\": ").append(Utils.toJsonString(this.startTime.toString())).append(",\n");
+        json.append("  \"durationMillis\": ")
+            .append(System.currentTimeMillis() - this.startTime.toEpochMilli()).append(",\n");
+        json.append("  \"peakHeapBytes\": ").append(getPeakHeapBytes()).append(",\n");
+        json.append("  \"stages\": ");
+        appendObject(json, new TreeMap<>(this.stageToElapsedMillis));
+        json.append(",\n  \"counters\": ");
+        appendObject(json, counterValues);
+        json.append(",\n  \"cacheHitRates\": ");
+        appendObject(json, getCacheHitRates(counterValues));
+        json.append("\n}\n");
+
+        Files.write(metricsFilePath, json.toString().getBytes(StandardCharsets.UTF_8));
+        logger.info("Wrote run metrics to {}", metricsFilePath);
+    }
+
+    private Map<String, Long> getCounterValues() {
+        Map<String, Long> counterValues = new HashMap<>();
+        this.counters.forEach((counterName, counter) -> counterValues.put(counterName, counter.sum()));
+        return counterValues;
+    }
+
+    private Map<String, String> getCacheHitRates(Map<String, Long> counterValues) {
+        Map<String, String> cacheHitRates = new TreeMap<>();
+        for (Map.Entry<String, Long> counterEntry : counterValues.entrySet()) {
+            if (!counterEntry.getKey().endsWith(".hits")) {
+                continue;
+            }
+
+            String cacheName = counterEntry.getKey().substring(0, counterEntry.getKey().length() - ".hits".length());
+            long hits = counterEntry.getValue();
+            long lookups = hits + counterValues.getOrDefault(cacheName + ".misses", 0L);
+            cacheHitRates.put(cacheName,
+                lookups > 0 ? String.format(Locale.ROOT, "%.4f", (double) hits / lookups) : "0");
+        }
+        return cacheHitRates;
+    }
+
+    private static void appendObject(StringBuilder json, Map<String, ?> values) {
+        json.append('{');
+        String separator = "\n";
+        for (Map.Entry<String, ?> valueEntry : values.entrySet()) {
+            json.append(separator).append("    ").append(Utils.toJsonString(valueEntry.getKey())).append(": ")
+                .append(valueEntry.getValue());
+            separator = ",\n";
+        }
+        json.append(values.isEmpty() ? "}" : "\n  }");
+    }
+}
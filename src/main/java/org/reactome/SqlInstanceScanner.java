@@ -0,0 +1,223 @@
+package org.reactome;
+
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaClass;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Reads instance columns straight from the database tables, without building a GKInstance per row.
+ *
+ * Queries use a forward-only, read-only cursor with MySQL's row streaming fetch size, so rows are handed to the
+ * caller as they arrive instead of the whole result set being buffered.  While a scan is running, the adaptor's
+ * connection cannot be used for anything else.
+ */
+public class SqlInstanceScanner {
+    // Tells MySQL Connector/J to stream rows one at a time
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    // Candidate DB_IDs bound per filtered query
+    private static final int FILTER_BATCH_SIZE = 1000;
+
+    private SqlInstanceScanner() {}
+
+    public static void scanDbIds(MySQLAdaptor dba, String className, DbIdConsumer consumer) throws Exception {
+        List<String> classNames = getClassNamesInHierarchy(dba, className);
+        String query = "SELECT DB_ID, _class FROM DatabaseObject WHERE _class IN " + getPlaceholders(classNames) +
+            " ORDER BY DB_ID";
+
+        try (PreparedStatement statement = prepareStreamingStatement(dba, query, classNames);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                RunMetrics.getInstance().increment("sql.rowsFetched");
+                consumer.accept(resultSet.getLong(1), resultSet.getString(2));
+            }
+        }
+    }
+
+    /**
+     * Streams an InstanceRecord for each instance of the class whose DB_ID matches the filter.  The release date is
+     * only available for Events; it is left empty for any other class.
+     */
+    public static void scanRecords(MySQLAdaptor dba, String className, LongPredicate dbIdFilter,
+                                   Consumer<InstanceRecord> consumer) throws Exception {
+        List<String> classNames = getClassNamesInHierarchy(dba, className);
+        String query = getRecordQuery(classNames) + " ORDER BY dbo.DB_ID";
+
+        int releaseVersion = dba.getReleaseNumber();
+        try (PreparedStatement statement = prepareStreamingStatement(dba, query, classNames);
+             ResultSet resultSet = statement.executeQuery()) {
+            readRecords(resultSet, dbIdFilter, releaseVersion, consumer);
+        }
+    }
+
+    /**
+     * Streams, in ascending order of DB_ID, an InstanceRecord for each of the given DB_IDs that is an instance of the
+     * class.  The DB_IDs are part of the query, so no other instance is read.  The DB_IDs must be sorted.
+     */
+    public static void scanRecords(MySQLAdaptor dba, String className, long[] dbIds,
+                                   Consumer<InstanceRecord> consumer) throws Exception {
+        List<String> classNames = getClassNamesInHierarchy(dba, className);
+        int releaseVersion = dba.getReleaseNumber();
+
+        for (int start = 0; start < dbIds.length; start += FILTER_BATCH_SIZE) {
+            int end = Math.min(start + FILTER_BATCH_SIZE, dbIds.length);
+            List<Object> parameters = new ArrayList<>(classNames);
+            for (int i = start; i < end; i++) {
+                parameters.add(dbIds[i]);
+            }
+            String query = getRecordQuery(classNames) +
+                " AND dbo.DB_ID IN " + getPlaceholders(end - start) +
+                " ORDER BY dbo.DB_ID";
+
+            try (PreparedStatement statement = prepareStreamingStatement(dba, query, parameters);
+                 ResultSet resultSet = statement.executeQuery()) {
+                readRecords(resultSet, dbId -> true, releaseVersion, consumer);
+            }
+        }
+    }
+
+    /**
+     * Streams the DB_ID and releaseDate of each instance of the Event class (or subclass) that has a release date.
+     */
+    public static void scanReleaseDates(MySQLAdaptor dba, String className, ReleaseDateConsumer consumer)
+        throws Exception {
+        List<String> classNames = getClassNamesInHierarchy(dba, className);
+        String query = "SELECT ev.DB_ID, ev.releaseDate FROM Event ev" +
+            " JOIN DatabaseObject dbo ON dbo.DB_ID = ev.DB_ID" +
+            " WHERE dbo._class IN " + getPlaceholders(classNames) + " AND ev.releaseDate IS NOT NULL";
+
+        try (PreparedStatement statement = prepareStreamingStatement(dba, query, classNames);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                RunMetrics.getInstance().increment("sql.rowsFetched");
+                consumer.accept(resultSet.getLong(1), resultSet.getString(2));
+            }
+        }
+    }
+
+    /**
+     * Streams, in ascending order, the candidate DB_IDs whose instances pass the filter.  The predicates are part of
+     * the query, so instances that fail them are never read.  The candidates must be sorted.
+     */
+    public static void scanFilteredDbIds(MySQLAdaptor dba, InstanceFilter filter, long[] candidateDbIds,
+                                         LongConsumer consumer) throws Exception {
+        List<String> classNames = getClassNamesInHierarchy(dba, filter.getClassName());
+
+        for (int start = 0; start < candidateDbIds.length; start += FILTER_BATCH_SIZE) {
+            int end = Math.min(start + FILTER_BATCH_SIZE, candidateDbIds.length);
+            List<Object> parameters = new ArrayList<>(classNames);
+            StringBuilder query = new StringBuilder("SELECT dbo.DB_ID FROM DatabaseObject dbo");
+            if (filter.getCreatedAfter() != null) {
+                query.append(" JOIN InstanceEdit edit ON edit.DB_ID = dbo.created");
+            }
+            query.append(" WHERE dbo._class IN ").append(getPlaceholders(classNames));
+
+            query.append(" AND dbo.DB_ID IN ").append(getPlaceholders(end - start));
+            for (int i = start; i < end; i++) {
+                parameters.add(candidateDbIds[i]);
+            }
+            if (filter.isManuallyCuratedOnly()) {
+                query.append(" AND NOT EXISTS (SELECT 1 FROM Event_2_inferredFrom inferred" +
+                    " WHERE inferred.DB_ID = dbo.DB_ID)");
+            }
+            if (filter.getCreatedAfter() != null) {
+                // Created after the given day means created at or after the start of the next one
+                query.append(" AND edit.dateTime >= ?");
+                parameters.add(Timestamp.valueOf(filter.getCreatedAfter().plusDays(1).atStartOfDay()));
+            }
+            query.append(" ORDER BY dbo.DB_ID");
+
+            try (PreparedStatement statement = prepareStreamingStatement(dba, query.toString(), parameters);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    RunMetrics.getInstance().increment("sql.rowsFetched");
+                    consumer.accept(resultSet.getLong(1));
+                }
+            }
+        }
+    }
+
+    private static String getRecordQuery(List<String> classNames) {
+        return "SELECT dbo.DB_ID, dbo._displayName, edit.dateTime, author._displayName, ev.releaseDate" +
+            " FROM DatabaseObject dbo" +
+            " LEFT JOIN InstanceEdit edit ON edit.DB_ID = dbo.created" +
+            " LEFT JOIN InstanceEdit_2_author edit_author" +
+            "   ON edit_author.DB_ID = edit.DB_ID AND edit_author.author_rank = 0" +
+            " LEFT JOIN DatabaseObject author ON author.DB_ID = edit_author.author" +
+            " LEFT JOIN Event ev ON ev.DB_ID = dbo.DB_ID" +
+            " WHERE dbo._class IN " + getPlaceholders(classNames);
+    }
+
+    private static void readRecords(ResultSet resultSet, LongPredicate dbIdFilter, int releaseVersion,
+                                    Consumer<InstanceRecord> consumer) throws Exception {
+        while (resultSet.next()) {
+            RunMetrics.getInstance().increment("sql.rowsFetched");
+            long dbId = resultSet.getLong(1);
+            if (!dbIdFilter.test(dbId)) {
+                continue;
+            }
+
+            Timestamp createdDateTime = resultSet.getTimestamp(3);
+            // An edit row may lack its dateTime but still name its author, so the two are read independently
+            String createdAuthor = resultSet.getString(4);
+            String releaseDate = resultSet.getString(5);
+            consumer.accept(new InstanceRecord(
+                dbId,
+                resultSet.getString(2),
+                createdDateTime != null ? createdDateTime.toLocalDateTime().toLocalDate() : null,
+                createdAuthor != null ? createdAuthor : "Unknown Author",
+                releaseDate != null ? Utils.parseReleaseDate(releaseDate) : null,
+                releaseVersion
+            ));
+        }
+    }
+
+    static List<String> getClassNamesInHierarchy(MySQLAdaptor dba, String className) {
+        List<String> classNames = new ArrayList<>();
+        for (Object schemaClass : dba.getSchema().getClasses()) {
+            if (((SchemaClass) schemaClass).isa(className)) {
+                classNames.add(((SchemaClass) schemaClass).getName());
+            }
+        }
+        return classNames;
+    }
+
+    private static PreparedStatement prepareStreamingStatement(MySQLAdaptor dba, String query,
+                                                               List<?> parameters) throws Exception {
+        Connection connection = dba.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(STREAMING_FETCH_SIZE);
+        RunMetrics.getInstance().increment("sql.queries");
+
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    private static String getPlaceholders(List<?> values) {
+        return getPlaceholders(values.size());
+    }
+
+    private static String getPlaceholders(int count) {
+        return "(" + String.join(",", Collections.nCopies(count, "?")) + ")";
+    }
+
+    @FunctionalInterface
+    public interface DbIdConsumer {
+        void accept(long dbId, String className);
+    }
+
+    @FunctionalInterface
+    public interface ReleaseDateConsumer {
+        void accept(long dbId, String releaseDate);
+    }
+}
@@ -0,0 +1,51 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Records the wall-clock time of each named stage of a run.  Safe to use from concurrently running pipelines.
+ */
+public class StageTimer {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final Map<String, Long> stageToElapsedMillis = new ConcurrentSkipListMap<>();
+
+    public <T> T time(String stageName, Callable<T> stage) throws Exception {
+        long startTime = System.currentTimeMillis();
+        try {
+            return stage.call();
+        } finally {
+            long elapsedMillis = System.currentTimeMillis() - startTime;
+            this.stageToElapsedMillis.merge(stageName, elapsedMillis, Long::sum);
+            RunMetrics.getInstance().recordStage(stageName, elapsedMillis);
+            logger.info("Stage '{}' finished in {} ms", stageName, elapsedMillis);
+        }
+    }
+
+    public void time(String stageName, Stage stage) throws Exception {
+        time(stageName, () -> {
+            stage.run();
+            return null;
+        });
+    }
+
+    public Map<String, Long> getStageToElapsedMillis() {
+        return this.stageToElapsedMillis;
+    }
+
+    public void logSummary() {
+        for (Map.Entry<String, Long> stageEntry : this.stageToElapsedMillis.entrySet()) {
+            logger.info("{}\t{} ms", stageEntry.getKey(), stageEntry.getValue());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Stage {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,380 @@
+package org.reactome;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running HTTP service, bound to the loopback interface, that compares a current release with the previous
+ * one once and then answers queries from the resulting {@link ReleaseIndexes} without touching the databases:
+ *
+ * <pre>
+ *   GET  /status                                   databases, build state and new instance counts
+ *   GET  /tally?type=EWAS[&amp;curator=name][&amp;top=n]  new instances per curator for a report type
+ *   GET  /ewas?dbId=n                              RLEs and earliest release date of an EWAS
+ *   GET  /reports                                  names of the report files written for the release
+ *   GET  /reports/&lt;file name&gt;                       a report file
+ *   POST /releases?name=db                         registers a new current release database
+ * </pre>
+ *
+ * Registering a release marks the loaded indexes as stale and rebuilds them in the background, comparing the new
+ * database with the one it replaces.  Queries keep being answered from the stale indexes until the rebuild
+ * finishes and the new ones are swapped in; if the rebuild fails the stale ones stay in place.  Registering the
+ * database that is already current is refused with 409.  Each build starts the run metrics over and writes them out
+ * when it finishes.
+ */
+public class StatisticsServer {
+    private static final Logger logger = LogManager.getLogger();
+    private static final int REQUEST_THREADS = 4;
+
+    private final int port;
+    private final ReleaseIndexesBuilder releaseIndexesBuilder;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer httpServer;
+    private ExecutorService requestExecutor;
+
+    private volatile ReleaseIndexes releaseIndexes;
+    private volatile String lastBuildError;
+    // Guarded by this
+    private String latestCurrentDatabaseName;
+    private int pendingBuildCount;
+
+    public StatisticsServer(int port, ReleaseIndexesBuilder releaseIndexesBuilder) {
+        this.port = port;
+        this.releaseIndexesBuilder = releaseIndexesBuilder;
+    }
+
+    public void start(String currentDatabaseName, String previousDatabaseName) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port), 0);
+        this.httpServer.createContext("/status", exchange -> handle(exchange, "GET", this::getStatus));
+        this.httpServer.createContext("/tally", exchange -> handle(exchange, "GET", this::getTally));
+        this.httpServer.createContext("/ewas", exchange -> handle(exchange, "GET", this::getEWAS));
+        this.httpServer.createContext("/reports", exchange -> handle(exchange, "GET", this::getReport));
+        this.httpServer.createContext("/releases", exchange -> handle(exchange, "POST", this::registerRelease));
+        this.requestExecutor = Executors.newFixedThreadPool(REQUEST_THREADS);
+        this.httpServer.setExecutor(this.requestExecutor);
+        this.httpServer.start();
+        logger.info("Statistics server listening on {}", this.httpServer.getAddress());
+
+        synchronized (this) {
+            this.latestCurrentDatabaseName = currentDatabaseName;
+            submitBuild(currentDatabaseName, previousDatabaseName);
+        }
+    }
+
+    /**
+     * Makes the database the current release and rebuilds the indexes in the background against the release it
+     * replaces.  The database must differ from the latest registered one, as it would otherwise be compared with
+     * itself.
+     */
+    public synchronized void register(String currentDatabaseName) {
+        if (currentDatabaseName.equals(this.latestCurrentDatabaseName)) {
+            throw new IllegalArgumentException(currentDatabaseName + " is already the current release");
+        }
+
+        String previousDatabaseName = this.latestCurrentDatabaseName;
+        this.latestCurrentDatabaseName = currentDatabaseName;
+        submitBuild(currentDatabaseName, previousDatabaseName);
+    }
+
+    public void awaitStop() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    public void stop() {
+        if (this.httpServer != null) {
+            this.httpServer.stop(0);
+            this.requestExecutor.shutdown();
+        }
+        this.rebuildExecutor.shutdownNow();
+        this.stopped.countDown();
+    }
+
+    private void submitBuild(String currentDatabaseName, String previousDatabaseName) {
+        this.pendingBuildCount++;
+        logger.info("Queued index build for {} against {}", currentDatabaseName, previousDatabaseName);
+        this.rebuildExecutor.submit(() -> build(currentDatabaseName, previousDatabaseName));
+    }
+
+    private void build(String currentDatabaseName, String previousDatabaseName) {
+        try {
+            // A release registered while this build was queued supersedes it
+            synchronized (this) {
+                if (!currentDatabaseName.equals(this.latestCurrentDatabaseName)) {
+                    logger.info("Skipping superseded index build for {}", currentDatabaseName);
+                    return;
+                }
+            }
+
+            ReleaseIndexes builtIndexes =
+                this.releaseIndexesBuilder.build(currentDatabaseName, previousDatabaseName);
+            this.releaseIndexes = builtIndexes;
+            this.lastBuildError = null;
+            logger.info("Indexes for {} against {} ready after {} ms",
+                currentDatabaseName, previousDatabaseName, builtIndexes.getBuildMillis());
+        } catch (Exception e) {
+            this.lastBuildError = currentDatabaseName + ": " + e;
+            logger.error("Index build for {} against {} failed", currentDatabaseName, previousDatabaseName, e);
+        } finally {
+            synchronized (this) {
+                this.pendingBuildCount--;
+            }
+        }
+    }
+
+    private Response getStatus(HttpExchange exchange) {
+        StringBuilder json = new StringBuilder("{");
+        synchronized (this) {
+            json.append("\"latestCurrentDatabaseName\": ").append(Utils.toJsonString(this.latestCurrentDatabaseName))
+                .append(", \"pendingBuilds\": ").append(this.pendingBuildCount);
+        }
+        json.append(", \"stale\": ").append(isStale());
+        if (this.lastBuildError != null) {
+            json.append(", \"lastBuildError\": ").append(Utils.toJsonString(this.lastBuildError));
+        }
+
+        ReleaseIndexes indexes = this.releaseIndexes;
+        if (indexes != null) {
+            json.append(", \"currentDatabaseName\": ").append(Utils.toJsonString(indexes.getCurrentDatabaseName()))
+                .append(", \"previousDatabaseName\": ").append(Utils.toJsonString(indexes.getPreviousDatabaseName()))
+                .append(", \"releaseNumber\": ").append(indexes.getReleaseNumber())
+                .append(", \"buildMillis\": ").append(indexes.getBuildMillis())
+                .append(", \"newInstances\": {");
+            String separator = "";
+            for (Map.Entry<String, Integer> countEntry : indexes.getClassNameToNewInstanceCount().entrySet()) {
+                json.append(separator).append(Utils.toJsonString(countEntry.getKey())).append(": ")
+                    .append(countEntry.getValue());
+                separator = ", ";
+            }
+            json.append("}");
+        }
+        return Response.json(200, json.append("}").toString());
+    }
+
+    private Response getTally(HttpExchange exchange) {
+        ReleaseIndexes indexes = getReleaseIndexes();
+        Map<String, String> parameters = getQueryParameters(exchange);
+        String reportType = parameters.get("type");
+        Optional<CuratorTally> curatorTally =
+            reportType != null ? indexes.getCuratorTally(reportType) : Optional.empty();
+        if (!curatorTally.isPresent()) {
+            return Response.error(400, "type must be one of " + indexes.getReportTypes());
+        }
+
+        StringBuilder json = appendReleaseFields(new StringBuilder("{"), indexes)
+            .append(", \"type\": ").append(Utils.toJsonString(reportType));
+        String curatorName = parameters.get("curator");
+        if (curatorName != null) {
+            json.append(", \"curator\": ").append(Utils.toJsonString(curatorName))
+                .append(", \"count\": ").append(curatorTally.get().getCuratorCount(curatorName));
+        } else {
+            int top = Integer.parseInt(parameters.getOrDefault("top", Integer.toString(Integer.MAX_VALUE)));
+            if (top < 0) {
+                return Response.error(400, "top must not be negative");
+            }
+            json.append(", \"curators\": [");
+            String separator = "";
+            for (Map.Entry<String, Long> curatorCount : curatorTally.get().getTopCurators(top)) {
+                json.append(separator)
+                    .append("{\"curator\": ").append(Utils.toJsonString(curatorCount.getKey()))
+                    .append(", \"count\": ").append(curatorCount.getValue()).append("}");
+                separator = ", ";
+            }
+            json.append("]");
+        }
+        return Response.json(200, json.append("}").toString());
+    }
+
+    private Response getEWAS(HttpExchange exchange) {
+        ReleaseIndexes indexes = getReleaseIndexes();
+        String dbId = getQueryParameters(exchange).get("dbId");
+        if (dbId == null || !dbId.matches("\\d+")) {
+            return Response.error(400, "dbId must be a DB_ID");
+        }
+
+        long ewasDbId = Long.parseLong(dbId);
+        EWASReactionIndex ewasReactionIndex = indexes.getEWASReactionIndex();
+        StringBuilder json = appendReleaseFields(new StringBuilder("{"), indexes)
+            .append(", \"dbId\": ").append(ewasDbId)
+            .append(", \"reactionLikeEventDbIds\": ")
+            .append(Arrays.toString(ewasReactionIndex.getReactionDbIds(ewasDbId)));
+        if (ewasReactionIndex.hasEarliestReleaseDates()) {
+            LocalDate earliestReleaseDate = ewasReactionIndex.getEarliestReleaseDate(ewasDbId);
+            json.append(", \"earliestReleaseDate\": ")
+                .append(earliestReleaseDate != null ? Utils.toJsonString(earliestReleaseDate.toString()) : "null");
+        }
+        return Response.json(200, json.append("}").toString());
+    }
+
+    private Response getReport(HttpExchange exchange) {
+        ReleaseIndexes indexes = getReleaseIndexes();
+        String reportFileName = exchange.getRequestURI().getPath().replaceFirst("^/reports/?", "");
+        if (reportFileName.isEmpty()) {
+            StringJoiner reportFileNames = new StringJoiner(", ", "[", "]");
+            indexes.getReportFileNames().forEach(name -> reportFileNames.add(Utils.toJsonString(name)));
+            return Response.json(200, appendReleaseFields(new StringBuilder("{"), indexes)
+                .append(", \"reports\": ").append(reportFileNames).append("}").toString());
+        }
+
+        Optional<Path> reportFilePath = indexes.getReportFilePath(reportFileName);
+        if (!reportFilePath.isPresent()) {
+            return Response.error(404, "No report named " + reportFileName);
+        }
+        return Response.file(reportFilePath.get());
+    }
+
+    private Response registerRelease(HttpExchange exchange) {
+        String databaseName = getQueryParameters(exchange).get("name");
+        if (databaseName == null || databaseName.isEmpty()) {
+            return Response.error(400, "name must be a release database name");
+        }
+        try {
+            register(databaseName);
+        } catch (IllegalArgumentException e) {
+            return Response.error(409, e.getMessage());
+        }
+        return Response.json(202, "{\"registered\": " + Utils.toJsonString(databaseName) + "}");
+    }
+
+    private ReleaseIndexes getReleaseIndexes() {
+        ReleaseIndexes indexes = this.releaseIndexes;
+        if (indexes == null) {
+            throw new IndexesNotReadyException();
+        }
+        return indexes;
+    }
+
+    private StringBuilder appendReleaseFields(StringBuilder json, ReleaseIndexes indexes) {
+        return json.append("\"currentDatabaseName\": ").append(Utils.toJsonString(indexes.getCurrentDatabaseName()))
+            .append(", \"stale\": ").append(isStale());
+    }
+
+    private synchronized boolean isStale() {
+        return this.pendingBuildCount > 0;
+    }
+
+    private void handle(HttpExchange exchange, String method, RequestHandler requestHandler) throws IOException {
+        long startTime = System.nanoTime();
+        Response response;
+        try {
+            response = exchange.getRequestMethod().equals(method) ?
+                requestHandler.handle(exchange) :
+                Response.error(405, exchange.getRequestMethod() + " is not supported");
+        } catch (IndexesNotReadyException e) {
+            response = Response.error(503, "Indexes are still being built");
+        } catch (NumberFormatException e) {
+            response = Response.error(400, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to handle {}", exchange.getRequestURI(), e);
+            response = Response.error(500, e.toString());
+        }
+
+        try {
+            response.send(exchange);
+        } finally {
+            exchange.close();
+        }
+        RunMetrics.getInstance().increment("server.requests");
+        logger.debug("{} {} answered {} in {} us", exchange.getRequestMethod(), exchange.getRequestURI(),
+            response.getStatus(), (System.nanoTime() - startTime) / 1000);
+    }
+
+    private static Map<String, String> getQueryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+            if (separatorIndex > 0) {
+                parameters.put(
+                    URLDecoder.decode(parameter.substring(0, separatorIndex), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parameter.substring(separatorIndex + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Runs the comparison of a current release database with a previous one and keeps what queries need.
+     */
+    @FunctionalInterface
+    public interface ReleaseIndexesBuilder {
+        ReleaseIndexes build(String currentDatabaseName, String previousDatabaseName) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        Response handle(HttpExchange exchange) throws Exception;
+    }
+
+    private static class IndexesNotReadyException extends RuntimeException {
+    }
+
+    private static class Response {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        private final Path bodyFilePath;
+
+        private Response(int status, String contentType, byte[] body, Path bodyFilePath) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.bodyFilePath = bodyFilePath;
+        }
+
+        static Response json(int status, String json) {
+            return new Response(status, "application/json", json.getBytes(StandardCharsets.UTF_8), null);
+        }
+
+        static Response error(int status, String message) {
+            return json(status, "{\"error\": " + Utils.toJsonString(message) + "}");
+        }
+
+        static Response file(Path filePath) {
+            String fileName = filePath.getFileName().toString();
+            String contentType = fileName.endsWith(".txt") ? "text/tab-separated-values; charset=utf-8" :
+                fileName.endsWith(".gz") ? "application/gzip" :
+                "application/octet-stream";
+            return new Response(200, contentType, null, filePath);
+        }
+
+        int getStatus() {
+            return this.status;
+        }
+
+        void send(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", this.contentType);
+            if (this.bodyFilePath != null) {
+                exchange.sendResponseHeaders(this.status, Files.size(this.bodyFilePath));
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    Files.copy(this.bodyFilePath, responseBody);
+                }
+            } else {
+                exchange.sendResponseHeaders(this.status, this.body.length);
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    responseBody.write(this.body);
+                }
+            }
+        }
+    }
+}
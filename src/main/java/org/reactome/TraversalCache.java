@@ -0,0 +1,225 @@
+package org.reactome;
+
+import org.gk.model.GKInstance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache from instance DB_IDs to the sorted DB_IDs of the targets of a {@link TraversalPlan} reachable from them.
+ *
+ * Entries are computed bottom-up by a depth-first walk, so a Complex, EntitySet, CandidateSet, Polymer or
+ * CatalystActivity referenced by many reactions is expanded once and reused.  Cycles are handled by collapsing
+ * strongly connected components (Tarjan's algorithm): every member of a cycle reaches the same targets, so the members
+ * share one cached array.  An instance whose expansion equals that of its only contributing child shares the child's
+ * array rather than holding a copy.
+ *
+ * Entries are keyed by DB_ID rather than GKInstance, so one cache can be filled concurrently from instances loaded
+ * through different adaptors on the same database.  Two threads may occasionally expand the same instance at the same
+ * time; both compute the same value.
+ */
+class TraversalCache {
+    private static final long[] NO_TARGETS = new long[0];
+
+    private final TraversalPlan traversalPlan;
+    private final Map<Long, long[]> dbIdToTargetDbIds = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder cyclicComponents = new LongAdder();
+
+    TraversalCache(TraversalPlan traversalPlan) {
+        this.traversalPlan = traversalPlan;
+    }
+
+    long[] getTargetDbIds(GKInstance instance) throws Exception {
+        long[] cachedTargetDbIds = this.dbIdToTargetDbIds.get(instance.getDBID());
+        if (cachedTargetDbIds != null) {
+            this.hits.increment();
+            return cachedTargetDbIds;
+        }
+
+        new Expansion().visit(instance);
+        return this.dbIdToTargetDbIds.get(instance.getDBID());
+    }
+
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    long getCyclicComponentCount() {
+        return this.cyclicComponents.sum();
+    }
+
+    int size() {
+        return this.dbIdToTargetDbIds.size();
+    }
+
+    long getEstimatedSizeInBytes() {
+        Set<long[]> distinctArrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctArrays.addAll(this.dbIdToTargetDbIds.values());
+
+        long sizeInBytes = 0;
+        for (long[] targetDbIds : distinctArrays) {
+            sizeInBytes += Long.BYTES * (long) targetDbIds.length;
+        }
+        return sizeInBytes;
+    }
+
+    String getStatistics() {
+        long lookups = getHitCount() + getMissCount();
+        return String.format("%d entries (~%d KB), %d hits, %d misses (%.1f%% hit rate), %d cyclic components",
+            size(),
+            getEstimatedSizeInBytes() / 1024,
+            getHitCount(),
+            getMissCount(),
+            lookups > 0 ? 100.0 * getHitCount() / lookups : 0.0,
+            getCyclicComponentCount()
+        );
+    }
+
+    /**
+     * State of a single depth-first expansion: Tarjan discovery indexes, low links and the stack of instances whose
+     * strongly connected component is not yet complete, each with the targets gathered so far.
+     */
+    private class Expansion {
+        private final Map<Long, Integer> dbIdToIndex = new HashMap<>();
+        private final Map<Long, Integer> dbIdToLowLink = new HashMap<>();
+        private final Map<Long, PartialTargetDbIds> dbIdToPartialTargetDbIds = new HashMap<>();
+        private final Deque<Long> stack = new ArrayDeque<>();
+
+        private void visit(GKInstance instance) throws Exception {
+            Long dbId = instance.getDBID();
+            int index = this.dbIdToIndex.size();
+            this.dbIdToIndex.put(dbId, index);
+            this.dbIdToLowLink.put(dbId, index);
+            this.stack.push(dbId);
+            misses.increment();
+
+            TraversalPlan.ClassPlan classPlan = traversalPlan.getClassPlan(instance.getSchemClass());
+            PartialTargetDbIds partialTargetDbIds = new PartialTargetDbIds();
+            if (classPlan.isTarget()) {
+                partialTargetDbIds.add(dbId);
+            }
+            this.dbIdToPartialTargetDbIds.put(dbId, partialTargetDbIds);
+
+            for (String attributeName : classPlan.getAttributeNames()) {
+                for (Object value : instance.getAttributeValuesList(attributeName)) {
+                    if (value instanceof GKInstance) {
+                        visitChild(dbId, (GKInstance) value, partialTargetDbIds);
+                    }
+                }
+            }
+
+            if (this.dbIdToLowLink.get(dbId) == index) {
+                completeComponent(dbId);
+            }
+        }
+
+        private void visitChild(Long parentDbId, GKInstance child, PartialTargetDbIds parentPartialTargetDbIds)
+            throws Exception {
+            Long childDbId = child.getDBID();
+
+            long[] cachedTargetDbIds = dbIdToTargetDbIds.get(childDbId);
+            if (cachedTargetDbIds == null && !this.dbIdToIndex.containsKey(childDbId)) {
+                visit(child);
+                cachedTargetDbIds = dbIdToTargetDbIds.get(childDbId);
+                if (cachedTargetDbIds == null) {
+                    // The child is part of the same unfinished component as the parent
+                    lowerLowLink(parentDbId, this.dbIdToLowLink.get(childDbId));
+                    return;
+                }
+            } else if (cachedTargetDbIds == null) {
+                // Back edge to an instance still on the stack
+                lowerLowLink(parentDbId, this.dbIdToIndex.get(childDbId));
+                return;
+            } else {
+                hits.increment();
+            }
+            parentPartialTargetDbIds.addAll(cachedTargetDbIds);
+        }
+
+        private void lowerLowLink(Long dbId, int candidateLowLink) {
+            this.dbIdToLowLink.merge(dbId, candidateLowLink, Math::min);
+        }
+
+        private void completeComponent(Long rootDbId) {
+            List<Long> componentDbIds = new ArrayList<>();
+            PartialTargetDbIds componentTargetDbIds = new PartialTargetDbIds();
+            Long memberDbId;
+            do {
+                memberDbId = this.stack.pop();
+                componentDbIds.add(memberDbId);
+                componentTargetDbIds.addAll(this.dbIdToPartialTargetDbIds.remove(memberDbId));
+            } while (!memberDbId.equals(rootDbId));
+
+            if (componentDbIds.size() > 1) {
+                cyclicComponents.increment();
+            }
+
+            long[] targetDbIds = componentTargetDbIds.toSortedDistinctArray();
+            for (Long componentDbId : componentDbIds) {
+                dbIdToTargetDbIds.put(componentDbId, targetDbIds);
+            }
+        }
+    }
+
+    /**
+     * Growable buffer of target DB_IDs that remembers when its contents are exactly one cached array, so that array can
+     * be shared instead of copied.
+     */
+    private static class PartialTargetDbIds {
+        private long[] values = NO_TARGETS;
+        private int size;
+        private long[] onlySource;
+        private int sourceCount;
+
+        void add(long targetDbId) {
+            ensureCapacity(this.size + 1);
+            this.values[this.size++] = targetDbId;
+            this.sourceCount = 2;
+        }
+
+        void addAll(long[] targetDbIds) {
+            if (targetDbIds.length == 0) {
+                return;
+            }
+            if (this.sourceCount++ == 0) {
+                this.onlySource = targetDbIds;
+            }
+            ensureCapacity(this.size + targetDbIds.length);
+            System.arraycopy(targetDbIds, 0, this.values, this.size, targetDbIds.length);
+            this.size += targetDbIds.length;
+        }
+
+        void addAll(PartialTargetDbIds other) {
+            if (other.sourceCount == 1) {
+                addAll(other.onlySource);
+            } else if (other.size > 0) {
+                addAll(Arrays.copyOf(other.values, other.size));
+                this.sourceCount = 2;
+            }
+        }
+
+        long[] toSortedDistinctArray() {
+            if (this.size == 0) {
+                return NO_TARGETS;
+            }
+            if (this.sourceCount == 1) {
+                return this.onlySource;
+            }
+            return EWASReactionIndex.distinctSorted(Arrays.copyOf(this.values, this.size));
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.max(capacity, this.values.length * 2 + 16));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.gk.persistence.MySQLAdaptor;
+import org.gk.schema.SchemaClass;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Walks a {@link TraversalRule} from every root instance of a database and indexes, for each target reached, the
+ * roots it is reached from.  The roots are split into chunks traversed in parallel, each worker thread loading its
+ * chunks through its own adaptor and all of them sharing one {@link TraversalCache}.
+ */
+public class TraversalIndexer {
+    private static final Logger logger = LogManager.getLogger();
+    private static final int ROOT_CHUNK_SIZE = 500;
+
+    private final TraversalRule rule;
+    private final int parallelism;
+
+    public TraversalIndexer(TraversalRule rule, int parallelism) {
+        this.rule = rule;
+        this.parallelism = parallelism;
+    }
+
+    @SuppressWarnings("unchecked")
+    public EWASReactionIndex buildIndex(MySQLAdaptor dba) throws Exception {
+        DbIdSet rootDbIdSet = DbIdSet.fetch(dba, this.rule.getRootClassName());
+        long[] rootDbIds = new long[rootDbIdSet.size()];
+        for (int i = 0; i < rootDbIds.length; i++) {
+            rootDbIds[i] = rootDbIdSet.getDbId(i);
+        }
+
+        // Each worker thread loads its chunks of roots through its own adaptor
+        List<MySQLAdaptor> workerDbas = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<MySQLAdaptor> workerDba = ThreadLocal.withInitial(() -> {
+            MySQLAdaptor copiedDba = copyDba(dba);
+            workerDbas.add(copiedDba);
+            return copiedDba;
+        });
+
+        TraversalCache traversalCache = new TraversalCache(
+            TraversalPlan.compile(this.rule, (Collection<SchemaClass>) dba.getSchema().getClasses())
+        );
+        RunMetrics.getInstance().add("traversal." + this.rule.getName() + ".rootsTotal", rootDbIds.length);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(this.parallelism);
+        try {
+            EWASReactionIndex index = forkJoinPool.invoke(
+                new RootChunkTask(rootDbIds, 0, rootDbIds.length, workerDba, traversalCache)
+            ).build();
+            logger.info("Traversal cache for {} on {}: {}", this.rule, dba.getDBName(), traversalCache.getStatistics());
+            String metricPrefix = "traversalCache." + this.rule.getName();
+            RunMetrics.getInstance().add(metricPrefix + ".hits", traversalCache.getHitCount());
+            RunMetrics.getInstance().add(metricPrefix + ".misses", traversalCache.getMissCount());
+            return index;
+        } finally {
+            forkJoinPool.shutdown();
+            for (MySQLAdaptor copiedDba : workerDbas) {
+                copiedDba.cleanUp();
+            }
+        }
+    }
+
+    private static MySQLAdaptor copyDba(MySQLAdaptor dba) {
+        try {
+            return new MySQLAdaptor(dba.getDBHost(), dba.getDBName(), dba.getDBUser(), dba.getDBPwd(), dba.getDBPort());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Splits a range of root DB_IDs until it is small enough to traverse directly.  Each leaf builds a partial index
+     * that is only touched by its own thread, and partial indexes are merged as the tasks join.
+     */
+    private class RootChunkTask extends RecursiveTask<EWASReactionIndex.Builder> {
+        private final long[] rootDbIds;
+        private final int start;
+        private final int end;
+        private final ThreadLocal<MySQLAdaptor> workerDba;
+        private final TraversalCache traversalCache;
+
+        RootChunkTask(long[] rootDbIds, int start, int end,
+                      ThreadLocal<MySQLAdaptor> workerDba, TraversalCache traversalCache) {
+            this.rootDbIds = rootDbIds;
+            this.start = start;
+            this.end = end;
+            this.workerDba = workerDba;
+            this.traversalCache = traversalCache;
+        }
+
+        @Override
+        protected EWASReactionIndex.Builder compute() {
+            if (this.end - this.start <= ROOT_CHUNK_SIZE) {
+                try {
+                    return traverseChunk();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            int middle = (this.start + this.end) >>> 1;
+            RootChunkTask left = new RootChunkTask(
+                this.rootDbIds, this.start, middle, this.workerDba, this.traversalCache
+            );
+            RootChunkTask right = new RootChunkTask(
+                this.rootDbIds, middle, this.end, this.workerDba, this.traversalCache
+            );
+            left.fork();
+            EWASReactionIndex.Builder rightBuilder = right.compute();
+            return left.join().addAll(rightBuilder);
+        }
+
+        private EWASReactionIndex.Builder traverseChunk() throws Exception {
+            List<GKInstance> roots = Utils.fetchInstances(
+                this.workerDba.get(),
+                rule.getRootClassName(),
+                Arrays.copyOfRange(this.rootDbIds, this.start, this.end)
+            );
+
+            EWASReactionIndex.Builder indexBuilder = EWASReactionIndex.builder();
+            for (GKInstance root : roots) {
+                for (long targetDbId : this.traversalCache.getTargetDbIds(root)) {
+                    indexBuilder.add(targetDbId, root.getDBID());
+                }
+            }
+            RunMetrics.getInstance().add("traversal." + rule.getName() + ".rootsTraversed", roots.size());
+            return indexBuilder;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.reactome;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.schema.SchemaClass;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link TraversalRule} compiled into one {@link ClassPlan} per schema class: the attributes to follow from
+ * instances of the class, with the rule's entries for all its superclasses merged in and attributes the class does
+ * not have dropped, and whether its instances are targets of the rule.
+ *
+ * Plans are compiled up front for the classes of a schema and looked up by the SchemaClass object itself, so a walk
+ * does no class name matching per instance.  A class missing from the schema given at compile time (such as the
+ * synthetic classes used by the benchmarks) is compiled the first time it is seen.
+ */
+public class TraversalPlan {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final TraversalRule rule;
+    private final Map<SchemaClass, ClassPlan> schemaClassToPlan = new ConcurrentHashMap<>();
+
+    private TraversalPlan(TraversalRule rule) {
+        this.rule = rule;
+    }
+
+    public static TraversalPlan compile(TraversalRule rule) {
+        return new TraversalPlan(rule);
+    }
+
+    public static TraversalPlan compile(TraversalRule rule, Collection<SchemaClass> schemaClasses) {
+        TraversalPlan traversalPlan = new TraversalPlan(rule);
+        for (SchemaClass schemaClass : schemaClasses) {
+            traversalPlan.getClassPlan(schemaClass);
+        }
+        traversalPlan.logUnusedEntries(schemaClasses);
+        return traversalPlan;
+    }
+
+    public TraversalRule getRule() {
+        return this.rule;
+    }
+
+    ClassPlan getClassPlan(SchemaClass schemaClass) {
+        return this.schemaClassToPlan.computeIfAbsent(schemaClass, this::compileClass);
+    }
+
+    private ClassPlan compileClass(SchemaClass schemaClass) {
+        Set<String> attributeNames = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> classEntry : this.rule.getClassNameToAttributes().entrySet()) {
+            if (!schemaClass.isa(classEntry.getKey())) {
+                continue;
+            }
+            for (String attributeName : classEntry.getValue()) {
+                if (schemaClass.isValidAttribute(attributeName)) {
+                    attributeNames.add(attributeName);
+                }
+            }
+        }
+        return new ClassPlan(attributeNames.toArray(new String[0]), schemaClass.isa(this.rule.getTargetClassName()));
+    }
+
+    // Rules are shared across schema versions, so entries a schema does not have are only worth a warning
+    private void logUnusedEntries(Collection<SchemaClass> schemaClasses) {
+        for (Map.Entry<String, List<String>> classEntry : this.rule.getClassNameToAttributes().entrySet()) {
+            for (String attributeName : classEntry.getValue()) {
+                boolean used = schemaClasses.stream().anyMatch(schemaClass ->
+                    schemaClass.isa(classEntry.getKey()) && schemaClass.isValidAttribute(attributeName)
+                );
+                if (!used) {
+                    logger.warn("Traversal rule {}: no schema class is a {} with attribute {}",
+                        this.rule.getName(), classEntry.getKey(), attributeName);
+                }
+            }
+        }
+    }
+
+    static class ClassPlan {
+        private final String[] attributeNames;
+        private final boolean target;
+
+        ClassPlan(String[] attributeNames, boolean target) {
+            this.attributeNames = attributeNames;
+            this.target = target;
+        }
+
+        String[] getAttributeNames() {
+            return this.attributeNames;
+        }
+
+        boolean isTarget() {
+            return this.target;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.reactome;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * A named walk through the instance graph: starting from the instances of a root class, the listed attributes of
+ * each schema class (and its subclasses) are followed to collect the instances of a target class.
+ *
+ * Rules are read from a properties file; the defaults are in the traversal-rules.properties resource, which also
+ * describes the format.
+ */
+public class TraversalRule {
+    public static final String RLE_TO_EWAS = "rleToEWAS";
+
+    private static final String DEFAULT_RULES_RESOURCE = "/traversal-rules.properties";
+    private static final String ROOT_SUFFIX = ".root";
+    private static final String TARGET_SUFFIX = ".target";
+    private static final String FOLLOW_INFIX = ".follow.";
+
+    private final String name;
+    private final String rootClassName;
+    private final String targetClassName;
+    private final Map<String, List<String>> classNameToAttributes;
+
+    public TraversalRule(String name, String rootClassName, String targetClassName,
+                         Map<String, List<String>> classNameToAttributes) {
+        this.name = name;
+        this.rootClassName = rootClassName;
+        this.targetClassName = targetClassName;
+        this.classNameToAttributes = Collections.unmodifiableMap(new LinkedHashMap<>(classNameToAttributes));
+    }
+
+    public static Map<String, TraversalRule> loadDefaults() throws IOException {
+        try (InputStream inputStream = TraversalRule.class.getResourceAsStream(DEFAULT_RULES_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Missing resource " + DEFAULT_RULES_RESOURCE);
+            }
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return parse(properties);
+        }
+    }
+
+    public static Map<String, TraversalRule> load(Path rulesFilePath) throws IOException {
+        try (Reader reader = Files.newBufferedReader(rulesFilePath, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return parse(properties);
+        }
+    }
+
+    static Map<String, TraversalRule> parse(Properties properties) {
+        Map<String, String> ruleNameToRootClassName = new TreeMap<>();
+        Map<String, String> ruleNameToTargetClassName = new TreeMap<>();
+        Map<String, Map<String, List<String>>> ruleNameToFollowedAttributes = new TreeMap<>();
+
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            String value = properties.getProperty(key).trim();
+            if (key.endsWith(ROOT_SUFFIX)) {
+                ruleNameToRootClassName.put(key.substring(0, key.length() - ROOT_SUFFIX.length()), value);
+            } else if (key.endsWith(TARGET_SUFFIX)) {
+                ruleNameToTargetClassName.put(key.substring(0, key.length() - TARGET_SUFFIX.length()), value);
+            } else if (key.contains(FOLLOW_INFIX)) {
+                int followIndex = key.indexOf(FOLLOW_INFIX);
+                List<String> attributeNames = new ArrayList<>();
+                for (String attributeName : value.split(",")) {
+                    if (!attributeName.trim().isEmpty()) {
+                        attributeNames.add(attributeName.trim());
+                    }
+                }
+                ruleNameToFollowedAttributes
+                    .computeIfAbsent(key.substring(0, followIndex), k -> new TreeMap<>())
+                    .put(key.substring(followIndex + FOLLOW_INFIX.length()), attributeNames);
+            } else {
+                throw new IllegalArgumentException("Unrecognised traversal rule property " + key);
+            }
+        }
+
+        Set<String> ruleNames = new TreeSet<>(ruleNameToRootClassName.keySet());
+        ruleNames.addAll(ruleNameToTargetClassName.keySet());
+        ruleNames.addAll(ruleNameToFollowedAttributes.keySet());
+
+        Map<String, TraversalRule> ruleNameToRule = new LinkedHashMap<>();
+        for (String ruleName : ruleNames) {
+            if (!ruleNameToRootClassName.containsKey(ruleName) || !ruleNameToTargetClassName.containsKey(ruleName)) {
+                throw new IllegalArgumentException("Traversal rule " + ruleName + " needs both a root and a target");
+            }
+            ruleNameToRule.put(ruleName, new TraversalRule(
+                ruleName,
+                ruleNameToRootClassName.get(ruleName),
+                ruleNameToTargetClassName.get(ruleName),
+                ruleNameToFollowedAttributes.getOrDefault(ruleName, Collections.emptyMap())
+            ));
+        }
+        return ruleNameToRule;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getRootClassName() {
+        return this.rootClassName;
+    }
+
+    public String getTargetClassName() {
+        return this.targetClassName;
+    }
+
+    public Map<String, List<String>> getClassNameToAttributes() {
+        return this.classNameToAttributes;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + getRootClassName() + " to " + getTargetClassName() + ")";
+    }
+}
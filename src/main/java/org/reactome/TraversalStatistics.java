@@ -0,0 +1,64 @@
+package org.reactome;
+
+import java.util.Arrays;
+
+/**
+ * Per-root counts of a traversal rule's index: how many targets each root reaches and how many of those are new,
+ * i.e. not in the previous release.  Only roots that reach at least one target are included, in DB_ID order.
+ */
+public class TraversalStatistics {
+    private final TraversalRule rule;
+    private final long[] rootDbIds;
+    private final int[] reachedTargetCounts;
+    private final int[] newTargetCounts;
+
+    private TraversalStatistics(TraversalRule rule, long[] rootDbIds, int[] reachedTargetCounts,
+                                int[] newTargetCounts) {
+        this.rule = rule;
+        this.rootDbIds = rootDbIds;
+        this.reachedTargetCounts = reachedTargetCounts;
+        this.newTargetCounts = newTargetCounts;
+    }
+
+    public static TraversalStatistics compute(TraversalRule rule, EWASReactionIndex targetToRoots,
+                                              DbIdSet previousTargetDbIds) {
+        long[] rootDbIds = EWASReactionIndex.distinctSorted(targetToRoots.getReactionDbIds().clone());
+        int[] reachedTargetCounts = new int[rootDbIds.length];
+        int[] newTargetCounts = new int[rootDbIds.length];
+
+        long[] targetDbIds = targetToRoots.getEWASDbIds();
+        int[] offsets = targetToRoots.getOffsets();
+        long[] linkedRootDbIds = targetToRoots.getReactionDbIds();
+        for (int targetIndex = 0; targetIndex < targetDbIds.length; targetIndex++) {
+            boolean newTarget = !previousTargetDbIds.contains(targetDbIds[targetIndex]);
+            for (int link = offsets[targetIndex]; link < offsets[targetIndex + 1]; link++) {
+                int rootIndex = Arrays.binarySearch(rootDbIds, linkedRootDbIds[link]);
+                reachedTargetCounts[rootIndex]++;
+                if (newTarget) {
+                    newTargetCounts[rootIndex]++;
+                }
+            }
+        }
+        return new TraversalStatistics(rule, rootDbIds, reachedTargetCounts, newTargetCounts);
+    }
+
+    public TraversalRule getRule() {
+        return this.rule;
+    }
+
+    public int getRootCount() {
+        return this.rootDbIds.length;
+    }
+
+    public long getRootDbId(int index) {
+        return this.rootDbIds[index];
+    }
+
+    public int getReachedTargetCount(int index) {
+        return this.reachedTargetCounts[index];
+    }
+
+    public int getNewTargetCount(int index) {
+        return this.newTargetCounts[index];
+    }
+}
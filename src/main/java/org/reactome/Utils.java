@@ -3,43 +3,48 @@ package org.reactome;
 import org.gk.model.GKInstance;
 import org.gk.model.ReactomeJavaConstants;
 import org.gk.persistence.MySQLAdaptor;
+import org.reactome.reporters.ReportColumn;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Joel Weiser (joel.weiser@oicr.on.ca)
  * Created 1/13/2025
  */
 public class Utils {
+    public static final DateTimeFormatter CREATED_DATE_TIME_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.S");
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    public static final String NOT_AVAILABLE = "N/A";
 
-    public static void outputInstanceReportHeader(Path reportFilePath) throws IOException {
-        String header = String.join("\t",
-            "DB_ID",
-            "Display Name",
-            "Created date",
-            "Created author",
-            "Release date",
-            "Release version",
-            "Days between creation and release"
-        ).concat(System.lineSeparator());
-        Files.write(reportFilePath, header.getBytes(), StandardOpenOption.CREATE);
-    }
+    public static final List<ReportColumn> INSTANCE_REPORT_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+        new ReportColumn("DB_ID", ReportColumn.Type.LONG),
+        new ReportColumn("Display Name", ReportColumn.Type.STRING),
+        new ReportColumn("Created date", ReportColumn.Type.DATE),
+        new ReportColumn("Created author", ReportColumn.Type.STRING),
+        new ReportColumn("Release date", ReportColumn.Type.DATE),
+        new ReportColumn("Release version", ReportColumn.Type.INT),
+        new ReportColumn("Days between creation and release", ReportColumn.Type.LONG)
+    ));
 
     public static LocalDate getCreatedDate(GKInstance instance) throws Exception {
         String date = getCreatedDateAsString(instance);
-        if (date.isEmpty()) {
+        return parseCreatedDate(date);
+    }
+
+    public static LocalDate parseCreatedDate(String createdDateTime) {
+        if (createdDateTime == null || createdDateTime.isEmpty()) {
             return null;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.S");
-        return LocalDateTime.parse(date, formatter).toLocalDate();
+        return LocalDateTime.parse(createdDateTime, CREATED_DATE_TIME_FORMATTER).toLocalDate();
+    }
+
+    public static LocalDate parseReleaseDate(String releaseDate) {
+        return LocalDate.parse(releaseDate, DATE_FORMATTER);
     }
 
     public static String getCreatedAuthor(GKInstance instance) throws Exception {
@@ -59,18 +64,31 @@ public class Utils {
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-        return LocalDate.parse(date, formatter);
+        return parseReleaseDate(date);
     }
 
-    public static boolean allDatesAreEqual(List<LocalDate> dates) {
-        if (dates == null || dates.isEmpty()) {
-            return true;
-        }
+    public static List<GKInstance> fetchInstances(MySQLAdaptor dba, String className, long[] dbIds)
+        throws Exception {
+        final int batchSize = 1000;
 
-        LocalDate firstDate = dates.get(0);
-        return dates.stream().allMatch(date -> date.equals(firstDate));
+        List<GKInstance> instances = new ArrayList<>(dbIds.length);
+        for (int start = 0; start < dbIds.length; start += batchSize) {
+            List<Long> batchDbIds = new ArrayList<>();
+            for (int i = start; i < Math.min(start + batchSize, dbIds.length); i++) {
+                batchDbIds.add(dbIds[i]);
+            }
+
+            @SuppressWarnings("unchecked")
+            Collection<GKInstance> batch =
+                dba.fetchInstanceByAttribute(className, ReactomeJavaConstants.DB_ID, "=", batchDbIds);
+            instances.addAll(batch);
+
+            RunMetrics.getInstance().increment("sql.queries");
+            RunMetrics.getInstance().add("instances.fetched", batch.size());
+        }
+        instances.sort(Comparator.comparing(GKInstance::getDBID));
+        return instances;
     }
 
     public static Integer getReleaseVersion(GKInstance instance) throws Exception {
@@ -84,4 +102,25 @@ public class Utils {
         }
         return (String) createdInstance.getAttributeValue(ReactomeJavaConstants.dateTime);
     }
+
+    public static String toJsonString(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        quoted.append(character);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
 }
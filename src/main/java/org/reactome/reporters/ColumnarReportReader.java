@@ -0,0 +1,147 @@
+package org.reactome.reporters;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a report written in the {@link OutputFormat#COLUMNAR} format one block at a time.
+ */
+public class ColumnarReportReader implements Closeable {
+    private final DataInputStream input;
+    private final List<ReportColumn> columns;
+    private boolean finished;
+
+    private ColumnarReportReader(DataInputStream input, List<ReportColumn> columns) {
+        this.input = input;
+        this.columns = columns;
+    }
+
+    public static ColumnarReportReader open(Path reportFilePath) throws IOException {
+        DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(reportFilePath), 64 * 1024)
+        );
+        try {
+            if (input.readInt() != ColumnarRowEncoder.MAGIC) {
+                throw new IOException(reportFilePath + " is not a columnar report");
+            }
+            short version = input.readShort();
+            if (version != ColumnarRowEncoder.VERSION) {
+                throw new IOException(reportFilePath + " has unsupported columnar report version " + version);
+            }
+
+            int columnCount = input.readShort();
+            List<ReportColumn> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                String name = input.readUTF();
+                columns.add(new ReportColumn(name, ReportColumn.Type.fromCode(input.readByte())));
+            }
+            return new ColumnarReportReader(input, Collections.unmodifiableList(columns));
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    public List<ReportColumn> getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Returns the rows of the next block as typed values (Long, Integer, LocalDate or String, null when not
+     * available), or an empty list once the end of the report is reached.
+     */
+    public List<Object[]> readBlock() throws IOException {
+        if (this.finished) {
+            return Collections.emptyList();
+        }
+
+        int rowCount = this.input.readInt();
+        if (rowCount == 0) {
+            this.finished = true;
+            return Collections.emptyList();
+        }
+
+        ByteBuffer block = ByteBuffer.wrap(readBlockBytes());
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(new Object[this.columns.size()]);
+        }
+        for (int i = 0; i < this.columns.size(); i++) {
+            readColumn(block, i, this.columns.get(i).getType(), rows);
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    private byte[] readBlockBytes() throws IOException {
+        byte[] blockBytes = new byte[this.input.readInt()];
+        byte[] compressedBytes = new byte[this.input.readInt()];
+        this.input.readFully(compressedBytes);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressedBytes);
+            int length = 0;
+            while (length < blockBytes.length && !inflater.finished()) {
+                length += inflater.inflate(blockBytes, length, blockBytes.length - length);
+            }
+            if (length != blockBytes.length) {
+                throw new IOException("Block is " + length + " bytes, expected " + blockBytes.length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block", e);
+        } finally {
+            inflater.end();
+        }
+        return blockBytes;
+    }
+
+    private static void readColumn(ByteBuffer block, int columnIndex, ReportColumn.Type type, List<Object[]> rows) {
+        if (type == ReportColumn.Type.LONG) {
+            for (Object[] row : rows) {
+                long value = block.getLong();
+                row[columnIndex] = value == Long.MIN_VALUE ? null : value;
+            }
+            return;
+        }
+
+        int[] values = new int[rows.size()];
+        for (int row = 0; row < values.length; row++) {
+            values[row] = block.getInt();
+        }
+        for (int row = 0; row < values.length; row++) {
+            if (type == ReportColumn.Type.STRING) {
+                rows.get(row)[columnIndex] = readString(block, values[row]);
+            } else if (values[row] == Integer.MIN_VALUE) {
+                rows.get(row)[columnIndex] = null;
+            } else {
+                rows.get(row)[columnIndex] = type == ReportColumn.Type.DATE ?
+                    LocalDate.ofEpochDay(values[row]) :
+                    (Object) values[row];
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer block, int byteLength) {
+        if (byteLength < 0) {
+            return null;
+        }
+        String value = new String(block.array(), block.position(), byteLength, StandardCharsets.UTF_8);
+        block.position(block.position() + byteLength);
+        return value;
+    }
+}
@@ -0,0 +1,202 @@
+package org.reactome.reporters;
+
+import org.reactome.Utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Typed, column-major binary rows.
+ *
+ * Layout (big-endian): magic "RCOL", short version, short column count, then each column's name (modified UTF-8,
+ * as DataOutput.writeUTF) and type code.  Rows follow in blocks of up to {@link #BLOCK_ROW_COUNT}: an int row count,
+ * the int lengths of the block's data before and after deflate compression and the compressed data.  The data holds,
+ * column by column, the block's values -- 8-byte longs (LONG), 4-byte ints (INT, and DATE as epoch days) or, for
+ * STRING, an int UTF-8 byte length per row followed by the bytes of all rows.  Missing values are Long.MIN_VALUE,
+ * Integer.MIN_VALUE or a length of -1.  A block with a row count of 0 ends the file.
+ *
+ * Every block is self-contained, so a reader can skip a block by its compressed length and a checkpointed file can
+ * be truncated to a block boundary and appended to.
+ */
+class ColumnarRowEncoder implements RowEncoder {
+    static final int MAGIC = 0x52434F4C;
+    static final short VERSION = 1;
+    static final int BLOCK_ROW_COUNT = 8192;
+
+    private final DataOutputStream output;
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream blockOutput = new DataOutputStream(this.blockBytes);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] compressedBytes = new byte[64 * 1024];
+    private final List<ReportColumn> columns;
+    private final long[][] longColumns;
+    private final int[][] intColumns;
+    private final ByteArrayOutputStream[] stringColumns;
+    private int blockRowCount;
+
+    ColumnarRowEncoder(OutputStream outputStream, List<ReportColumn> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("The columnar format needs the report's columns");
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+        this.columns = columns;
+        this.longColumns = new long[columns.size()][];
+        this.intColumns = new int[columns.size()][];
+        this.stringColumns = new ByteArrayOutputStream[columns.size()];
+
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).getType()) {
+                case LONG:
+                    this.longColumns[i] = new long[BLOCK_ROW_COUNT];
+                    break;
+                case STRING:
+                    this.intColumns[i] = new int[BLOCK_ROW_COUNT];
+                    this.stringColumns[i] = new ByteArrayOutputStream();
+                    break;
+                default:
+                    this.intColumns[i] = new int[BLOCK_ROW_COUNT];
+            }
+        }
+    }
+
+    @Override
+    public void writeHeader(List<ReportColumn> columns) throws IOException {
+        this.output.writeInt(MAGIC);
+        this.output.writeShort(VERSION);
+        this.output.writeShort(columns.size());
+        for (ReportColumn column : columns) {
+            this.output.writeUTF(column.getName());
+            this.output.writeByte(column.getType().getCode());
+        }
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (values.length != this.columns.size()) {
+            throw new IllegalArgumentException(
+                "Row has " + values.length + " values for " + this.columns.size() + " columns"
+            );
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            // "N/A" only stands for a missing value in typed columns fed from formatted rows; in a STRING column it is
+            // a value like any other
+            Object value = values[i];
+            switch (this.columns.get(i).getType()) {
+                case LONG:
+                    this.longColumns[i][this.blockRowCount] = isNotAvailable(value) ? Long.MIN_VALUE : toLong(value);
+                    break;
+                case INT:
+                    this.intColumns[i][this.blockRowCount] =
+                        isNotAvailable(value) ? Integer.MIN_VALUE : (int) toLong(value);
+                    break;
+                case DATE:
+                    this.intColumns[i][this.blockRowCount] =
+                        isNotAvailable(value) ? Integer.MIN_VALUE : toEpochDay(value);
+                    break;
+                default:
+                    if (value == null) {
+                        this.intColumns[i][this.blockRowCount] = -1;
+                    } else {
+                        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                        this.intColumns[i][this.blockRowCount] = bytes.length;
+                        this.stringColumns[i].write(bytes);
+                    }
+            }
+        }
+
+        if (++this.blockRowCount == BLOCK_ROW_COUNT) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        this.output.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeBlock();
+        this.output.writeInt(0);
+        this.output.flush();
+        this.deflater.end();
+    }
+
+    // Deflater memory is native, so it is released here rather than left to garbage collection
+    @Override
+    public void abort() {
+        this.deflater.end();
+    }
+
+    private void writeBlock() throws IOException {
+        if (this.blockRowCount == 0) {
+            return;
+        }
+
+        this.blockBytes.reset();
+        for (int i = 0; i < this.columns.size(); i++) {
+            if (this.longColumns[i] != null) {
+                for (int row = 0; row < this.blockRowCount; row++) {
+                    this.blockOutput.writeLong(this.longColumns[i][row]);
+                }
+            } else {
+                for (int row = 0; row < this.blockRowCount; row++) {
+                    this.blockOutput.writeInt(this.intColumns[i][row]);
+                }
+                if (this.stringColumns[i] != null) {
+                    this.stringColumns[i].writeTo(this.blockOutput);
+                    this.stringColumns[i].reset();
+                }
+            }
+        }
+        int compressedLength = compressBlock();
+
+        this.output.writeInt(this.blockRowCount);
+        this.output.writeInt(this.blockBytes.size());
+        this.output.writeInt(compressedLength);
+        this.output.write(this.compressedBytes, 0, compressedLength);
+        this.blockRowCount = 0;
+    }
+
+    private int compressBlock() {
+        this.deflater.reset();
+        this.deflater.setInput(this.blockBytes.toByteArray());
+        this.deflater.finish();
+
+        int compressedLength = 0;
+        while (!this.deflater.finished()) {
+            if (compressedLength == this.compressedBytes.length) {
+                this.compressedBytes = Arrays.copyOf(this.compressedBytes, this.compressedBytes.length * 2);
+            }
+            compressedLength += this.deflater.deflate(
+                this.compressedBytes, compressedLength, this.compressedBytes.length - compressedLength
+            );
+        }
+        return compressedLength;
+    }
+
+    private static boolean isNotAvailable(Object value) {
+        return value == null || Utils.NOT_AVAILABLE.equals(value);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+    }
+
+    private static int toEpochDay(Object value) {
+        LocalDate date = value instanceof LocalDate ?
+            (LocalDate) value :
+            LocalDate.parse(value.toString(), Utils.DATE_FORMATTER);
+        return (int) date.toEpochDay();
+    }
+}
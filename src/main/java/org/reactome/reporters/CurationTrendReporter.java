@@ -0,0 +1,215 @@
+package org.reactome.reporters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.ReactomeJavaConstants;
+import org.gk.persistence.MySQLAdaptor;
+import org.reactome.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reports per-release, per-class and per-curator counts of new instances, with their creation to release latency,
+ * across an ordered list of release databases.
+ *
+ * Each release's DB_ID sets are loaded once (from its snapshot when one exists) and reused as the "previous" side of
+ * the next release's diff, so only two releases' DB_IDs are held at a time.
+ */
+public class CurationTrendReporter {
+    private static final Logger logger = LogManager.getLogger();
+    private static final List<String> CLASS_NAMES = Arrays.asList(
+        ReactomeJavaConstants.ReactionlikeEvent,
+        ReactomeJavaConstants.EntityWithAccessionedSequence
+    );
+
+    private Path outputFilePath;
+    private Path snapshotDirectory;
+
+    public CurationTrendReporter(Path outputFilePath, Path snapshotDirectory) {
+        this.outputFilePath = outputFilePath;
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    public void report(List<String> databaseNames, Function<String, MySQLAdaptor> dbaFactory) throws Exception {
+        try (ReportWriter reportWriter = ReportWriter.open(getOutputFilePath())) {
+            outputTrendHeader(reportWriter);
+
+            Map<String, DbIdSet> previousClassNameToDbIds = null;
+            for (String databaseName : databaseNames) {
+                Release release = new Release(databaseName, dbaFactory);
+
+                Map<String, DbIdSet> classNameToDbIds = new HashMap<>();
+                for (String className : CLASS_NAMES) {
+                    DbIdSet dbIds = release.getDbIds(className);
+                    classNameToDbIds.put(className, dbIds);
+
+                    if (previousClassNameToDbIds != null) {
+                        reportRelease(reportWriter, release, className,
+                            InstanceDiff.between(previousClassNameToDbIds.get(className), dbIds));
+                    }
+                }
+
+                release.close();
+                previousClassNameToDbIds = classNameToDbIds;
+            }
+            reportWriter.commit();
+        }
+    }
+
+    private void reportRelease(ReportWriter reportWriter, Release release, String className,
+                               InstanceDiff instanceDiff) throws Exception {
+        Map<String, CuratorLatencies> curatorToLatencies = new TreeMap<>();
+        // RLE records carry their own release date; EWAS release dates come from the RLEs referencing them.  The
+        // index is built before the scan, as the scan's streaming result set holds the connection until it is done.
+        EWASReactionIndex ewasReactionIndex = className.equals(ReactomeJavaConstants.ReactionlikeEvent) ?
+            null :
+            release.getEWASReactionIndexWithReleaseDates();
+        int[] releaseNumber = new int[1];
+
+        SqlInstanceScanner.scanRecords(release.getDba(), className, instanceDiff::isAdded, record -> {
+            LocalDate releaseDate = record.getReleaseDate() != null || ewasReactionIndex == null ?
+                record.getReleaseDate() :
+                ewasReactionIndex.getEarliestReleaseDate(record.getDbId());
+
+            curatorToLatencies.computeIfAbsent(record.getCreatedAuthor(), k -> new CuratorLatencies())
+                .add(record.getCreatedDate() != null && releaseDate != null ?
+                    ChronoUnit.DAYS.between(record.getCreatedDate(), releaseDate) :
+                    null
+                );
+            releaseNumber[0] = record.getReleaseVersion();
+        });
+
+        for (Map.Entry<String, CuratorLatencies> curatorEntry : curatorToLatencies.entrySet()) {
+            CuratorLatencies latencies = curatorEntry.getValue();
+            reportWriter.writeRow(
+                Integer.toString(releaseNumber[0]),
+                className,
+                curatorEntry.getKey(),
+                Integer.toString(latencies.getCount()),
+                latencies.hasLatencies() ? String.format(Locale.ROOT, "%.1f", latencies.getMean()) : "N/A",
+                latencies.hasLatencies() ? Long.toString(latencies.getMedian()) : "N/A"
+            );
+        }
+        logger.info("{}: {} new {} instances from {} curators",
+            release.getDatabaseName(), instanceDiff.getAddedDbIds().length, className, curatorToLatencies.size());
+    }
+
+    private void outputTrendHeader(ReportWriter reportWriter) throws Exception {
+        reportWriter.writeRow(
+            "Release version",
+            "Class",
+            "Curator Name",
+            "New instance count",
+            "Mean days between creation and release",
+            "Median days between creation and release"
+        );
+    }
+
+    private Path getOutputFilePath() {
+        return this.outputFilePath;
+    }
+
+    private Path getSnapshotDirectory() {
+        return this.snapshotDirectory;
+    }
+
+    /**
+     * One release database, connected to only when it is scanned for new instances or its DB_IDs or EWAS index are
+     * not available from a snapshot.
+     */
+    private class Release {
+        private final String databaseName;
+        private final Function<String, MySQLAdaptor> dbaFactory;
+        private final Optional<ReleaseSnapshot> snapshot;
+        private MySQLAdaptor dba;
+
+        private Release(String databaseName, Function<String, MySQLAdaptor> dbaFactory) throws Exception {
+            this.databaseName = databaseName;
+            this.dbaFactory = dbaFactory;
+            this.snapshot = getSnapshotDirectory() != null ?
+                ReleaseSnapshot.load(getSnapshotDirectory(), databaseName) :
+                Optional.empty();
+        }
+
+        private String getDatabaseName() {
+            return this.databaseName;
+        }
+
+        private DbIdSet getDbIds(String className) throws Exception {
+            Optional<DbIdSet> snapshotDbIds = this.snapshot.flatMap(snapshot -> snapshot.getDbIds(className));
+            return snapshotDbIds.isPresent() ? snapshotDbIds.get() : DbIdSet.fetch(getDba(), className);
+        }
+
+        private EWASReactionIndex getEWASReactionIndex() {
+            return this.snapshot.flatMap(ReleaseSnapshot::getEWASReactionIndex)
+                .orElseGet(() -> EWASReactionFetcher.getInstance().getIndex(getDba()));
+        }
+
+        // Indexes built from the database, and snapshots written from them, already have their release dates
+        private EWASReactionIndex getEWASReactionIndexWithReleaseDates() throws Exception {
+            EWASReactionIndex ewasReactionIndex = getEWASReactionIndex();
+            if (ewasReactionIndex.hasEarliestReleaseDates()) {
+                return ewasReactionIndex;
+            }
+            return ewasReactionIndex.withEarliestReleaseDates(
+                ReleaseDates.fetch(getDba(), ReactomeJavaConstants.ReactionlikeEvent)
+            );
+        }
+
+        private MySQLAdaptor getDba() {
+            if (this.dba == null) {
+                this.dba = this.dbaFactory.apply(this.databaseName);
+            }
+            return this.dba;
+        }
+
+        private void close() throws Exception {
+            if (this.dba != null) {
+                this.dba.cleanUp();
+            }
+        }
+    }
+
+    private static class CuratorLatencies {
+        private int count;
+        private long[] latencies = new long[16];
+        private int latencyCount;
+
+        private void add(Long latency) {
+            this.count++;
+            if (latency == null) {
+                return;
+            }
+            if (this.latencyCount == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.latencyCount * 2);
+            }
+            this.latencies[this.latencyCount++] = latency;
+        }
+
+        private int getCount() {
+            return this.count;
+        }
+
+        private boolean hasLatencies() {
+            return this.latencyCount > 0;
+        }
+
+        private double getMean() {
+            long sum = 0;
+            for (int i = 0; i < this.latencyCount; i++) {
+                sum += this.latencies[i];
+            }
+            return (double) sum / this.latencyCount;
+        }
+
+        private long getMedian() {
+            long[] sortedLatencies = Arrays.copyOf(this.latencies, this.latencyCount);
+            Arrays.sort(sortedLatencies);
+            return sortedLatencies[sortedLatencies.length / 2];
+        }
+    }
+}
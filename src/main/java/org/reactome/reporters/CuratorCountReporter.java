@@ -1,61 +1,191 @@
 package org.reactome.reporters;
 
-import org.gk.model.GKInstance;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.CuratorTally;
+import org.reactome.InstanceStore;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import static org.reactome.Utils.getCreatedAuthor;
+import java.util.*;
 
 /**
+ * Counts the new instances per curator.  Alongside the per-curator counts (highest first, ties by name) it writes
+ * the counts per curator and schema class and the percentiles of the days between creation and release, all
+ * gathered in the same pass through a {@link CuratorTally}.
+ *
  * @author Joel Weiser (joel.weiser@oicr.on.ca)
  * Created 1/13/2025
  */
-public class CuratorCountReporter implements InstanceReporter {
+public class CuratorCountReporter implements StreamingInstanceReporter {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final int TOP_CURATOR_COUNT = 10;
+    private static final double[] LATENCY_PERCENTILES = {0.5, 0.75, 0.9, 0.95, 0.99};
+    private static final List<ReportColumn> LATENCY_COLUMNS = Arrays.asList(
+        new ReportColumn("Percentile", ReportColumn.Type.INT),
+        new ReportColumn("Days between creation and release", ReportColumn.Type.LONG)
+    );
+
     private String reportType;
+    private OutputFormat outputFormat;
     private Path outputFilePath;
+    private Path classCountFilePath;
+    private Path latencyFilePath;
+    private CuratorTally curatorTally;
 
-    public CuratorCountReporter(String reportType, int releaseNumber) {
+    public CuratorCountReporter(String reportType, int releaseNumber, OutputFormat outputFormat) {
         this.reportType = reportType;
-        this.outputFilePath = Paths.get(String.format("Curator%sCountV%d.txt", reportType, releaseNumber));
+        this.outputFormat = outputFormat;
+        this.outputFilePath = outputFormat.getOutputFilePath(
+            Paths.get(String.format("Curator%sCountV%d.txt", reportType, releaseNumber)));
+        this.classCountFilePath = outputFormat.getOutputFilePath(
+            Paths.get(String.format("Curator%sClassCountV%d.txt", reportType, releaseNumber)));
+        this.latencyFilePath = outputFormat.getOutputFilePath(
+            Paths.get(String.format("Curator%sLatencyV%d.txt", reportType, releaseNumber)));
+    }
+
+    @Override
+    public void start() {
+        this.curatorTally = new CuratorTally();
+    }
+
+    @Override
+    public void accept(InstanceStore instanceStore, int index) {
+        this.curatorTally.record(
+            instanceStore.getCreatedAuthor(index),
+            instanceStore.getClassName(index),
+            instanceStore.getDaysBetweenCreationAndRelease(index)
+        );
+    }
+
+    // Only the tally is held in memory, so the files are written in one go once every instance has been counted
+    @Override
+    public void complete() throws Exception {
+        List<Map.Entry<String, Long>> curatorCounts = this.curatorTally.getCuratorCounts();
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getOutputFilePath(), this.outputFormat, getCuratorTallyColumns())) {
+
+            for (Map.Entry<String, Long> curatorEntry : curatorCounts) {
+                reportCurator(reportWriter, curatorEntry);
+            }
+            reportWriter.commit();
+        }
+
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getClassCountFilePath(), this.outputFormat, getCuratorClassTallyColumns())) {
+
+            for (String[] curatorClassCount : this.curatorTally.getCuratorClassCounts()) {
+                reportWriter.writeRow(curatorClassCount);
+            }
+            reportWriter.commit();
+        }
+
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getLatencyFilePath(), this.outputFormat, LATENCY_COLUMNS)) {
+
+            for (double percentile : LATENCY_PERCENTILES) {
+                reportWriter.writeValues(
+                    (int) Math.round(percentile * 100),
+                    this.curatorTally.getLatencyPercentile(percentile)
+                );
+            }
+            reportWriter.commit();
+        }
+
+        logger.info("Top {} curators: {}", getReportType(), this.curatorTally.getTopCurators(TOP_CURATOR_COUNT));
+        logger.info("{} of {} {} latencies are negative (created after their release date)",
+            this.curatorTally.getNegativeLatencyCount(), this.curatorTally.getLatencyCount(), getReportType());
+        logger.info("{} written", getOutputFilePath());
+    }
+
+    @Override
+    public void checkpoint(Properties state) {
+        String keyPrefix = getStateKeyPrefix();
+
+        List<String[]> curatorClassCounts = this.curatorTally.getCuratorClassCounts();
+        state.setProperty(keyPrefix + "counts", Integer.toString(curatorClassCounts.size()));
+        for (int countIndex = 0; countIndex < curatorClassCounts.size(); countIndex++) {
+            String[] curatorClassCount = curatorClassCounts.get(countIndex);
+            state.setProperty(keyPrefix + countIndex + ".curator", curatorClassCount[0]);
+            state.setProperty(keyPrefix + countIndex + ".class", curatorClassCount[1]);
+            state.setProperty(keyPrefix + countIndex + ".count", curatorClassCount[2]);
+        }
+
+        for (Map.Entry<Integer, Long> latencyEntry : this.curatorTally.getLatencyDayCounts().entrySet()) {
+            state.setProperty(keyPrefix + "latency." + latencyEntry.getKey(), latencyEntry.getValue().toString());
+        }
     }
 
     @Override
-    public void report(List<GKInstance> instances) throws Exception {
-        Files.deleteIfExists(getOutputFilePath());
+    public void resume(Properties state) {
+        start();
+        String keyPrefix = getStateKeyPrefix();
 
-        Map<String, Integer> curatorToInstanceCount = new HashMap<>();
-        for (GKInstance instance : instances) {
-            String author = getCreatedAuthor(instance);
-            curatorToInstanceCount.put(author, curatorToInstanceCount.computeIfAbsent(author, k -> 1) + 1);
+        int entryCount = Integer.parseInt(state.getProperty(keyPrefix + "counts"));
+        for (int countIndex = 0; countIndex < entryCount; countIndex++) {
+            this.curatorTally.add(
+                state.getProperty(keyPrefix + countIndex + ".curator"),
+                state.getProperty(keyPrefix + countIndex + ".class"),
+                Long.parseLong(state.getProperty(keyPrefix + countIndex + ".count"))
+            );
         }
 
-        outputCuratorTallyHeader();
-        for (Map.Entry<String, Integer> curatorEntry : curatorToInstanceCount.entrySet()) {
-            reportCurator(curatorEntry);
+        String latencyKeyPrefix = keyPrefix + "latency.";
+        for (String key : state.stringPropertyNames()) {
+            if (key.startsWith(latencyKeyPrefix)) {
+                this.curatorTally.addLatency(
+                    Long.parseLong(key.substring(latencyKeyPrefix.length())),
+                    Long.parseLong(state.getProperty(key))
+                );
+            }
         }
     }
 
-    private void outputCuratorTallyHeader() throws IOException {
-        String curatorTallyHeader = String.join("\t",
-            "Curator Name",
-            getReportType() + " Count"
-        ).concat(System.lineSeparator());
-        Files.write(getOutputFilePath(), curatorTallyHeader.getBytes(), StandardOpenOption.CREATE);
+    @Override
+    public List<Path> getOutputFilePaths() {
+        return Arrays.asList(getOutputFilePath(), getClassCountFilePath(), getLatencyFilePath());
+    }
+
+    /**
+     * The tally of the instances accepted so far.  It is small (one count per curator and class, and one per day of
+     * latency), so it is kept after the reporter is closed for later queries.
+     */
+    public CuratorTally getCuratorTally() {
+        return this.curatorTally;
+    }
+
+    // Nothing is held open between checkpoints, and the tally is kept for later queries
+    @Override
+    public void close() {
+    }
+
+    private List<ReportColumn> getCuratorTallyColumns() {
+        return Arrays.asList(
+            new ReportColumn("Curator Name", ReportColumn.Type.STRING),
+            new ReportColumn(getReportType() + " Count", ReportColumn.Type.LONG)
+        );
     }
 
-    private void reportCurator(Map.Entry<String, Integer> curatorEntry) throws IOException {
-        String curatorEntryString = curatorEntry.getKey() + "\t" + curatorEntry.getValue() + System.lineSeparator();
-        Files.write(getOutputFilePath(), curatorEntryString.getBytes(), StandardOpenOption.APPEND);
+    private List<ReportColumn> getCuratorClassTallyColumns() {
+        return Arrays.asList(
+            new ReportColumn("Curator Name", ReportColumn.Type.STRING),
+            new ReportColumn("Class", ReportColumn.Type.STRING),
+            new ReportColumn(getReportType() + " Count", ReportColumn.Type.LONG)
+        );
     }
 
-    private String getReportType() {
+    private void reportCurator(ReportWriter reportWriter, Map.Entry<String, Long> curatorEntry)
+        throws IOException {
+        reportWriter.writeValues(curatorEntry.getKey(), curatorEntry.getValue());
+    }
+
+    private String getStateKeyPrefix() {
+        return getOutputFilePath().getFileName() + ".";
+    }
+
+    public String getReportType() {
         return this.reportType;
     }
 
@@ -63,4 +193,12 @@ public class CuratorCountReporter implements InstanceReporter {
         return this.outputFilePath;
     }
 
+    private Path getClassCountFilePath() {
+        return this.classCountFilePath;
+    }
+
+    private Path getLatencyFilePath() {
+        return this.latencyFilePath;
+    }
+
 }
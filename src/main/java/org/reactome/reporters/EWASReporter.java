@@ -1,17 +1,13 @@
 package org.reactome.reporters;
 
-import org.gk.model.GKInstance;
-import org.reactome.EWASReactionFetcher;
-import org.reactome.Utils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.InstanceStore;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
 
 import static org.reactome.Utils.*;
 
@@ -19,68 +15,60 @@ import static org.reactome.Utils.*;
  * @author Joel Weiser (joel.weiser@oicr.on.ca)
  * Created 1/13/2025
  */
-public class EWASReporter implements InstanceReporter {
+public class EWASReporter implements StreamingInstanceReporter {
+    private static final Logger logger = LogManager.getLogger();
+
     private Path outputFilePath;
+    private OutputFormat outputFormat;
+    private ReportWriter reportWriter;
 
-    public EWASReporter(Path outputFilePath) {
-        this.outputFilePath = outputFilePath;
+    public EWASReporter(Path outputFilePath, OutputFormat outputFormat) {
+        this.outputFilePath = outputFormat.getOutputFilePath(outputFilePath);
+        this.outputFormat = outputFormat;
     }
 
     @Override
-    public void report(List<GKInstance> newEWASs) throws Exception {
-        Files.deleteIfExists(getOutputFilePath());
-
-        outputInstanceReportHeader(getOutputFilePath());
-        for (GKInstance newEWAS : newEWASs) {
-            reportEWAS(newEWAS);
-        }
+    public void start() throws Exception {
+        this.reportWriter = ReportWriter.open(getOutputFilePath(), this.outputFormat, INSTANCE_REPORT_COLUMNS);
     }
 
-    private void reportEWAS(GKInstance ewas) throws Exception {
-        String line = String.join("\t",
-            ewas.getDBID().toString(),
-            ewas.getDisplayName(),
-            getCreatedDate(ewas) != null ?
-                getCreatedDate(ewas).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) :
-                "N/A"
-            ,
-            getCreatedAuthor(ewas),
-            getReleaseDateForEWAS(ewas) != null ?
-                getReleaseDateForEWAS(ewas).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) :
-                "N/A"
-            ,
-            getReleaseVersion(ewas).toString(),
-            getDaysBetweenCreationAndReleaseForEWAS(ewas) != null ?
-                getDaysBetweenCreationAndReleaseForEWAS(ewas).toString() :
-                "N/A"
-        ).concat(System.lineSeparator());
-        Files.write(getOutputFilePath(), line.getBytes(), StandardOpenOption.APPEND);
+    @Override
+    public void accept(InstanceStore instanceStore, int index) throws Exception {
+        this.reportWriter.writeValues(instanceStore.toReportValues(index));
     }
 
-    private LocalDate getReleaseDateForEWAS(GKInstance ewas) throws Exception {
-        List<GKInstance> reactionLikeEvents = EWASReactionFetcher.getInstance().getReactionsFromEWAS(ewas);
+    @Override
+    public void complete() throws Exception {
+        this.reportWriter.commit();
+        logger.info("{} written", getOutputFilePath());
+    }
 
-        if (reactionLikeEvents.isEmpty()) {
-            System.err.println(ewas + " has no RLE");
-            return null;
-        }
+    @Override
+    public void checkpoint(Properties state) throws Exception {
+        state.setProperty(getLengthKey(), Long.toString(this.reportWriter.checkpoint()));
+    }
 
-        List<LocalDate> releaseDates = reactionLikeEvents.stream().map(Utils::getReleaseDateForRLE).collect(Collectors.toList());
-        if (!allDatesAreEqual(releaseDates)) {
-            return Collections.min(releaseDates);
-        }
-        return releaseDates.get(0);
+    @Override
+    public void resume(Properties state) throws Exception {
+        this.reportWriter = ReportWriter.resume(getOutputFilePath(), this.outputFormat, INSTANCE_REPORT_COLUMNS,
+            Long.parseLong(state.getProperty(getLengthKey())));
     }
 
-    private Long getDaysBetweenCreationAndReleaseForEWAS(GKInstance ewas) throws Exception {
-        LocalDate creationDate = getCreatedDate(ewas);
-        LocalDate releaseDate = getReleaseDateForEWAS(ewas);
+    @Override
+    public List<Path> getOutputFilePaths() {
+        return Collections.singletonList(getOutputFilePath());
+    }
 
-        if (creationDate == null || releaseDate == null) {
-            return null;
+    @Override
+    public void close() throws Exception {
+        if (this.reportWriter != null) {
+            this.reportWriter.close();
+            this.reportWriter = null;
         }
+    }
 
-        return ChronoUnit.DAYS.between(creationDate, releaseDate);
+    private String getLengthKey() {
+        return getOutputFilePath().getFileName() + ".length";
     }
 
     private Path getOutputFilePath() {
@@ -0,0 +1,117 @@
+package org.reactome.reporters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.gk.model.GKInstance;
+import org.reactome.CuratorTally;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Reports the instances modified since the previous release, one row per instance with the curators who modified
+ * it, and the number of modified instances per curator (highest first, ties by name).  A curator is counted once
+ * for each instance they modified, however many edits they made to it.
+ */
+public class ModifiedInstanceReporter implements Closeable {
+    private static final Logger logger = LogManager.getLogger();
+
+    // Curator display names contain commas ("Surname, Initials"), so they are joined with semicolons
+    private static final String CURATOR_SEPARATOR = "; ";
+    private static final List<ReportColumn> MODIFIED_INSTANCE_COLUMNS = Arrays.asList(
+        new ReportColumn("DB_ID", ReportColumn.Type.LONG),
+        new ReportColumn("Display Name", ReportColumn.Type.STRING),
+        new ReportColumn("Class", ReportColumn.Type.STRING),
+        new ReportColumn("Modified by", ReportColumn.Type.STRING),
+        new ReportColumn("New modified edits", ReportColumn.Type.INT)
+    );
+
+    private String reportType;
+    private OutputFormat outputFormat;
+    private Path outputFilePath;
+    private Path curatorCountFilePath;
+    private ReportWriter reportWriter;
+    private CuratorTally curatorTally;
+
+    public ModifiedInstanceReporter(String reportType, int releaseNumber, OutputFormat outputFormat) {
+        this.reportType = reportType;
+        this.outputFormat = outputFormat;
+        this.outputFilePath = outputFormat.getOutputFilePath(
+            Paths.get(String.format("Modified%ssV%d.txt", reportType, releaseNumber)));
+        this.curatorCountFilePath = outputFormat.getOutputFilePath(
+            Paths.get(String.format("CuratorModified%sCountV%d.txt", reportType, releaseNumber)));
+    }
+
+    public void start() throws IOException {
+        this.reportWriter = ReportWriter.open(getOutputFilePath(), this.outputFormat, MODIFIED_INSTANCE_COLUMNS);
+        this.curatorTally = new CuratorTally();
+    }
+
+    public void accept(GKInstance instance, List<String> curatorNames, int newEditCount) throws IOException {
+        String className = instance.getSchemClass().getName();
+        this.reportWriter.writeValues(
+            instance.getDBID(),
+            instance.getDisplayName(),
+            className,
+            String.join(CURATOR_SEPARATOR, curatorNames),
+            newEditCount
+        );
+        for (String curatorName : curatorNames) {
+            this.curatorTally.record(curatorName, className, null);
+        }
+    }
+
+    public void complete() throws IOException {
+        this.reportWriter.commit();
+
+        try (ReportWriter curatorCountWriter = ReportWriter.open(
+            getCuratorCountFilePath(), this.outputFormat, getCuratorCountColumns())) {
+
+            for (Map.Entry<String, Long> curatorEntry : this.curatorTally.getCuratorCounts()) {
+                curatorCountWriter.writeValues(curatorEntry.getKey(), curatorEntry.getValue());
+            }
+            curatorCountWriter.commit();
+        }
+        logger.info("{} and {} written", getOutputFilePath(), getCuratorCountFilePath());
+    }
+
+    public List<Path> getOutputFilePaths() {
+        return Arrays.asList(getOutputFilePath(), getCuratorCountFilePath());
+    }
+
+    /**
+     * The modified instances per curator and class accepted so far.
+     */
+    public CuratorTally getCuratorTally() {
+        return this.curatorTally;
+    }
+
+    public String getReportType() {
+        return this.reportType;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.reportWriter != null) {
+            this.reportWriter.close();
+        }
+    }
+
+    private List<ReportColumn> getCuratorCountColumns() {
+        return Arrays.asList(
+            new ReportColumn("Curator Name", ReportColumn.Type.STRING),
+            new ReportColumn("Modified " + getReportType() + " Count", ReportColumn.Type.LONG)
+        );
+    }
+
+    private Path getOutputFilePath() {
+        return this.outputFilePath;
+    }
+
+    private Path getCuratorCountFilePath() {
+        return this.curatorCountFilePath;
+    }
+}
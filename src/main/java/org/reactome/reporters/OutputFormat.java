@@ -0,0 +1,41 @@
+package org.reactome.reporters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * File formats the reports can be written in.  Each report is named as its tab-separated ".txt" file would be,
+ * with the format's extension in place of ".txt".
+ */
+public enum OutputFormat {
+    TSV(".txt"),
+    TSV_GZIP(".txt.gz"),
+    COLUMNAR(".rcol");
+
+    private final String extension;
+
+    OutputFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public Path getOutputFilePath(Path tsvFilePath) {
+        String tsvFileName = tsvFilePath.getFileName().toString();
+        String baseName = tsvFileName.endsWith(TSV.extension) ?
+            tsvFileName.substring(0, tsvFileName.length() - TSV.extension.length()) :
+            tsvFileName;
+        return tsvFilePath.resolveSibling(baseName + this.extension);
+    }
+
+    RowEncoder createEncoder(OutputStream outputStream, List<ReportColumn> columns) throws IOException {
+        switch (this) {
+            case TSV_GZIP:
+                return new TsvRowEncoder(outputStream, true);
+            case COLUMNAR:
+                return new ColumnarRowEncoder(outputStream, columns);
+            default:
+                return new TsvRowEncoder(outputStream, false);
+        }
+    }
+}
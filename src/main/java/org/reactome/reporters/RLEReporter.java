@@ -1,72 +1,84 @@
 package org.reactome.reporters;
 
-import org.gk.model.GKInstance;
-import org.gk.model.ReactomeJavaConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.InstanceStore;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 
 import static org.reactome.Utils.*;
 
 /**
+ * Reports new manually curated ReactionlikeEvents.  The stream also carries electronically inferred events for the
+ * other RLE reporters, so only those in the given manually curated DB_IDs (found beforehand with
+ * {@link org.reactome.InstanceFilter#manuallyCurated()}) are written.
+ *
  * @author Joel Weiser (joel.weiser@oicr.on.ca)
  * Created 1/13/2025
  */
-public class RLEReporter implements InstanceReporter {
+public class RLEReporter implements StreamingInstanceReporter {
+    private static final Logger logger = LogManager.getLogger();
+
     private Path outputFilePath;
+    private OutputFormat outputFormat;
+    private long[] manuallyCuratedDbIds;
+    private ReportWriter reportWriter;
 
-    public RLEReporter(Path outputFilePath) {
-        this.outputFilePath = outputFilePath;
+    // The manually curated DB_IDs must be sorted
+    public RLEReporter(Path outputFilePath, OutputFormat outputFormat, long[] manuallyCuratedDbIds) {
+        this.outputFilePath = outputFormat.getOutputFilePath(outputFilePath);
+        this.outputFormat = outputFormat;
+        this.manuallyCuratedDbIds = manuallyCuratedDbIds;
     }
 
     @Override
-    public void report(List<GKInstance> newReactionLikeEvents) throws Exception {
-        Files.deleteIfExists(getOutputFilePath());
+    public void start() throws Exception {
+        this.reportWriter = ReportWriter.open(getOutputFilePath(), this.outputFormat, INSTANCE_REPORT_COLUMNS);
+    }
 
-        outputInstanceReportHeader(getOutputFilePath());
-        for (GKInstance newReactionLikeEvent : newReactionLikeEvents) {
-            if (isManuallyCurated(newReactionLikeEvent)) {
-                reportRLE(newReactionLikeEvent);
-            }
+    @Override
+    public void accept(InstanceStore instanceStore, int index) throws Exception {
+        if (Arrays.binarySearch(this.manuallyCuratedDbIds, instanceStore.getDbId(index)) >= 0) {
+            this.reportWriter.writeValues(instanceStore.toReportValues(index));
         }
     }
 
-    private boolean isManuallyCurated(GKInstance reactionLikeEvent) throws Exception {
-        return reactionLikeEvent.getAttributeValue(ReactomeJavaConstants.inferredFrom) == null;
+    @Override
+    public void complete() throws Exception {
+        this.reportWriter.commit();
+        logger.info("{} written", getOutputFilePath());
+    }
+
+    @Override
+    public void checkpoint(Properties state) throws Exception {
+        state.setProperty(getLengthKey(), Long.toString(this.reportWriter.checkpoint()));
     }
 
-    private void reportRLE(GKInstance reactionLikeEvent) throws Exception {
-        String line = String.join("\t",
-            reactionLikeEvent.getDBID().toString(),
-            reactionLikeEvent.getDisplayName(),
-            getCreatedDate(reactionLikeEvent) != null ?
-                getCreatedDate(reactionLikeEvent).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) :
-                "N/A"
-            ,
-            getCreatedAuthor(reactionLikeEvent),
-            getReleaseDateForRLE(reactionLikeEvent).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-            getReleaseVersion(reactionLikeEvent).toString(),
-            getDaysBetweenCreationAndReleaseForRLE(reactionLikeEvent) != null ?
-                getDaysBetweenCreationAndReleaseForRLE(reactionLikeEvent).toString() :
-                "N/A"
-        ).concat(System.lineSeparator());
-        Files.write(getOutputFilePath(), line.getBytes(), StandardOpenOption.APPEND);
+    @Override
+    public void resume(Properties state) throws Exception {
+        this.reportWriter = ReportWriter.resume(getOutputFilePath(), this.outputFormat, INSTANCE_REPORT_COLUMNS,
+            Long.parseLong(state.getProperty(getLengthKey())));
     }
 
-    private Long getDaysBetweenCreationAndReleaseForRLE(GKInstance instance) throws Exception {
-        LocalDate creationDate = getCreatedDate(instance);
-        LocalDate releaseDate = getReleaseDateForRLE(instance);
+    @Override
+    public List<Path> getOutputFilePaths() {
+        return Collections.singletonList(getOutputFilePath());
+    }
 
-        if (creationDate == null || releaseDate == null) {
-            return null;
+    @Override
+    public void close() throws Exception {
+        if (this.reportWriter != null) {
+            this.reportWriter.close();
+            this.reportWriter = null;
         }
+    }
 
-        return ChronoUnit.DAYS.between(creationDate, releaseDate);
+    private String getLengthKey() {
+        return getOutputFilePath().getFileName() + ".length";
     }
 
     private Path getOutputFilePath() {
@@ -0,0 +1,56 @@
+package org.reactome.reporters;
+
+/**
+ * Name and value type of a report column.  Text formats only use the name; the columnar format stores each
+ * column with its type.
+ */
+public class ReportColumn {
+
+    public enum Type {
+        LONG(1),
+        INT(2),
+        // Stored as an int epoch day
+        DATE(3),
+        STRING(4);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return this.code;
+        }
+
+        public static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column type code " + code);
+        }
+    }
+
+    private final String name;
+    private final Type type;
+
+    public ReportColumn(String name, Type type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + getType() + ")";
+    }
+}
@@ -0,0 +1,137 @@
+package org.reactome.reporters;
+
+import org.reactome.RunMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes a report through a single open file channel in one of the {@link OutputFormat}s.
+ *
+ * Output goes to a temporary file next to the report, which only replaces the report when {@link #commit()} is
+ * called, so a failed run never leaves a partially written report behind.  A writer that has been checkpointed
+ * keeps its temporary file when closed uncommitted, so a later run can resume from the last checkpoint.
+ */
+public class ReportWriter implements Closeable {
+    private final Path outputFilePath;
+    private final Path tempFilePath;
+    private final FileChannel channel;
+    private final RowEncoder rowEncoder;
+    private final String rowCounterName;
+    private boolean committed;
+    private boolean checkpointed;
+
+    private ReportWriter(Path outputFilePath, Path tempFilePath, FileChannel channel, RowEncoder rowEncoder) {
+        this.outputFilePath = outputFilePath;
+        this.tempFilePath = tempFilePath;
+        this.rowCounterName = "report.rows." + outputFilePath.getFileName();
+        this.channel = channel;
+        this.rowEncoder = rowEncoder;
+    }
+
+    /**
+     * Opens a tab-separated report without a header; the caller writes its own header row.
+     */
+    public static ReportWriter open(Path outputFilePath) throws IOException {
+        return open(outputFilePath, OutputFormat.TSV, Collections.emptyList());
+    }
+
+    /**
+     * Opens a report in the given format and writes the header for the given columns.
+     */
+    public static ReportWriter open(Path outputFilePath, OutputFormat outputFormat, List<ReportColumn> columns)
+        throws IOException {
+
+        Path tempFilePath = getTempFilePath(outputFilePath);
+        FileChannel channel = FileChannel.open(
+            tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        );
+        ReportWriter reportWriter = new ReportWriter(outputFilePath, tempFilePath, channel,
+            outputFormat.createEncoder(Channels.newOutputStream(channel), columns));
+        if (!columns.isEmpty()) {
+            reportWriter.rowEncoder.writeHeader(columns);
+        }
+        return reportWriter;
+    }
+
+    /**
+     * Reopens the temporary file of an interrupted run, dropping anything written after the checkpoint that
+     * returned the given length.
+     */
+    public static ReportWriter resume(Path outputFilePath, OutputFormat outputFormat, List<ReportColumn> columns,
+                                      long checkpointedLength) throws IOException {
+
+        Path tempFilePath = getTempFilePath(outputFilePath);
+        if (!Files.exists(tempFilePath) || Files.size(tempFilePath) < checkpointedLength) {
+            throw new IOException("Can not resume " + outputFilePath + ": " + tempFilePath +
+                " is missing or shorter than the checkpointed " + checkpointedLength + " bytes");
+        }
+
+        FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.WRITE);
+        channel.truncate(checkpointedLength);
+        channel.position(checkpointedLength);
+        ReportWriter reportWriter = new ReportWriter(outputFilePath, tempFilePath, channel,
+            outputFormat.createEncoder(Channels.newOutputStream(channel), columns));
+        reportWriter.checkpointed = true;
+        return reportWriter;
+    }
+
+    public void writeRow(String... fields) throws IOException {
+        writeValues((Object[]) fields);
+    }
+
+    /**
+     * Writes a row of typed values (Long, Integer, LocalDate or String, null when not available).
+     */
+    public void writeValues(Object... values) throws IOException {
+        this.rowEncoder.writeRow(values);
+        RunMetrics.getInstance().increment(this.rowCounterName);
+    }
+
+    /**
+     * Forces every row written so far to disk and returns the length of the temporary file, which is what
+     * {@link #resume} needs to continue after these rows.
+     */
+    public long checkpoint() throws IOException {
+        this.rowEncoder.flush();
+        this.channel.force(false);
+        this.checkpointed = true;
+        return this.channel.position();
+    }
+
+    public void commit() throws IOException {
+        this.rowEncoder.finish();
+        this.channel.close();
+        try {
+            Files.move(this.tempFilePath, this.outputFilePath,
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(this.tempFilePath, this.outputFilePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.committed) {
+            this.rowEncoder.abort();
+            this.channel.close();
+            if (!this.checkpointed) {
+                Files.deleteIfExists(this.tempFilePath);
+            }
+        }
+    }
+
+    private static Path getTempFilePath(Path outputFilePath) {
+        return outputFilePath.resolveSibling(outputFilePath.getFileName() + ".tmp");
+    }
+}
@@ -0,0 +1,28 @@
+package org.reactome.reporters;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Turns report rows into the bytes of one {@link OutputFormat}.  Values are Long, Integer, LocalDate or String
+ * (null when not available); string values are accepted for any column type.
+ */
+interface RowEncoder {
+
+    void writeHeader(List<ReportColumn> columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Writes out everything encoded so far such that the output up to this point is complete and more rows can be
+     * appended to it, possibly by a new encoder after the file is reopened.
+     */
+    void flush() throws IOException;
+
+    void finish() throws IOException;
+
+    /**
+     * Releases anything the encoder holds without writing more output, for a report that is closed uncommitted.
+     */
+    void abort();
+}
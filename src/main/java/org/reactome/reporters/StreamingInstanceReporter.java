@@ -0,0 +1,59 @@
+package org.reactome.reporters;
+
+import org.gk.model.GKInstance;
+import org.reactome.InstanceRecordExtractor;
+import org.reactome.InstanceStore;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Reporter that has instances pushed to it one at a time, so the caller only needs to hold the instances it is
+ * currently reporting on.  Instances are read from an {@link InstanceStore} they have already been extracted to,
+ * so the GKInstances themselves can be dropped before the reporters run.  The caller calls {@link #start()}, then
+ * {@link #accept(InstanceStore, int)} for each instance and {@link #complete()} once all instances are reported;
+ * {@link #close()} is always called afterwards and discards any output that was not completed.
+ *
+ * A long run can be made resumable by calling {@link #checkpoint(Properties)} between instances; a later run
+ * calls {@link #resume(Properties)} with the saved state instead of {@link #start()} and carries on with the
+ * instances after the checkpoint, producing the same output as an uninterrupted run.
+ */
+public interface StreamingInstanceReporter extends InstanceReporter, AutoCloseable {
+
+    void start() throws Exception;
+
+    void accept(InstanceStore instanceStore, int index) throws Exception;
+
+    void complete() throws Exception;
+
+    /**
+     * Makes everything accepted so far durable and records in the given state what {@link #resume(Properties)}
+     * needs to continue from this point.
+     */
+    void checkpoint(Properties state) throws Exception;
+
+    void resume(Properties state) throws Exception;
+
+    /**
+     * The files written on {@link #complete()}.
+     */
+    List<Path> getOutputFilePaths();
+
+    @Override
+    void close() throws Exception;
+
+    @Override
+    default void report(List<GKInstance> instances) throws Exception {
+        try {
+            start();
+            InstanceStore instanceStore = InstanceStore.extract(instances, new InstanceRecordExtractor());
+            for (int index = 0; index < instanceStore.size(); index++) {
+                accept(instanceStore, index);
+            }
+            complete();
+        } finally {
+            close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.reactome.reporters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactome.TraversalStatistics;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reports a traversal rule's statistics, one row per root (in DB_ID order) with the number of targets it reaches and
+ * how many of those are new since the previous release.  Columns are named after the rule's root and target classes.
+ */
+public class TraversalStatisticsReporter {
+    private static final Logger logger = LogManager.getLogger();
+
+    private Path outputFilePath;
+    private OutputFormat outputFormat;
+
+    public TraversalStatisticsReporter(Path outputFilePath, OutputFormat outputFormat) {
+        this.outputFilePath = outputFormat.getOutputFilePath(outputFilePath);
+        this.outputFormat = outputFormat;
+    }
+
+    public void report(TraversalStatistics traversalStatistics) throws Exception {
+        long reachedTargetTotal = 0;
+        long newTargetTotal = 0;
+        try (ReportWriter reportWriter = ReportWriter.open(
+            getOutputFilePath(), this.outputFormat, getColumns(traversalStatistics))) {
+
+            for (int i = 0; i < traversalStatistics.getRootCount(); i++) {
+                reportWriter.writeValues(
+                    traversalStatistics.getRootDbId(i),
+                    (long) traversalStatistics.getReachedTargetCount(i),
+                    (long) traversalStatistics.getNewTargetCount(i)
+                );
+                reachedTargetTotal += traversalStatistics.getReachedTargetCount(i);
+                newTargetTotal += traversalStatistics.getNewTargetCount(i);
+            }
+            reportWriter.commit();
+        }
+        logger.info("{} written: {} roots reaching {} targets, {} of them new",
+            getOutputFilePath(), traversalStatistics.getRootCount(), reachedTargetTotal, newTargetTotal);
+    }
+
+    private List<ReportColumn> getColumns(TraversalStatistics traversalStatistics) {
+        String rootClassName = traversalStatistics.getRule().getRootClassName();
+        String targetClassName = traversalStatistics.getRule().getTargetClassName();
+        return Arrays.asList(
+            new ReportColumn(rootClassName + " DB_ID", ReportColumn.Type.LONG),
+            new ReportColumn(targetClassName + " Count", ReportColumn.Type.LONG),
+            new ReportColumn("New " + targetClassName + " Count", ReportColumn.Type.LONG)
+        );
+    }
+
+    private Path getOutputFilePath() {
+        return this.outputFilePath;
+    }
+}
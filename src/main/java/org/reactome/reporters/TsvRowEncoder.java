@@ -0,0 +1,134 @@
+package org.reactome.reporters;
+
+import org.reactome.Utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tab-separated rows, optionally gzip compressed.
+ *
+ * Rows are accumulated in a reused StringBuilder and written out in large chunks.  Compressed output is written as
+ * a series of gzip members, one per flush, which gzip readers decompress as a single stream; this is what lets a
+ * checkpointed file be truncated to a flush and appended to.
+ */
+class TsvRowEncoder implements RowEncoder {
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final OutputStream outputStream;
+    private final boolean compressed;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private MemberOutputStream gzipOutputStream;
+    private Writer writer;
+
+    TsvRowEncoder(OutputStream outputStream, boolean compressed) {
+        this.outputStream = outputStream;
+        this.compressed = compressed;
+    }
+
+    @Override
+    public void writeHeader(List<ReportColumn> columns) throws IOException {
+        Object[] columnNames = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnNames[i] = columns.get(i).getName();
+        }
+        writeRow(columnNames);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.buffer.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        this.buffer.append(System.lineSeparator());
+
+        if (this.buffer.length() >= FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (this.writer != null) {
+            this.writer.flush();
+            if (this.compressed) {
+                // Ends the gzip member without closing the report writer's stream underneath it
+                this.gzipOutputStream.finish();
+                this.gzipOutputStream.endDeflater();
+                this.gzipOutputStream = null;
+                this.writer = null;
+            }
+        }
+        this.outputStream.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void abort() {
+        this.buffer.setLength(0);
+        if (this.gzipOutputStream != null) {
+            this.gzipOutputStream.endDeflater();
+            this.gzipOutputStream = null;
+            this.writer = null;
+        }
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            this.buffer.append(Utils.NOT_AVAILABLE);
+        } else if (value instanceof LocalDate) {
+            this.buffer.append(((LocalDate) value).format(Utils.DATE_FORMATTER));
+        } else {
+            this.buffer.append(value);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.buffer.length() == 0) {
+            return;
+        }
+        getWriter().append(this.buffer);
+        this.buffer.setLength(0);
+    }
+
+    private Writer getWriter() throws IOException {
+        if (this.writer == null) {
+            if (this.compressed) {
+                this.gzipOutputStream = new MemberOutputStream(this.outputStream);
+                this.writer = new OutputStreamWriter(this.gzipOutputStream, StandardCharsets.UTF_8);
+            } else {
+                this.writer = new OutputStreamWriter(this.outputStream, StandardCharsets.UTF_8);
+            }
+        }
+        return this.writer;
+    }
+
+    /**
+     * One gzip member.  Finishing a GZIPOutputStream does not release its Deflater's native memory and closing it
+     * would close the report writer's stream, so the Deflater is ended separately.
+     */
+    private static class MemberOutputStream extends GZIPOutputStream {
+
+        MemberOutputStream(OutputStream outputStream) throws IOException {
+            super(outputStream, FLUSH_THRESHOLD);
+        }
+
+        void endDeflater() {
+            this.def.end();
+        }
+    }
+}
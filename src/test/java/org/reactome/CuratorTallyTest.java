@@ -0,0 +1,146 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CuratorTallyTest {
+
+    @Test
+    public void percentilesAreTheSmallestLatencyCoveringTheFraction() {
+        CuratorTally curatorTally = new CuratorTally();
+        for (long days = 1; days <= 100; days++) {
+            curatorTally.addLatency(days, 1);
+        }
+
+        assertEquals(100, curatorTally.getLatencyCount());
+        assertEquals(Long.valueOf(1), curatorTally.getLatencyPercentile(0.0));
+        assertEquals(Long.valueOf(1), curatorTally.getLatencyPercentile(0.01));
+        assertEquals(Long.valueOf(50), curatorTally.getLatencyPercentile(0.5));
+        assertEquals(Long.valueOf(51), curatorTally.getLatencyPercentile(0.501));
+        assertEquals(Long.valueOf(90), curatorTally.getLatencyPercentile(0.9));
+        assertEquals(Long.valueOf(100), curatorTally.getLatencyPercentile(1.0));
+    }
+
+    @Test
+    public void percentileOfAnEmptyTallyIsNull() {
+        CuratorTally curatorTally = new CuratorTally();
+        curatorTally.record("Curator, A", "Reaction", null);
+
+        assertNull(curatorTally.getLatencyPercentile(0.5));
+        assertEquals(0, curatorTally.getLatencyCount());
+    }
+
+    @Test
+    public void negativeLatenciesKeepTheirOwnBuckets() {
+        CuratorTally curatorTally = new CuratorTally();
+        curatorTally.addLatency(-30, 2);
+        curatorTally.addLatency(-1, 1);
+        curatorTally.addLatency(0, 1);
+        curatorTally.addLatency(10, 4);
+
+        assertEquals(3, curatorTally.getNegativeLatencyCount());
+        assertEquals(Long.valueOf(-30), curatorTally.getLatencyPercentile(0.25));
+        assertEquals(Long.valueOf(-1), curatorTally.getLatencyPercentile(0.375));
+        assertEquals(Long.valueOf(0), curatorTally.getLatencyPercentile(0.5));
+        assertEquals(Long.valueOf(10), curatorTally.getLatencyPercentile(0.51));
+
+        SortedMap<Integer, Long> expectedDayCounts = new TreeMap<>();
+        expectedDayCounts.put(-30, 2L);
+        expectedDayCounts.put(-1, 1L);
+        expectedDayCounts.put(0, 1L);
+        expectedDayCounts.put(10, 4L);
+        assertEquals(expectedDayCounts, curatorTally.getLatencyDayCounts());
+    }
+
+    @Test
+    public void latenciesBeyondTheCapsAreClampedToThem() {
+        CuratorTally curatorTally = new CuratorTally();
+        curatorTally.addLatency(-100000, 1);
+        curatorTally.addLatency(CuratorTally.MAX_TRACKED_LATENCY_DAYS + 1, 1);
+        curatorTally.addLatency(Long.MAX_VALUE, 1);
+
+        assertEquals(Long.valueOf(-CuratorTally.MAX_TRACKED_LATENCY_DAYS), curatorTally.getLatencyPercentile(0.0));
+        assertEquals(Long.valueOf(CuratorTally.MAX_TRACKED_LATENCY_DAYS), curatorTally.getLatencyPercentile(0.5));
+        assertEquals(1, curatorTally.getNegativeLatencyCount());
+        assertEquals(
+            Long.valueOf(2), curatorTally.getLatencyDayCounts().get(CuratorTally.MAX_TRACKED_LATENCY_DAYS)
+        );
+    }
+
+    @Test
+    public void curatorsAreOrderedByCountThenName() {
+        CuratorTally curatorTally = new CuratorTally();
+        curatorTally.add("Curator, B", "Reaction", 2);
+        curatorTally.add("Curator, A", "Reaction", 1);
+        curatorTally.add("Curator, A", "BlackBoxEvent", 1);
+        curatorTally.add("Curator, C", "Reaction", 5);
+        curatorTally.record("Curator, D", "Reaction", 3L);
+
+        List<Map.Entry<String, Long>> curatorCounts = curatorTally.getCuratorCounts();
+        assertEquals(Arrays.asList("Curator, C", "Curator, A", "Curator, B", "Curator, D"), getNames(curatorCounts));
+        assertEquals(Arrays.asList(5L, 2L, 2L, 1L), getCounts(curatorCounts));
+        assertEquals(Arrays.asList("Curator, C", "Curator, A"), getNames(curatorTally.getTopCurators(2)));
+        assertEquals(4, curatorTally.getTopCurators(10).size());
+        assertEquals(2, curatorTally.getCuratorCount("Curator, A"));
+        assertEquals(0, curatorTally.getCuratorCount("Curator, Z"));
+    }
+
+    @Test
+    public void curatorClassCountsAreSortedByCuratorThenClass() {
+        CuratorTally curatorTally = new CuratorTally();
+        curatorTally.add("Curator, B", "Reaction", 2);
+        curatorTally.add("Curator, A", "Reaction", 1);
+        curatorTally.add("Curator, A", "BlackBoxEvent", 3);
+
+        List<String[]> curatorClassCounts = curatorTally.getCuratorClassCounts();
+        assertEquals(3, curatorClassCounts.size());
+        assertArrayEquals(new String[] {"Curator, A", "BlackBoxEvent", "3"}, curatorClassCounts.get(0));
+        assertArrayEquals(new String[] {"Curator, A", "Reaction", "1"}, curatorClassCounts.get(1));
+        assertArrayEquals(new String[] {"Curator, B", "Reaction", "2"}, curatorClassCounts.get(2));
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws Exception {
+        CuratorTally curatorTally = new CuratorTally();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    curatorTally.record("Curator, " + (i % 3), "Reaction", (long) (i % 10));
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4000, curatorTally.getLatencyCount());
+        long total = 0;
+        for (Map.Entry<String, Long> curatorCount : curatorTally.getCuratorCounts()) {
+            total += curatorCount.getValue();
+        }
+        assertEquals(4000, total);
+        assertEquals(Long.valueOf(4), curatorTally.getLatencyPercentile(0.5));
+    }
+
+    private static List<String> getNames(List<Map.Entry<String, Long>> curatorCounts) {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Long> curatorCount : curatorCounts) {
+            names.add(curatorCount.getKey());
+        }
+        return names;
+    }
+
+    private static List<Long> getCounts(List<Map.Entry<String, Long>> curatorCounts) {
+        List<Long> counts = new ArrayList<>();
+        for (Map.Entry<String, Long> curatorCount : curatorCounts) {
+            counts.add(curatorCount.getValue());
+        }
+        return counts;
+    }
+}
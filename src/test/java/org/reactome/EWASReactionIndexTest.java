@@ -0,0 +1,95 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class EWASReactionIndexTest {
+
+    @Test
+    public void builderGroupsSortsAndDeduplicatesEdgesPerEWAS() {
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder()
+            .add(20, 300)
+            .add(10, 200)
+            .add(20, 100)
+            .add(10, 200)
+            .add(30, 100)
+            .build();
+
+        assertArrayEquals(new long[] {10, 20, 30}, ewasReactionIndex.getEWASDbIds());
+        assertArrayEquals(new long[] {200}, ewasReactionIndex.getReactionDbIds(10));
+        assertArrayEquals(new long[] {100, 300}, ewasReactionIndex.getReactionDbIds(20));
+        assertArrayEquals(new long[] {100}, ewasReactionIndex.getReactionDbIds(30));
+        assertEquals(2, ewasReactionIndex.getReactionCount(20));
+        assertEquals(3, ewasReactionIndex.getEWASCount());
+        assertEquals(4, ewasReactionIndex.getEdgeCount());
+    }
+
+    @Test
+    public void unknownEWASHasNoReactions() {
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder().add(10, 200).build();
+
+        assertArrayEquals(new long[0], ewasReactionIndex.getReactionDbIds(11));
+        assertEquals(0, ewasReactionIndex.getReactionCount(11));
+    }
+
+    @Test
+    public void emptyBuilderBuildsAnEmptyIndex() {
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder().build();
+
+        assertEquals(0, ewasReactionIndex.getEWASCount());
+        assertEquals(0, ewasReactionIndex.getEdgeCount());
+        assertArrayEquals(new long[0], ewasReactionIndex.getReactionDbIds(1));
+    }
+
+    @Test
+    public void addAllMergesBuildersAndBuilderGrowsPastItsInitialCapacity() {
+        EWASReactionIndex.Builder first = EWASReactionIndex.builder();
+        EWASReactionIndex.Builder second = EWASReactionIndex.builder();
+        for (long reactionDbId = 0; reactionDbId < 3000; reactionDbId++) {
+            (reactionDbId % 2 == 0 ? first : second).add(reactionDbId % 7, reactionDbId);
+        }
+
+        EWASReactionIndex ewasReactionIndex = first.addAll(second).build();
+
+        assertEquals(7, ewasReactionIndex.getEWASCount());
+        assertEquals(3000, ewasReactionIndex.getEdgeCount());
+        long[] reactionDbIds = ewasReactionIndex.getReactionDbIds(3);
+        for (int i = 0; i < reactionDbIds.length; i++) {
+            assertEquals(3 + 7L * i, reactionDbIds[i]);
+        }
+    }
+
+    @Test
+    public void earliestReleaseDateIsTheEarliestOfTheEWASReactions() {
+        ReleaseDates releaseDates = new ReleaseDates();
+        releaseDates.put(100, ReleaseDates.toEpochDay(LocalDate.of(2015, 6, 1)));
+        releaseDates.put(200, ReleaseDates.toEpochDay(LocalDate.of(2012, 3, 1)));
+        releaseDates.put(300, ReleaseDates.toEpochDay(LocalDate.of(2020, 1, 1)));
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder()
+            .add(10, 100)
+            .add(10, 200)
+            .add(20, 300)
+            // Reaction 400 has no release date, so only reaction 300 counts for EWAS 20
+            .add(20, 400)
+            .add(30, 400)
+            .build();
+
+        EWASReactionIndex resolvedIndex = ewasReactionIndex.withEarliestReleaseDates(releaseDates);
+
+        assertFalse(ewasReactionIndex.hasEarliestReleaseDates());
+        assertTrue(resolvedIndex.hasEarliestReleaseDates());
+        assertEquals(LocalDate.of(2012, 3, 1), resolvedIndex.getEarliestReleaseDate(10));
+        assertEquals(LocalDate.of(2020, 1, 1), resolvedIndex.getEarliestReleaseDate(20));
+        assertNull(resolvedIndex.getEarliestReleaseDate(30));
+        assertNull(resolvedIndex.getEarliestReleaseDate(40));
+        assertArrayEquals(ewasReactionIndex.getReactionDbIds(20), resolvedIndex.getReactionDbIds(20));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void earliestReleaseDateNeedsTheDatesResolvedFirst() {
+        EWASReactionIndex.builder().add(10, 100).build().getEarliestReleaseDate(10);
+    }
+}
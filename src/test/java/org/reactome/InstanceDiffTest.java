@@ -0,0 +1,83 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class InstanceDiffTest {
+
+    @Test
+    public void addedAndRemovedDbIdsAreFoundOnEitherSideOfTheMerge() {
+        DbIdSet previous = dbIdSet(new long[] {1, 3, 5, 7}, "Reaction");
+        DbIdSet current = dbIdSet(new long[] {2, 3, 5, 8, 9}, "Reaction");
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previous, current);
+
+        assertArrayEquals(new long[] {2, 8, 9}, instanceDiff.getAddedDbIds());
+        assertArrayEquals(new long[] {1, 7}, instanceDiff.getRemovedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getClassChangedDbIds());
+        assertArrayEquals(new long[] {3, 5}, instanceDiff.getRetainedDbIds());
+        assertTrue(instanceDiff.isAdded(8));
+        assertFalse(instanceDiff.isAdded(3));
+        assertFalse(instanceDiff.isAdded(7));
+    }
+
+    @Test
+    public void dbIdWithADifferentClassInEachReleaseIsClassChangedNotAdded() {
+        DbIdSet previous = new DbIdSet(new long[] {10, 20, 30}, new String[] {"Reaction", "Reaction", "Reaction"});
+        DbIdSet current = new DbIdSet(
+            new long[] {10, 20, 30}, new String[] {"Reaction", "BlackBoxEvent", "Reaction"}
+        );
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previous, current);
+
+        assertArrayEquals(new long[] {20}, instanceDiff.getClassChangedDbIds());
+        assertArrayEquals(new long[] {10, 30}, instanceDiff.getRetainedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getAddedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getRemovedDbIds());
+    }
+
+    @Test
+    public void emptyPreviousReleaseMakesEveryCurrentDbIdAdded() {
+        DbIdSet previous = dbIdSet(new long[0], "Reaction");
+        DbIdSet current = dbIdSet(new long[] {4, 5, 6}, "Reaction");
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previous, current);
+
+        assertArrayEquals(new long[] {4, 5, 6}, instanceDiff.getAddedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getRemovedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getRetainedDbIds());
+    }
+
+    @Test
+    public void emptyCurrentReleaseMakesEveryPreviousDbIdRemoved() {
+        DbIdSet previous = dbIdSet(new long[] {4, 5, 6}, "Reaction");
+        DbIdSet current = dbIdSet(new long[0], "Reaction");
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previous, current);
+
+        assertArrayEquals(new long[0], instanceDiff.getAddedDbIds());
+        assertArrayEquals(new long[] {4, 5, 6}, instanceDiff.getRemovedDbIds());
+    }
+
+    @Test
+    public void identicalReleasesRetainEveryDbId() {
+        DbIdSet previous = dbIdSet(new long[] {1, 2, 3}, "Reaction");
+        DbIdSet current = dbIdSet(new long[] {1, 2, 3}, "Reaction");
+
+        InstanceDiff instanceDiff = InstanceDiff.between(previous, current);
+
+        assertArrayEquals(new long[] {1, 2, 3}, instanceDiff.getRetainedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getAddedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getRemovedDbIds());
+        assertArrayEquals(new long[0], instanceDiff.getClassChangedDbIds());
+    }
+
+    private static DbIdSet dbIdSet(long[] dbIds, String className) {
+        String[] classNames = new String[dbIds.length];
+        Arrays.fill(classNames, className);
+        return new DbIdSet(dbIds, classNames);
+    }
+}
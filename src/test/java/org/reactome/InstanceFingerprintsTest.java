@@ -0,0 +1,95 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class InstanceFingerprintsTest {
+    private static final TestSchemaClass REACTION = new TestSchemaClass(
+        "Reaction", Arrays.asList("ReactionlikeEvent", "Event"), Arrays.asList("input", "output", "name")
+    );
+    private static final TestSchemaClass ENTITY = new TestSchemaClass(
+        "SimpleEntity", Collections.singletonList("PhysicalEntity"), Collections.emptyList()
+    );
+    private static final String[] ATTRIBUTE_NAMES = {"input", "name", "output"};
+
+    @Test
+    public void modifiedDbIdsAreThoseInBothReleasesWithDifferentFingerprints() {
+        InstanceFingerprints previous = new InstanceFingerprints(
+            "Reaction", new long[] {1, 2, 4, 6}, new long[] {10, 20, 40, 60}, new long[4]
+        );
+        InstanceFingerprints current = new InstanceFingerprints(
+            "Reaction", new long[] {2, 3, 4, 5, 6}, new long[] {21, 30, 40, 50, 61}, new long[5]
+        );
+
+        assertArrayEquals(new long[] {2, 6}, current.getModifiedDbIds(previous));
+    }
+
+    @Test
+    public void releasesWithNoDbIdsInCommonHaveNoModifiedDbIds() {
+        InstanceFingerprints previous = new InstanceFingerprints(
+            "Reaction", new long[] {1, 3}, new long[] {10, 30}, new long[2]
+        );
+        InstanceFingerprints current = new InstanceFingerprints(
+            "Reaction", new long[] {2, 4}, new long[] {20, 40}, new long[2]
+        );
+        InstanceFingerprints empty = new InstanceFingerprints("Reaction", new long[0], new long[0], new long[0]);
+
+        assertArrayEquals(new long[0], current.getModifiedDbIds(previous));
+        assertArrayEquals(new long[0], current.getModifiedDbIds(empty));
+        assertArrayEquals(new long[0], empty.getModifiedDbIds(current));
+    }
+
+    @Test
+    public void lastModifiedEditIsLookedUpByDbId() {
+        InstanceFingerprints fingerprints = new InstanceFingerprints(
+            "Reaction", new long[] {2, 5}, new long[] {20, 50}, new long[] {900, InstanceFingerprints.NO_MODIFIED_EDIT}
+        );
+
+        assertEquals(900, fingerprints.getLastModifiedEditDbId(2));
+        assertEquals(InstanceFingerprints.NO_MODIFIED_EDIT, fingerprints.getLastModifiedEditDbId(5));
+        assertEquals(InstanceFingerprints.NO_MODIFIED_EDIT, fingerprints.getLastModifiedEditDbId(3));
+    }
+
+    @Test
+    public void fingerprintChangesWithAnyFingerprintedValue() throws Exception {
+        long original = InstanceFingerprints.fingerprint(reaction(1, "glucose", 11, 12), ATTRIBUTE_NAMES);
+
+        assertEquals(original, InstanceFingerprints.fingerprint(reaction(1, "glucose", 11, 12), ATTRIBUTE_NAMES));
+        assertNotEquals(original, InstanceFingerprints.fingerprint(reaction(1, "Glucose", 11, 12), ATTRIBUTE_NAMES));
+        assertNotEquals(original, InstanceFingerprints.fingerprint(reaction(1, "glucose", 11, 13), ATTRIBUTE_NAMES));
+        // Moving a value from one attribute to the next must change the fingerprint
+        assertNotEquals(original, InstanceFingerprints.fingerprint(reaction(1, "glucose", 12, 11), ATTRIBUTE_NAMES));
+    }
+
+    @Test
+    public void fingerprintIgnoresTheInstanceItselfAndUnlistedAttributes() throws Exception {
+        TestInstance first = reaction(1, "glucose", 11, 12);
+        TestInstance second = reaction(2, "glucose", 11, 12).addValue("definition", "ignored");
+
+        assertEquals(
+            InstanceFingerprints.fingerprint(first, ATTRIBUTE_NAMES),
+            InstanceFingerprints.fingerprint(second, ATTRIBUTE_NAMES)
+        );
+    }
+
+    @Test
+    public void valuesDoNotRunIntoEachOther() throws Exception {
+        TestInstance first = new TestInstance(1, REACTION).addValue("name", "ab").addValue("name", "c");
+        TestInstance second = new TestInstance(1, REACTION).addValue("name", "a").addValue("name", "bc");
+
+        assertNotEquals(
+            InstanceFingerprints.fingerprint(first, ATTRIBUTE_NAMES),
+            InstanceFingerprints.fingerprint(second, ATTRIBUTE_NAMES)
+        );
+    }
+
+    private static TestInstance reaction(long dbId, String name, long inputDbId, long outputDbId) {
+        return new TestInstance(dbId, REACTION)
+            .addValue("input", new TestInstance(inputDbId, ENTITY))
+            .addValue("name", name)
+            .addValue("output", new TestInstance(outputDbId, ENTITY));
+    }
+}
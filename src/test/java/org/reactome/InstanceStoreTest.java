@@ -0,0 +1,120 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class InstanceStoreTest {
+
+    @Test
+    public void addedRecordsReadBackColumnByColumn() {
+        InstanceStore instanceStore = new InstanceStore();
+        int index = instanceStore.add("Reaction", new InstanceRecord(
+            5, "Glucose [cytosol] => G6P", LocalDate.of(2020, 1, 10), "Curator, A", LocalDate.of(2020, 3, 10), 73
+        ));
+
+        assertEquals(0, index);
+        assertEquals(1, instanceStore.size());
+        assertEquals(5, instanceStore.getDbId(0));
+        assertEquals("Reaction", instanceStore.getClassName(0));
+        assertEquals("Glucose [cytosol] => G6P", instanceStore.getDisplayName(0));
+        assertEquals(LocalDate.of(2020, 1, 10), instanceStore.getCreatedDate(0));
+        assertEquals("Curator, A", instanceStore.getCreatedAuthor(0));
+        assertEquals(LocalDate.of(2020, 3, 10), instanceStore.getReleaseDate(0));
+        assertEquals(73, instanceStore.getReleaseVersion(0));
+        assertEquals(Long.valueOf(60), instanceStore.getDaysBetweenCreationAndRelease(0));
+        assertArrayEquals(
+            new Object[] {
+                5L, "Glucose [cytosol] => G6P", LocalDate.of(2020, 1, 10), "Curator, A",
+                LocalDate.of(2020, 3, 10), 73, 60L
+            },
+            instanceStore.toReportValues(0)
+        );
+    }
+
+    @Test
+    public void missingValuesReadBackAsNull() {
+        InstanceStore instanceStore = new InstanceStore();
+        instanceStore.add("Reaction", new InstanceRecord(5, null, null, null, LocalDate.of(2020, 3, 10), 73));
+
+        assertNull(instanceStore.getDisplayName(0));
+        assertNull(instanceStore.getCreatedDate(0));
+        assertNull(instanceStore.getCreatedAuthor(0));
+        assertNull(instanceStore.getDaysBetweenCreationAndRelease(0));
+    }
+
+    @Test
+    public void emptyDisplayNameIsNotMissing() {
+        InstanceStore instanceStore = new InstanceStore();
+        instanceStore.add("Reaction", new InstanceRecord(5, "", null, null, null, 73));
+
+        assertEquals("", instanceStore.getDisplayName(0));
+    }
+
+    @Test
+    public void storeGrowsPastItsInitialCapacityAndKeepsNonAsciiNames() {
+        InstanceStore instanceStore = new InstanceStore();
+        for (int i = 0; i < 5000; i++) {
+            instanceStore.add(i % 2 == 0 ? "Reaction" : "BlackBoxEvent", new InstanceRecord(
+                i + 1, "α-synuclein " + i, LocalDate.ofEpochDay(i), "Curator, " + (i % 3),
+                LocalDate.ofEpochDay(i + 7), 1
+            ));
+        }
+
+        assertEquals(5000, instanceStore.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i + 1, instanceStore.getDbId(i));
+            assertEquals(i % 2 == 0 ? "Reaction" : "BlackBoxEvent", instanceStore.getClassName(i));
+            assertEquals("α-synuclein " + i, instanceStore.getDisplayName(i));
+            assertEquals("Curator, " + (i % 3), instanceStore.getCreatedAuthor(i));
+            assertEquals(Long.valueOf(7), instanceStore.getDaysBetweenCreationAndRelease(i));
+        }
+    }
+
+    @Test
+    public void authorsAreSharedAcrossClearedPages() {
+        InstanceStore instanceStore = new InstanceStore();
+        instanceStore.add("Reaction", new InstanceRecord(1, "first", null, "Curator, A", null, 1));
+        instanceStore.add("Reaction", new InstanceRecord(2, "second", null, "Curator, B", null, 1));
+        int authorCode = instanceStore.getCreatedAuthorCode(1);
+
+        instanceStore.clear();
+        assertEquals(0, instanceStore.size());
+        instanceStore.add("Pathway", new InstanceRecord(3, "third", null, "Curator, B", null, 1));
+
+        assertEquals(1, instanceStore.size());
+        assertEquals(3, instanceStore.getDbId(0));
+        assertEquals("third", instanceStore.getDisplayName(0));
+        assertEquals("Pathway", instanceStore.getClassName(0));
+        assertEquals(authorCode, instanceStore.getCreatedAuthorCode(0));
+        assertEquals("Curator, B", instanceStore.getAuthor(authorCode));
+    }
+
+    @Test
+    public void recordIsRebuiltFromTheColumns() {
+        InstanceStore instanceStore = new InstanceStore();
+        instanceStore.add("Reaction", new InstanceRecord(
+            9, "name", LocalDate.of(2021, 5, 1), "Curator, A", LocalDate.of(2021, 6, 1), 77
+        ));
+
+        InstanceRecord record = instanceStore.getRecord(0);
+        assertEquals(9, record.getDbId());
+        assertEquals("name", record.getDisplayName());
+        assertEquals(LocalDate.of(2021, 5, 1), record.getCreatedDate());
+        assertEquals("Curator, A", record.getCreatedAuthor());
+        assertEquals(LocalDate.of(2021, 6, 1), record.getReleaseDate());
+        assertEquals(77, record.getReleaseVersion());
+        assertEquals(Long.valueOf(31), record.getDaysBetweenCreationAndRelease());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexPastTheSizeIsRejectedAfterClear() {
+        InstanceStore instanceStore = new InstanceStore();
+        instanceStore.add("Reaction", new InstanceRecord(1, "first", null, null, null, 1));
+        instanceStore.clear();
+
+        instanceStore.getDbId(0);
+    }
+}
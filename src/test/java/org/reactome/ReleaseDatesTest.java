@@ -0,0 +1,64 @@
+package org.reactome;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class ReleaseDatesTest {
+
+    @Test
+    public void everyDbIdIsFoundAfterTheTableResizes() {
+        ReleaseDates releaseDates = new ReleaseDates();
+        for (long dbId = 1; dbId <= 10000; dbId++) {
+            releaseDates.put(dbId, (int) (dbId % 365));
+        }
+        // Sparse DB_IDs land in other slots than sequential ones
+        for (long dbId = 1000000; dbId < 1000000 + 5000L * 4096; dbId += 4096) {
+            releaseDates.put(dbId, -1);
+        }
+
+        assertEquals(15000, releaseDates.size());
+        for (long dbId = 1; dbId <= 10000; dbId++) {
+            assertEquals((int) (dbId % 365), releaseDates.getEpochDay(dbId));
+        }
+        for (long dbId = 1000000; dbId < 1000000 + 5000L * 4096; dbId += 4096) {
+            assertEquals(-1, releaseDates.getEpochDay(dbId));
+        }
+    }
+
+    @Test
+    public void puttingAKnownDbIdAgainReplacesItsDate() {
+        ReleaseDates releaseDates = new ReleaseDates();
+        releaseDates.put(42, 100);
+        releaseDates.put(42, 200);
+
+        assertEquals(1, releaseDates.size());
+        assertEquals(200, releaseDates.getEpochDay(42));
+    }
+
+    @Test
+    public void unknownDbIdHasNoReleaseDate() {
+        ReleaseDates releaseDates = new ReleaseDates();
+        assertEquals(ReleaseDates.NO_RELEASE_DATE, releaseDates.getEpochDay(1));
+        assertNull(releaseDates.getReleaseDate(1));
+
+        for (long dbId = 1; dbId <= 2000; dbId++) {
+            releaseDates.put(dbId * 2, 0);
+        }
+        assertEquals(ReleaseDates.NO_RELEASE_DATE, releaseDates.getEpochDay(3));
+        assertEquals(ReleaseDates.NO_RELEASE_DATE, releaseDates.getEpochDay(4001));
+    }
+
+    @Test
+    public void epochDaysConvertToAndFromDates() {
+        ReleaseDates releaseDates = new ReleaseDates();
+        LocalDate releaseDate = LocalDate.of(2024, 9, 30);
+        releaseDates.put(7, ReleaseDates.toEpochDay(releaseDate));
+
+        assertEquals(releaseDate, releaseDates.getReleaseDate(7));
+        assertEquals(ReleaseDates.NO_RELEASE_DATE, ReleaseDates.toEpochDay(null));
+        assertNull(ReleaseDates.toLocalDate(ReleaseDates.NO_RELEASE_DATE));
+    }
+}
@@ -0,0 +1,142 @@
+package org.reactome;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ReleaseSnapshotTest {
+    private static final String DATABASE_NAME = "release_90";
+    private static final int RELEASE_NUMBER = 90;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writtenSnapshotLoadsBackUnchanged() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        writeSnapshot(snapshotDirectory);
+
+        ReleaseSnapshot snapshot = ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).get();
+
+        assertEquals(DATABASE_NAME, snapshot.getDatabaseName());
+        assertEquals(RELEASE_NUMBER, snapshot.getReleaseNumber());
+        assertEquals(new HashSet<>(Arrays.asList("ReactionlikeEvent", "EntityWithAccessionedSequence")),
+            snapshot.getClassNameToDbIds().keySet());
+
+        DbIdSet reactionDbIds = snapshot.getDbIds("ReactionlikeEvent").get();
+        assertEquals(3, reactionDbIds.size());
+        assertEquals(5L, reactionDbIds.getDbId(0));
+        assertEquals("Reaction", reactionDbIds.getClassName(5));
+        assertEquals("BlackBoxEvent", reactionDbIds.getClassName(7));
+        assertEquals("Polymerisation", reactionDbIds.getClassName(9));
+        assertFalse(snapshot.getDbIds("Pathway").isPresent());
+
+        EWASReactionIndex ewasReactionIndex = snapshot.getEWASReactionIndex().get();
+        assertArrayEquals(new long[] {5, 9}, ewasReactionIndex.getReactionDbIds(100));
+        assertArrayEquals(new long[] {7}, ewasReactionIndex.getReactionDbIds(101));
+        assertTrue(ewasReactionIndex.hasEarliestReleaseDates());
+        assertEquals(LocalDate.of(2012, 3, 1), ewasReactionIndex.getEarliestReleaseDate(100));
+        assertNull(ewasReactionIndex.getEarliestReleaseDate(101));
+    }
+
+    @Test
+    public void indexWithoutReleaseDatesLoadsWithoutThem() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder().add(100, 5).build();
+        new ReleaseSnapshot(DATABASE_NAME, RELEASE_NUMBER, getClassNameToDbIds(), ewasReactionIndex)
+            .write(snapshotDirectory);
+
+        ReleaseSnapshot snapshot = ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).get();
+
+        assertArrayEquals(new long[] {5}, snapshot.getEWASReactionIndex().get().getReactionDbIds(100));
+        assertFalse(snapshot.getEWASReactionIndex().get().hasEarliestReleaseDates());
+    }
+
+    @Test
+    public void snapshotWithoutAnIndexLoadsWithoutOne() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        new ReleaseSnapshot(DATABASE_NAME, RELEASE_NUMBER, getClassNameToDbIds(), null).write(snapshotDirectory);
+
+        ReleaseSnapshot snapshot = ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).get();
+
+        assertFalse(snapshot.getEWASReactionIndex().isPresent());
+        assertEquals(2, snapshot.getDbIds("EntityWithAccessionedSequence").get().size());
+    }
+
+    @Test
+    public void corruptedSnapshotFailsItsChecksumAndIsIgnored() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        writeSnapshot(snapshotDirectory);
+        Path snapshotPath = ReleaseSnapshot.getSnapshotPath(snapshotDirectory, DATABASE_NAME);
+
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshotPath, bytes);
+
+        assertFalse(ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).isPresent());
+    }
+
+    @Test
+    public void truncatedSnapshotIsIgnored() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        writeSnapshot(snapshotDirectory);
+        Path snapshotPath = ReleaseSnapshot.getSnapshotPath(snapshotDirectory, DATABASE_NAME);
+
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertFalse(ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).isPresent());
+    }
+
+    @Test
+    public void snapshotWrittenForAnotherDatabaseIsIgnored() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+        writeSnapshot(snapshotDirectory);
+        Files.copy(
+            ReleaseSnapshot.getSnapshotPath(snapshotDirectory, DATABASE_NAME),
+            ReleaseSnapshot.getSnapshotPath(snapshotDirectory, "release_91")
+        );
+
+        assertFalse(ReleaseSnapshot.load(snapshotDirectory, "release_91").isPresent());
+    }
+
+    @Test
+    public void missingSnapshotLoadsAsEmpty() throws Exception {
+        Path snapshotDirectory = this.temporaryFolder.getRoot().toPath();
+
+        assertFalse(ReleaseSnapshot.load(snapshotDirectory, DATABASE_NAME).isPresent());
+    }
+
+    private static void writeSnapshot(Path snapshotDirectory) throws Exception {
+        EWASReactionIndex ewasReactionIndex = EWASReactionIndex.builder()
+            .add(100, 9)
+            .add(100, 5)
+            .add(101, 7)
+            .build();
+        // Reaction 7 has no release date, so EWAS 101 has no earliest release date either
+        ReleaseDates releaseDates = new ReleaseDates();
+        releaseDates.put(5, ReleaseDates.toEpochDay(LocalDate.of(2015, 6, 1)));
+        releaseDates.put(9, ReleaseDates.toEpochDay(LocalDate.of(2012, 3, 1)));
+        ewasReactionIndex = ewasReactionIndex.withEarliestReleaseDates(releaseDates);
+        new ReleaseSnapshot(DATABASE_NAME, RELEASE_NUMBER, getClassNameToDbIds(), ewasReactionIndex)
+            .write(snapshotDirectory);
+    }
+
+    private static Map<String, DbIdSet> getClassNameToDbIds() {
+        Map<String, DbIdSet> classNameToDbIds = new HashMap<>();
+        classNameToDbIds.put("ReactionlikeEvent", new DbIdSet(
+            new long[] {5, 7, 9}, new String[] {"Reaction", "BlackBoxEvent", "Polymerisation"}
+        ));
+        classNameToDbIds.put("EntityWithAccessionedSequence", new DbIdSet(
+            new long[] {100, 101}, new String[] {"EntityWithAccessionedSequence", "EntityWithAccessionedSequence"}
+        ));
+        return classNameToDbIds;
+    }
+}
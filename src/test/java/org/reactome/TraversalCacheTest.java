@@ -0,0 +1,106 @@
+package org.reactome;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TraversalCacheTest {
+    private static final TestSchemaClass EWAS = new TestSchemaClass(
+        "EntityWithAccessionedSequence", Collections.singletonList("PhysicalEntity"), Collections.emptyList()
+    );
+    private static final TestSchemaClass COMPLEX = new TestSchemaClass(
+        "Complex", Collections.singletonList("PhysicalEntity"), Collections.singletonList("hasComponent")
+    );
+    private static final TestSchemaClass DEFINED_SET = new TestSchemaClass(
+        "DefinedSet", Arrays.asList("EntitySet", "PhysicalEntity"), Collections.singletonList("hasMember")
+    );
+
+    private TraversalCache traversalCache;
+
+    @Before
+    public void setUp() {
+        Map<String, List<String>> classNameToAttributes = new LinkedHashMap<>();
+        classNameToAttributes.put("Complex", Collections.singletonList("hasComponent"));
+        classNameToAttributes.put("EntitySet", Collections.singletonList("hasMember"));
+        TraversalRule rule = new TraversalRule(
+            "complexToEWAS", "Complex", "EntityWithAccessionedSequence", classNameToAttributes
+        );
+        this.traversalCache = new TraversalCache(TraversalPlan.compile(rule));
+    }
+
+    @Test
+    public void membersOfACycleShareTheTargetsOfTheWholeCycle() throws Exception {
+        TestInstance first = new TestInstance(1, COMPLEX);
+        TestInstance second = new TestInstance(2, COMPLEX);
+        first.addValue("hasComponent", second).addValue("hasComponent", new TestInstance(11, EWAS));
+        second.addValue("hasComponent", first).addValue("hasComponent", new TestInstance(12, EWAS));
+
+        assertArrayEquals(new long[] {11, 12}, this.traversalCache.getTargetDbIds(first));
+        assertArrayEquals(new long[] {11, 12}, this.traversalCache.getTargetDbIds(second));
+        assertSame(this.traversalCache.getTargetDbIds(first), this.traversalCache.getTargetDbIds(second));
+        assertEquals(1, this.traversalCache.getCyclicComponentCount());
+    }
+
+    @Test
+    public void longerCycleCollectsTargetsHangingOffEveryMember() throws Exception {
+        TestInstance first = new TestInstance(1, COMPLEX);
+        TestInstance second = new TestInstance(2, DEFINED_SET);
+        TestInstance third = new TestInstance(3, COMPLEX);
+        TestInstance branch = new TestInstance(4, COMPLEX);
+        first.addValue("hasComponent", second);
+        second.addValue("hasMember", third).addValue("hasMember", new TestInstance(12, EWAS));
+        third.addValue("hasComponent", first).addValue("hasComponent", branch);
+        branch.addValue("hasComponent", new TestInstance(14, EWAS))
+            .addValue("hasComponent", new TestInstance(13, EWAS));
+
+        assertArrayEquals(new long[] {12, 13, 14}, this.traversalCache.getTargetDbIds(second));
+        assertArrayEquals(new long[] {12, 13, 14}, this.traversalCache.getTargetDbIds(first));
+        assertArrayEquals(new long[] {12, 13, 14}, this.traversalCache.getTargetDbIds(third));
+        assertArrayEquals(new long[] {13, 14}, this.traversalCache.getTargetDbIds(branch));
+        assertEquals(1, this.traversalCache.getCyclicComponentCount());
+    }
+
+    @Test
+    public void instanceReferringToItselfIsExpandedOnce() throws Exception {
+        TestInstance complex = new TestInstance(1, COMPLEX);
+        complex.addValue("hasComponent", complex).addValue("hasComponent", new TestInstance(11, EWAS));
+
+        assertArrayEquals(new long[] {11}, this.traversalCache.getTargetDbIds(complex));
+        // The Complex and its EWAS
+        assertEquals(2, this.traversalCache.getMissCount());
+        assertEquals(0, this.traversalCache.getCyclicComponentCount());
+    }
+
+    @Test
+    public void instanceReachingACycleFromOutsideGetsItsTargetsWithoutJoiningIt() throws Exception {
+        TestInstance first = new TestInstance(1, COMPLEX);
+        TestInstance second = new TestInstance(2, COMPLEX);
+        first.addValue("hasComponent", second).addValue("hasComponent", new TestInstance(11, EWAS));
+        second.addValue("hasComponent", first);
+        TestInstance outside = new TestInstance(3, DEFINED_SET);
+        outside.addValue("hasMember", second).addValue("hasMember", new TestInstance(13, EWAS));
+
+        assertArrayEquals(new long[] {11, 13}, this.traversalCache.getTargetDbIds(outside));
+        assertArrayEquals(new long[] {11}, this.traversalCache.getTargetDbIds(first));
+        assertArrayEquals(new long[] {11}, this.traversalCache.getTargetDbIds(second));
+    }
+
+    @Test
+    public void sharedChildIsExpandedOnceAndItsArrayReused() throws Exception {
+        TestInstance shared = new TestInstance(1, COMPLEX);
+        shared.addValue("hasComponent", new TestInstance(11, EWAS))
+            .addValue("hasComponent", new TestInstance(12, EWAS));
+        TestInstance firstParent = new TestInstance(2, DEFINED_SET);
+        firstParent.addValue("hasMember", shared);
+        TestInstance secondParent = new TestInstance(3, COMPLEX);
+        secondParent.addValue("hasComponent", shared);
+
+        long[] sharedTargetDbIds = this.traversalCache.getTargetDbIds(shared);
+        assertSame(sharedTargetDbIds, this.traversalCache.getTargetDbIds(firstParent));
+        assertSame(sharedTargetDbIds, this.traversalCache.getTargetDbIds(secondParent));
+        assertTrue(this.traversalCache.getHitCount() >= 2);
+    }
+}
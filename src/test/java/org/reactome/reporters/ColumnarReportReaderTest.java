@@ -0,0 +1,150 @@
+package org.reactome.reporters;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ColumnarReportReaderTest {
+    private static final List<ReportColumn> COLUMNS = Arrays.asList(
+        new ReportColumn("DB_ID", ReportColumn.Type.LONG),
+        new ReportColumn("Version", ReportColumn.Type.INT),
+        new ReportColumn("Created", ReportColumn.Type.DATE),
+        new ReportColumn("Name", ReportColumn.Type.STRING)
+    );
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void typedValuesRoundTrip() throws Exception {
+        Path reportFilePath = writeReport(
+            new Object[] {1L, 90, LocalDate.of(2020, 1, 31), "first"},
+            new Object[] {Long.MAX_VALUE, -5, LocalDate.of(1970, 1, 1), ""},
+            new Object[] {-7L, 0, LocalDate.of(1960, 12, 31), "α-synuclein\tnon-ASCII"}
+        );
+
+        try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+            assertColumns(reader.getColumns());
+
+            List<Object[]> block = reader.readBlock();
+            assertEquals(3, block.size());
+            assertArrayEquals(new Object[] {1L, 90, LocalDate.of(2020, 1, 31), "first"}, block.get(0));
+            assertArrayEquals(new Object[] {Long.MAX_VALUE, -5, LocalDate.of(1970, 1, 1), ""}, block.get(1));
+            assertArrayEquals(
+                new Object[] {-7L, 0, LocalDate.of(1960, 12, 31), "α-synuclein\tnon-ASCII"}, block.get(2)
+            );
+            assertTrue(reader.readBlock().isEmpty());
+            assertTrue(reader.readBlock().isEmpty());
+        }
+    }
+
+    @Test
+    public void missingValuesReadBackAsNull() throws Exception {
+        Path reportFilePath = writeReport(new Object[] {null, null, null, null});
+
+        try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+            assertArrayEquals(new Object[] {null, null, null, null}, reader.readBlock().get(0));
+        }
+    }
+
+    @Test
+    public void notAvailableIsMissingInTypedColumnsButKeptInStringColumns() throws Exception {
+        Path reportFilePath = this.temporaryFolder.getRoot().toPath().resolve("report.rcol");
+        try (ReportWriter reportWriter = ReportWriter.open(reportFilePath, OutputFormat.COLUMNAR, COLUMNS)) {
+            reportWriter.writeRow("N/A", "N/A", "N/A", "N/A");
+            reportWriter.writeRow("12", "3", "2019-06-30", "name");
+            reportWriter.commit();
+        }
+
+        try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+            List<Object[]> block = reader.readBlock();
+            assertArrayEquals(new Object[] {null, null, null, "N/A"}, block.get(0));
+            assertArrayEquals(new Object[] {12L, 3, LocalDate.of(2019, 6, 30), "name"}, block.get(1));
+        }
+    }
+
+    @Test
+    public void rowsSpanningSeveralBlocksAreReadBackInOrder() throws Exception {
+        int rowCount = 2 * ColumnarRowEncoder.BLOCK_ROW_COUNT + 10;
+        Path reportFilePath = this.temporaryFolder.getRoot().toPath().resolve("report.rcol");
+        try (ReportWriter reportWriter = ReportWriter.open(reportFilePath, OutputFormat.COLUMNAR, COLUMNS)) {
+            for (int row = 0; row < rowCount; row++) {
+                reportWriter.writeValues(
+                    (long) row, row % 100, LocalDate.ofEpochDay(row), row % 5 == 0 ? null : "name " + row
+                );
+            }
+            reportWriter.commit();
+        }
+
+        List<Integer> blockSizes = new ArrayList<>();
+        int row = 0;
+        try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+            for (List<Object[]> block = reader.readBlock(); !block.isEmpty(); block = reader.readBlock()) {
+                blockSizes.add(block.size());
+                for (Object[] values : block) {
+                    assertArrayEquals(
+                        new Object[] {
+                            (long) row, row % 100, LocalDate.ofEpochDay(row), row % 5 == 0 ? null : "name " + row
+                        },
+                        values
+                    );
+                    row++;
+                }
+            }
+        }
+        assertEquals(rowCount, row);
+        assertEquals(
+            Arrays.asList(ColumnarRowEncoder.BLOCK_ROW_COUNT, ColumnarRowEncoder.BLOCK_ROW_COUNT, 10), blockSizes
+        );
+    }
+
+    @Test
+    public void emptyReportHasColumnsButNoRows() throws Exception {
+        Path reportFilePath = writeReport();
+
+        try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+            assertColumns(reader.getColumns());
+            assertTrue(reader.readBlock().isEmpty());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void fileInAnotherFormatIsRejected() throws Exception {
+        Path reportFilePath = this.temporaryFolder.getRoot().toPath().resolve("report.txt");
+        Files.write(reportFilePath, Arrays.asList("DB_ID\tVersion", "1\t90"));
+
+        ColumnarReportReader.open(reportFilePath).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowWithTheWrongNumberOfValuesIsRejected() throws Exception {
+        writeReport(new Object[] {1L, 2, LocalDate.of(2020, 1, 1)});
+    }
+
+    private Path writeReport(Object[]... rows) throws IOException {
+        Path reportFilePath = this.temporaryFolder.getRoot().toPath().resolve("report.rcol");
+        try (ReportWriter reportWriter = ReportWriter.open(reportFilePath, OutputFormat.COLUMNAR, COLUMNS)) {
+            for (Object[] row : rows) {
+                reportWriter.writeValues(row);
+            }
+            reportWriter.commit();
+        }
+        return reportFilePath;
+    }
+
+    private static void assertColumns(List<ReportColumn> columns) {
+        assertEquals(COLUMNS.size(), columns.size());
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            assertEquals(COLUMNS.get(i).getName(), columns.get(i).getName());
+            assertEquals(COLUMNS.get(i).getType(), columns.get(i).getType());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.reactome.reporters;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactome.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class ReportWriterTest {
+    private static final List<ReportColumn> COLUMNS = Arrays.asList(
+        new ReportColumn("DB_ID", ReportColumn.Type.LONG),
+        new ReportColumn("Created", ReportColumn.Type.DATE),
+        new ReportColumn("Name", ReportColumn.Type.STRING)
+    );
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void committedTsvReportHasHeaderAndRows() throws Exception {
+        assertCommittedReport(OutputFormat.TSV);
+    }
+
+    @Test
+    public void committedGzipReportHasHeaderAndRows() throws Exception {
+        assertCommittedReport(OutputFormat.TSV_GZIP);
+    }
+
+    @Test
+    public void committedColumnarReportHasHeaderAndRows() throws Exception {
+        assertCommittedReport(OutputFormat.COLUMNAR);
+    }
+
+    @Test
+    public void resumedTsvReportDropsRowsAfterTheCheckpoint() throws Exception {
+        assertResumedReport(OutputFormat.TSV);
+    }
+
+    @Test
+    public void resumedGzipReportDropsRowsAfterTheCheckpoint() throws Exception {
+        assertResumedReport(OutputFormat.TSV_GZIP);
+    }
+
+    @Test
+    public void resumedColumnarReportDropsRowsAfterTheCheckpoint() throws Exception {
+        assertResumedReport(OutputFormat.COLUMNAR);
+    }
+
+    @Test
+    public void uncommittedReportWithoutACheckpointLeavesNothingBehind() throws Exception {
+        Path outputFilePath = getOutputFilePath(OutputFormat.TSV);
+        try (ReportWriter reportWriter = ReportWriter.open(outputFilePath, OutputFormat.TSV, COLUMNS)) {
+            reportWriter.writeValues(1L, LocalDate.of(2020, 1, 1), "first");
+        }
+
+        assertFalse(Files.exists(outputFilePath));
+        assertFalse(Files.exists(getTempFilePath(outputFilePath)));
+    }
+
+    @Test(expected = IOException.class)
+    public void resumeWithoutATemporaryFileFails() throws Exception {
+        ReportWriter.resume(getOutputFilePath(OutputFormat.TSV), OutputFormat.TSV, COLUMNS, 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void resumePastTheEndOfTheTemporaryFileFails() throws Exception {
+        Path outputFilePath = getOutputFilePath(OutputFormat.TSV);
+        long checkpointedLength;
+        try (ReportWriter reportWriter = ReportWriter.open(outputFilePath, OutputFormat.TSV, COLUMNS)) {
+            checkpointedLength = reportWriter.checkpoint();
+        }
+
+        ReportWriter.resume(outputFilePath, OutputFormat.TSV, COLUMNS, checkpointedLength + 1);
+    }
+
+    private void assertCommittedReport(OutputFormat outputFormat) throws Exception {
+        Path outputFilePath = getOutputFilePath(outputFormat);
+        try (ReportWriter reportWriter = ReportWriter.open(outputFilePath, outputFormat, COLUMNS)) {
+            reportWriter.writeValues(1L, LocalDate.of(2020, 1, 1), "first");
+            reportWriter.writeValues(2L, null, "second");
+            reportWriter.commit();
+        }
+
+        assertFalse(Files.exists(getTempFilePath(outputFilePath)));
+        assertEquals(
+            Arrays.asList(
+                Arrays.asList("DB_ID", "Created", "Name"),
+                Arrays.asList("1", "2020-01-01", "first"),
+                Arrays.asList("2", "N/A", "second")
+            ),
+            readRows(outputFilePath, outputFormat)
+        );
+    }
+
+    private void assertResumedReport(OutputFormat outputFormat) throws Exception {
+        Path outputFilePath = getOutputFilePath(outputFormat);
+        long checkpointedLength;
+        try (ReportWriter reportWriter = ReportWriter.open(outputFilePath, outputFormat, COLUMNS)) {
+            reportWriter.writeValues(1L, LocalDate.of(2020, 1, 1), "first");
+            checkpointedLength = reportWriter.checkpoint();
+            // Written out by a later checkpoint, but the run is resumed from the earlier one
+            reportWriter.writeValues(99L, LocalDate.of(1999, 9, 9), "lost");
+            reportWriter.checkpoint();
+        }
+        assertFalse(Files.exists(outputFilePath));
+        assertTrue(Files.exists(getTempFilePath(outputFilePath)));
+
+        try (ReportWriter reportWriter =
+                 ReportWriter.resume(outputFilePath, outputFormat, COLUMNS, checkpointedLength)) {
+            reportWriter.writeValues(2L, LocalDate.of(2021, 2, 3), "second");
+            reportWriter.commit();
+        }
+
+        assertFalse(Files.exists(getTempFilePath(outputFilePath)));
+        assertEquals(
+            Arrays.asList(
+                Arrays.asList("DB_ID", "Created", "Name"),
+                Arrays.asList("1", "2020-01-01", "first"),
+                Arrays.asList("2", "2021-02-03", "second")
+            ),
+            readRows(outputFilePath, outputFormat)
+        );
+    }
+
+    private Path getOutputFilePath(OutputFormat outputFormat) {
+        return outputFormat.getOutputFilePath(this.temporaryFolder.getRoot().toPath().resolve("report.txt"));
+    }
+
+    private static Path getTempFilePath(Path outputFilePath) {
+        return outputFilePath.resolveSibling(outputFilePath.getFileName() + ".tmp");
+    }
+
+    private static List<List<String>> readRows(Path reportFilePath, OutputFormat outputFormat) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        if (outputFormat == OutputFormat.COLUMNAR) {
+            try (ColumnarReportReader reader = ColumnarReportReader.open(reportFilePath)) {
+                List<String> columnNames = new ArrayList<>();
+                for (ReportColumn column : reader.getColumns()) {
+                    columnNames.add(column.getName());
+                }
+                rows.add(columnNames);
+                for (List<Object[]> block = reader.readBlock(); !block.isEmpty(); block = reader.readBlock()) {
+                    for (Object[] values : block) {
+                        List<String> row = new ArrayList<>();
+                        for (Object value : values) {
+                            row.add(value == null ? Utils.NOT_AVAILABLE :
+                                value instanceof LocalDate ? ((LocalDate) value).format(Utils.DATE_FORMATTER) :
+                                value.toString());
+                        }
+                        rows.add(row);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            outputFormat == OutputFormat.TSV_GZIP ?
+                new GZIPInputStream(Files.newInputStream(reportFilePath)) :
+                Files.newInputStream(reportFilePath),
+            StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows.add(Arrays.asList(line.split("\t", -1)));
+            }
+        }
+        return rows;
+    }
+}